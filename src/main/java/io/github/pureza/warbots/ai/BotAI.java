@@ -3,11 +3,13 @@ package io.github.pureza.warbots.ai;
 import io.github.pureza.warbots.ai.goal.Goal;
 import io.github.pureza.warbots.entities.Bot;
 
+import java.io.Serializable;
+
 
 /**
  * Entry point for the Bot's Artificial Intelligence engine
  */
-public class BotAI {
+public class BotAI implements Serializable {
 
     /** The arbitrator that decides which goal to pursuit at any given moment */
     private final GoalArbitrator arbitrator;
@@ -6,6 +6,7 @@ import io.github.pureza.warbots.ai.goal.Goal;
 import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.util.Pair;
 
+import java.io.Serializable;
 import java.util.List;
 
 import static java.util.Arrays.asList;
@@ -13,7 +14,7 @@ import static java.util.Arrays.asList;
 /**
  * The arbitrator decides which goal the bot should pursue at any given moment
  */
-public class GoalArbitrator {
+public class GoalArbitrator implements Serializable {
 
     /** The bot this arbitrator belongs to */
     private final Bot bot;
@@ -5,6 +5,8 @@ import io.github.pureza.warbots.ai.goal.Goal;
 import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.entities.FirstAidItem;
 
+import java.util.ArrayList;
+
 
 /**
  * Evaluates the desirability of catching a first aid item
@@ -15,7 +17,8 @@ import io.github.pureza.warbots.entities.FirstAidItem;
 public class CatchFirstAidEvaluator extends CatchItemEvaluator<FirstAidItem> {
 
     public CatchFirstAidEvaluator(Bot bot) {
-        super(bot, bot.getGame().getMap().getFirstAidItems());
+        // A copy, since the map's list changes as the items are caught
+        super(bot, new ArrayList<>(bot.getGame().getMap().getFirstAidItems()));
     }
 
 
@@ -5,6 +5,8 @@ import io.github.pureza.warbots.ai.goal.Goal;
 import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.entities.WeaponItem;
 
+import java.util.ArrayList;
+
 /**
  * Evaluates the desirability of catching a weapon item
  *
@@ -14,7 +16,8 @@ import io.github.pureza.warbots.entities.WeaponItem;
 public class CatchWeaponEvaluator extends CatchItemEvaluator<WeaponItem> {
 
     public CatchWeaponEvaluator(Bot bot) {
-        super(bot, bot.getGame().getMap().getWeaponItems());
+        // A copy, since the map's list changes as the items are caught
+        super(bot, new ArrayList<>(bot.getGame().getMap().getWeaponItems()));
     }
 
 
@@ -4,11 +4,13 @@ package io.github.pureza.warbots.ai.evaluator;
 import io.github.pureza.warbots.ai.goal.Goal;
 import io.github.pureza.warbots.entities.Bot;
 
+import java.io.Serializable;
+
 
 /**
  * A Goal Evaluator calculates the desirability of pursuing a specific goal
  */
-public abstract class GoalEvaluator {
+public abstract class GoalEvaluator implements Serializable {
 
     /** The bot the evaluator applies to */
     protected final Bot bot;
@@ -63,7 +63,7 @@ public class ExploreGoal extends Goal {
      * there, using A* to find the path
      */
     private void followPathToRandomPoint() {
-        Point target = map.chooseRandomLocation();
+        Point target = map.chooseRandomLocation(bot.getRandom());
         Path<Point> path = bot.findPathTo(target);
         followPathGoal = new FollowPathGoal(bot, path);
         followPathGoal.start();
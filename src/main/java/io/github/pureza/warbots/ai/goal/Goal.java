@@ -3,11 +3,13 @@ package io.github.pureza.warbots.ai.goal;
 import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.navigation.Map;
 
+import java.io.Serializable;
+
 
 /**
  * A goal the bot may want to achieve
  */
-public abstract class Goal {
+public abstract class Goal implements Serializable {
 
     /**
      * The states a Goal can be in
@@ -4,8 +4,8 @@ import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.entities.StaticEntity;
 import io.github.pureza.warbots.geometry.Point;
 import io.github.pureza.warbots.geometry.Vector;
+import io.github.pureza.warbots.util.Event;
 
-import java.util.function.Consumer;
 
 /**
  * Makes the bot move left and right while attacking an enemy, to make it more
@@ -77,14 +77,14 @@ public class StrafeGoal extends Goal {
      * Forces the bot to switch the strafing direction when it collides with a
      * wall
      */
-    private Consumer<StaticEntity> triggerSwitchOnCollisionWithWall = (entity) -> switchDirection = true;
+    private Event.Listener<StaticEntity> triggerSwitchOnCollisionWithWall = (entity) -> switchDirection = true;
 
 
     /**
      * Forces the bot to switch the strafing direction when it collides with
      * another bot
      */
-    private Consumer<Bot> triggerSwitchOnCollisionWithBot = (bot) -> switchDirection = true;
+    private Event.Listener<Bot> triggerSwitchOnCollisionWithBot = (bot) -> switchDirection = true;
 
 
     public StrafeGoal(Bot bot, Bot target) {
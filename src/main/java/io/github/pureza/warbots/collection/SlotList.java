@@ -0,0 +1,197 @@
+package io.github.pureza.warbots.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A list with O(1) removal through stable, generation-stamped handles
+ *
+ * Elements are kept in a dense array, so iterating over them is as fast as
+ * iterating over an ArrayList. Each element is also given a handle when it is
+ * inserted, which identifies it until it is removed. Removing an element
+ * moves the last element into its place (so the order of the elements is not
+ * preserved) and invalidates its handle: removing it again, or looking it up,
+ * is a harmless no-op, even if its slot has been reused by a newer element in
+ * the meantime.
+ *
+ * A handle packs the slot of the element in the lower 32 bits and the
+ * generation of the slot in the upper 32 bits. Generations start at 1, so
+ * NO_HANDLE is never valid.
+ *
+ * The list itself is read-only through the java.util.List interface: use
+ * insert() and remove(long) to change it.
+ */
+public class SlotList<E> extends AbstractList<E> implements RandomAccess {
+
+    /** A handle that never refers to any element */
+    public static final long NO_HANDLE = 0;
+
+    /** The list's initial capacity */
+    private static final int INITIAL_SIZE = 16;
+
+    /** The elements, packed at the beginning of the array */
+    private Object[] elements = new Object[INITIAL_SIZE];
+
+    /** The slot of each element, by index */
+    private int[] slotOf = new int[INITIAL_SIZE];
+
+    /** The index of the element in each slot */
+    private int[] indexOf = new int[INITIAL_SIZE];
+
+    /** The current generation of each slot */
+    private int[] generations = new int[INITIAL_SIZE];
+
+    /** Slots that are not in use, to be reused before creating new ones */
+    private int[] freeSlots = new int[INITIAL_SIZE];
+
+    /** Number of free slots */
+    private int freeCount = 0;
+
+    /** Number of slots created so far */
+    private int slotCount = 0;
+
+    /** Number of elements */
+    private int size = 0;
+
+
+    /**
+     * Adds an element to the end of the list and returns its handle
+     */
+    public long insert(E element) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == generations.length) {
+                int capacity = 2 * slotCount;
+                indexOf = Arrays.copyOf(indexOf, capacity);
+                generations = Arrays.copyOf(generations, capacity);
+                freeSlots = Arrays.copyOf(freeSlots, capacity);
+            }
+
+            slot = slotCount++;
+            generations[slot] = 1;
+        }
+
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, 2 * size);
+            slotOf = Arrays.copyOf(slotOf, 2 * size);
+        }
+
+        elements[size] = element;
+        slotOf[size] = slot;
+        indexOf[slot] = size;
+        size++;
+        modCount++;
+
+        return handle(slot, generations[slot]);
+    }
+
+
+    /**
+     * Removes the element with the given handle, in O(1)
+     *
+     * The last element takes the place of the removed one. Returns false if
+     * the handle is no longer valid (for example, because the element has
+     * already been removed).
+     */
+    public boolean remove(long handle) {
+        if (!isValid(handle)) {
+            return false;
+        }
+
+        int slot = slot(handle);
+        int index = indexOf[slot];
+        int last = --size;
+
+        // Move the last element into the hole
+        elements[index] = elements[last];
+        slotOf[index] = slotOf[last];
+        indexOf[slotOf[index]] = index;
+        elements[last] = null;
+
+        // Invalidate the handle and recycle the slot
+        generations[slot]++;
+        freeSlots[freeCount++] = slot;
+        modCount++;
+
+        return true;
+    }
+
+
+    /**
+     * Checks if a handle still refers to an element of this list
+     */
+    public boolean isValid(long handle) {
+        int slot = slot(handle);
+        // Removing an element bumps the generation of its slot, so free slots
+        // never match any handle given out before
+        return slot >= 0 && slot < slotCount && generations[slot] == generation(handle);
+    }
+
+
+    /**
+     * Returns the element with the given handle, or null if the handle is no
+     * longer valid
+     */
+    @SuppressWarnings("unchecked")
+    public E lookup(long handle) {
+        return isValid(handle) ? (E) elements[indexOf[slot(handle)]] : null;
+    }
+
+
+    /**
+     * Returns the current index of the element with the given handle, or -1
+     * if the handle is no longer valid
+     */
+    public int indexOf(long handle) {
+        return isValid(handle) ? indexOf[slot(handle)] : -1;
+    }
+
+
+    /**
+     * Removes all the elements, invalidating all their handles
+     */
+    @Override
+    public void clear() {
+        while (size > 0) {
+            remove(handle(slotOf[size - 1], generations[slotOf[size - 1]]));
+        }
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+
+        return (E) elements[index];
+    }
+
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Packs a slot and its generation into a handle
+     */
+    private static long handle(int slot, int generation) {
+        return ((long) generation << 32) | (slot & 0xFFFFFFFFL);
+    }
+
+
+    private static int slot(long handle) {
+        return (int) handle;
+    }
+
+
+    private static int generation(long handle) {
+        return (int) (handle >>> 32);
+    }
+}
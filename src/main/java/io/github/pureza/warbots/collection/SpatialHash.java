@@ -0,0 +1,284 @@
+package io.github.pureza.warbots.collection;
+
+import io.github.pureza.warbots.geometry.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static java.lang.Math.floor;
+
+/**
+ * A uniform grid of buckets, to find the elements near a point without
+ * looking at all the others
+ *
+ * The buckets match the cells of the map: an element is kept in the bucket of
+ * the cell its location falls into. Locations beyond the map (including the
+ * walls around it) fall into the bucket of the nearest cell at the border.
+ *
+ * The grid doesn't watch its elements: whoever moves an element must tell the
+ * grid, with move(). Elements in the same bucket are kept in the order they
+ * entered it.
+ */
+public class SpatialHash<E> {
+
+    /** Number of columns, including the walls around the map */
+    private final int columns;
+
+    /** Number of rows, including the walls around the map */
+    private final int rows;
+
+    /** The elements in each cell, by row and then column */
+    private final List<List<E>> buckets;
+
+    /** Returns the current location of an element */
+    private final Function<? super E, Point> locationOf;
+
+    /** Returns the radius of an element */
+    private final Function<? super E, Double> radiusOf;
+
+    /** The largest radius of all the elements inserted so far */
+    private double maxRadius = 0;
+
+    /** Number of elements */
+    private int size = 0;
+
+
+    /**
+     * Creates a grid for a map with width x height cells
+     *
+     * @param locationOf returns the current location of an element
+     * @param radiusOf returns the radius of an element
+     */
+    public SpatialHash(int width, int height, Function<? super E, Point> locationOf, Function<? super E, Double> radiusOf) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException();
+        }
+
+        this.columns = width + 2;
+        this.rows = height + 2;
+        this.locationOf = locationOf;
+        this.radiusOf = radiusOf;
+        this.buckets = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            buckets.add(new ArrayList<>(0));
+        }
+    }
+
+
+    /**
+     * Adds an element at its current location
+     */
+    public void insert(E element) {
+        buckets.get(bucketAt(locationOf.apply(element))).add(element);
+        maxRadius = Math.max(maxRadius, radiusOf.apply(element));
+        size++;
+    }
+
+
+    /**
+     * Removes an element at its current location
+     *
+     * Returns false if the element wasn't in the grid.
+     */
+    public boolean remove(E element) {
+        if (removeFrom(bucketAt(locationOf.apply(element)), element)) {
+            size--;
+            return true;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Tells the grid that an element has moved
+     *
+     * Elements that aren't in the grid are ignored.
+     */
+    public void move(E element, Point from, Point to) {
+        int source = bucketAt(from);
+        int target = bucketAt(to);
+        if (source != target && removeFrom(source, element)) {
+            buckets.get(target).add(element);
+        }
+    }
+
+
+    /**
+     * Removes all the elements
+     */
+    public void clear() {
+        buckets.forEach(List::clear);
+        size = 0;
+    }
+
+
+    /**
+     * Returns the number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Returns the largest radius of all the elements inserted so far
+     */
+    public double getMaxRadius() {
+        return maxRadius;
+    }
+
+
+    /**
+     * Visits the elements that may be within the given distance of a point
+     *
+     * These are all the elements in the cells that overlap the square around
+     * the circle, so callers must still check the exact distance.
+     */
+    public void forEachNear(Point center, double distance, Consumer<? super E> action) {
+        int minColumn = column(center.x() - distance);
+        int maxColumn = column(center.x() + distance);
+        int minRow = row(center.y() - distance);
+        int maxRow = row(center.y() + distance);
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                List<E> bucket = buckets.get(row * columns + column);
+                for (int i = 0; i < bucket.size(); i++) {
+                    action.accept(bucket.get(i));
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Checks if any element that may be within the given distance of a point
+     * passes a test
+     *
+     * Looks at the same elements as forEachNear(), but stops at the first one
+     * that passes.
+     */
+    public boolean anyNear(Point center, double distance, Predicate<? super E> test) {
+        int minColumn = column(center.x() - distance);
+        int maxColumn = column(center.x() + distance);
+        int minRow = row(center.y() - distance);
+        int maxRow = row(center.y() + distance);
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                List<E> bucket = buckets.get(row * columns + column);
+                for (int i = 0; i < bucket.size(); i++) {
+                    if (test.test(bucket.get(i))) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Visits the elements that may be within the given distance of a segment
+     *
+     * The grid is walked one row at a time, visiting only the cells that the
+     * segment crosses in that row, widened by the distance. Each element is
+     * visited once, in no particular order, and callers must still check the
+     * exact distance. Nothing is allocated.
+     */
+    public void forEachNearSegment(Point from, Point to, double distance, Consumer<? super E> action) {
+        double dx = to.x() - from.x();
+        double dy = to.y() - from.y();
+        int minRow = row(Math.min(from.y(), to.y()) - distance);
+        int maxRow = row(Math.max(from.y(), to.y()) + distance);
+
+        for (int row = minRow; row <= maxRow; row++) {
+            // The rows at the border also hold everything beyond the map
+            double bottom = row == 0 ? Double.NEGATIVE_INFINITY : row - 1 - distance;
+            double top = row == rows - 1 ? Double.POSITIVE_INFINITY : row + distance;
+
+            // The part of the segment within reach of this row
+            double left;
+            double right;
+            if (dy == 0) {
+                left = Math.min(from.x(), to.x());
+                right = Math.max(from.x(), to.x());
+            } else {
+                double tBottom = (bottom - from.y()) / dy;
+                double tTop = (top - from.y()) / dy;
+                double tMin = Math.max(0, Math.min(tBottom, tTop));
+                double tMax = Math.min(1, Math.max(tBottom, tTop));
+                if (tMin > tMax) {
+                    continue;
+                }
+
+                left = Math.min(from.x() + dx * tMin, from.x() + dx * tMax);
+                right = Math.max(from.x() + dx * tMin, from.x() + dx * tMax);
+            }
+
+            int maxColumn = column(right + distance);
+            for (int column = column(left - distance); column <= maxColumn; column++) {
+                List<E> bucket = buckets.get(row * columns + column);
+                for (int i = 0; i < bucket.size(); i++) {
+                    action.accept(bucket.get(i));
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Returns the elements whose location is inside the given circle
+     */
+    public List<E> getInRange(Point center, double radius) {
+        List<E> inRange = new ArrayList<>();
+        forEachNear(center, radius, element -> {
+            if (center.distanceTo(locationOf.apply(element)) <= radius) {
+                inRange.add(element);
+            }
+        });
+
+        return inRange;
+    }
+
+
+    /**
+     * Removes an element from a bucket, keeping the order of the others
+     */
+    private boolean removeFrom(int bucketIndex, E element) {
+        List<E> bucket = buckets.get(bucketIndex);
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i) == element) {
+                bucket.remove(i);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    private int bucketAt(Point location) {
+        return row(location.y()) * columns + column(location.x());
+    }
+
+
+    private int column(double x) {
+        return clamp((int) floor(x) + 1, columns);
+    }
+
+
+    private int row(double y) {
+        return clamp((int) floor(y) + 1, rows);
+    }
+
+
+    private static int clamp(int index, int count) {
+        return Math.max(0, Math.min(index, count - 1));
+    }
+}
@@ -1,18 +1,21 @@
 package io.github.pureza.warbots.collisions;
 
+import io.github.pureza.warbots.collection.SpatialHash;
 import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.entities.InventoryItem;
 import io.github.pureza.warbots.game.Game;
-import io.github.pureza.warbots.geometry.Circle;
-import io.github.pureza.warbots.geometry.Line;
 import io.github.pureza.warbots.geometry.Point;
 import io.github.pureza.warbots.geometry.Vector;
 import io.github.pureza.warbots.navigation.Map;
+import io.github.pureza.warbots.navigation.RayHit;
 import io.github.pureza.warbots.weaponry.Projectile;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -33,16 +36,30 @@ public class CollisionDetector {
     /**
      * Detect collisions between bots
      *
-     * Two bots collide if their bounding circles intersect.
+     * Two bots collide if their bounding circles intersect. Each bot is only
+     * checked against the bots in the cells around it, and collisions are
+     * reported in the order of the bots list.
      */
     List<Collision> detectBotBotCollisions() {
         List<Collision> collisions = new ArrayList<>();
         List<Bot> bots = this.game.getBots();
+        SpatialHash<Bot> grid = this.game.getBotGrid();
+        List<Bot> neighbours = new ArrayList<>();
         for (int i = 0; i < bots.size() - 1; i++) {
-            for (int j = i + 1; j < bots.size(); j++) {
-                Bot bot = bots.get(i);
-                Bot other = bots.get(j);
+            Bot bot = bots.get(i);
+
+            // Only the bots that come after this one, so that each pair is
+            // checked once
+            int index = i;
+            neighbours.clear();
+            grid.forEachNear(bot.getLocation(), bot.getBoundingRadius() + grid.getMaxRadius(), other -> {
+                if (game.indexOf(other) > index) {
+                    neighbours.add(other);
+                }
+            });
 
+            neighbours.sort(Comparator.comparingInt(game::indexOf));
+            for (Bot other : neighbours) {
                 Vector toOther = other.getLocation().minus(bot.getLocation());
                 double distance = toOther.norm();
 
@@ -87,9 +104,25 @@ public class CollisionDetector {
      * Detect collisions between bots and walls
      */
     List<Collision> detectBotWallCollisions() {
+        return detectBotWallCollisions(game.getBots());
+    }
+
+
+    /**
+     * Detect collisions between some bots and walls
+     *
+     * Bots far enough from the walls are skipped without looking at the
+     * cells they occupy (see Map.canStayAt()).
+     */
+    List<Collision> detectBotWallCollisions(Collection<Bot> bots) {
         List<Collision> collisions = new ArrayList<>();
+        Map map = game.getMap();
+
+        for (Bot bot : bots) {
+            if (map.canStayAt(bot.getLocation(), bot.getBoundingRadius())) {
+                continue;
+            }
 
-        for (Bot bot : game.getBots()) {
             Set<Point> occupied = bot.getOccupyingCells();
             collisions.addAll(occupied.stream()
                     .map(center -> game.getMap().cellAt(center))
@@ -105,26 +138,38 @@ public class CollisionDetector {
     /**
      * Detect collisions between projectiles and walls
      *
-     * It only checks if cell where the projectile is currently at is occupied
-     * by a wall. If the projectile travels fast enough, it may cross the wall
-     * unscathed. Increasing the accuracy would decrease performance, so I
-     * think this is an acceptable compromise.
+     * The path each projectile travelled during the last update is swept
+     * through the grid, and the first wall it crosses is reported along with
+     * the point of impact (see Map.sweep()). This way, no projectile can go
+     * through a wall, however long the time step. If the path is clear, the
+     * projectile may still be touching a wall with its bounding circle at its
+     * current location.
      *
-     * TODO We only care about the first collision for each projectile...
+     * Projectiles that have left the map without hitting anything are
+     * removed from the world.
      */
     List<Collision> detectProjectileWallCollisions() {
         List<Collision> collisions = new ArrayList<>();
+        Map map = game.getMap();
 
         for (Projectile projectile : this.game.getProjectiles()) {
-            if (!game.getMap().isInside(projectile.getLocation())) {
+            Point location = projectile.getLocation();
+            Point source = projectile.getPreviousLocation() != null
+                    ? projectile.getPreviousLocation()
+                    : location;
+            RayHit hit = map.isInside(source) ? map.sweep(source, location) : null;
+
+            if (hit != null) {
+                collisions.add(new ProjectileWallCollision(projectile, hit.getEntity(), hit.getPoint()));
+            } else if (!map.isInside(location)) {
                 // The projectile has left the map
                 // Just remove it from the world
                 game.removeProjectile(projectile);
-            } else {
-                // The projectile is still inside the map
+            } else if (!map.canStayAt(location, projectile.getBoundingRadius())) {
+                // The projectile is still inside the map, but touches a wall
                 Set<Point> occupied = projectile.getOccupyingCells();
                 collisions.addAll(occupied.stream()
-                        .map(center -> game.getMap().cellAt(center))
+                        .map(center -> map.cellAt(center))
                         .filter(cell -> !cell.isFree())
                         .map(cell -> new ProjectileWallCollision(projectile, cell.getEntity()))
                         .collect(Collectors.toList()));
@@ -143,93 +188,119 @@ public class CollisionDetector {
      * It is possible that the path intersects with multiple bots, in which
      * case we care only about the first (i.e., the one closest to the
      * projectile's source position).
+     *
+     * Only the bots in the cells around the segment are checked (see
+     * SpatialHash.forEachNearSegment()).
      */
     List<Collision> detectBotProjectileCollisions() {
         List<Collision> collisions = new ArrayList<>();
+        SpatialHash<Bot> grid = game.getBotGrid();
+        ClosestHit closest = new ClosestHit();
 
         for (Projectile projectile : game.getProjectiles()) {
             Point source = projectile.getPreviousLocation();
+            Point location = projectile.getLocation();
 
-            // The projectile's trajectory
-            Line trajectory = new Line(source, projectile.getHeadingVector());
-
-            Bot hitBot = game.getBots().stream()
-                    .filter(bot -> {
-                        // The bot must be in front of the projectile
-                        Vector toBot = bot.getLocation().minus(source);
-                        return projectile.getHeadingVector().dot(toBot) > 0;
-                    })
-                    .flatMap(bot -> {
-                        // Calculate the points of collision between the projectile's trajectory
-                        // and the bot's bounding circle
-                        Set<Point> collisionPoints = trajectory.intersectionWithCircle(Circle.circle(bot.getLocation(), bot.getBoundingRadius()));
-
-                        // Save this collision point as a candidate for further analysis
-                        return collisionPoints.stream()
-                                .map(pt -> new BotProjectileCollisionCandidate(bot, projectile, pt));
-                    })
-                    .min((a, b) -> {
-                        // Keep only the bot that is closest to the projectile
-                        return Double.compare(a.distance(), b.distance());
-                    })
-                    .filter(botDistance -> {
-                        // The distance covered by the projectile during the last update()
-                        double coveredDistance = source.distanceTo(projectile.getLocation());
-
-                        // Make sure the bot was really hit
-                        return botDistance.distance() < coveredDistance;
-                    })
-                    .filter(botDistance -> {
-                        // Make sure there was no obstacle between the projectile and the bot
-                        return !game.getMap().isPathObstructed(source, botDistance.intersectionPoint());
-                    })
-                    .map(BotProjectileCollisionCandidate::bot)
-                    .orElse(null);
-
-            if (hitBot != null) {
-                collisions.add(new BotProjectileCollision(hitBot, projectile));
+            closest.reset(projectile, source);
+            grid.forEachNearSegment(source, location, grid.getMaxRadius(), closest);
+
+            if (closest.bot != null
+                    // Make sure the bot was really hit
+                    && closest.distance < source.distanceTo(location)
+                    // Make sure there was no obstacle between the projectile and the bot
+                    && !game.getMap().isPathObstructed(source, closest.intersectionPoint())) {
+                collisions.add(new BotProjectileCollision(closest.bot, projectile));
             }
         }
 
         return collisions;
     }
-}
 
 
-/**
- * Helper class that some basic details of a potential collision between
- * a projectile and a bot
- */
-class BotProjectileCollisionCandidate {
+    /**
+     * Finds the bot whose bounding circle is closest to the source of a
+     * projectile, along the projectile's trajectory
+     *
+     * The same instance is reused for all the projectiles.
+     */
+    private class ClosestHit implements Consumer<Bot> {
 
-    /** The bot */
-    private final Bot bot;
+        /** The x coordinate of the source of the trajectory */
+        private double sourceX;
 
-    /** The point of intersection between the projectile and the bot */
-    private final Point intersectionPoint;
+        /** The y coordinate of the source of the trajectory */
+        private double sourceY;
 
-    /** Distance between the bot and the projectile */
-    private final double distance;
+        /** The x coordinate of the direction of the trajectory (an unit vector) */
+        private double headingX;
 
+        /** The y coordinate of the direction of the trajectory */
+        private double headingY;
 
-    public BotProjectileCollisionCandidate(Bot bot, Projectile projectile, Point intersectionPoint) {
-        this.bot = bot;
-        this.intersectionPoint = intersectionPoint;
-        this.distance = projectile.getPreviousLocation().distanceTo(intersectionPoint);
-    }
+        /** The closest bot found so far */
+        private Bot bot;
 
+        /** Distance between the source and the closest bot */
+        private double distance;
 
-    public Bot bot() {
-        return bot;
-    }
+        /** Position of the point of contact along the trajectory */
+        private double t;
 
 
-    public Point intersectionPoint() {
-        return intersectionPoint;
-    }
+        void reset(Projectile projectile, Point source) {
+            Vector heading = projectile.getHeadingVector();
+            this.sourceX = source.x();
+            this.sourceY = source.y();
+            this.headingX = heading.x();
+            this.headingY = heading.y();
+            this.bot = null;
+            this.distance = Double.POSITIVE_INFINITY;
+        }
+
+
+        @Override
+        public void accept(Bot candidate) {
+            double toBotX = candidate.getLocation().x() - sourceX;
+            double toBotY = candidate.getLocation().y() - sourceY;
+
+            // The bot must be in front of the projectile
+            double along = headingX * toBotX + headingY * toBotY;
+            if (along <= 0) {
+                return;
+            }
+
+            // The trajectory source + t * heading touches the bot's bounding
+            // circle at t = along ± sqrt(r^2 - d^2), where d is the distance
+            // between the bot and the trajectory
+            double radius = candidate.getBoundingRadius();
+            double offset = headingX * toBotY - headingY * toBotX;
+            double discriminant = radius * radius - offset * offset;
+            if (discriminant < 0) {
+                return;
+            }
+
+            // The first point of contact is the one closest to the source,
+            // which may be behind it, if the source is already inside the bot
+            double root = Math.sqrt(discriminant);
+            double t = Math.abs(along - root) <= Math.abs(along + root) ? along - root : along + root;
+
+            // Keep only the bot that is closest to the projectile. Ties go to
+            // the bot that comes first in the bots list
+            double candidateDistance = Math.abs(t);
+            if (candidateDistance < distance
+                    || (candidateDistance == distance && game.indexOf(candidate) < game.indexOf(bot))) {
+                this.bot = candidate;
+                this.distance = candidateDistance;
+                this.t = t;
+            }
+        }
 
 
-    public double distance() {
-        return distance;
+        /**
+         * Returns the point where the trajectory first touches the closest bot
+         */
+        Point intersectionPoint() {
+            return Point.pt(sourceX + t * headingX, sourceY + t * headingY);
+        }
     }
-}
\ No newline at end of file
+}
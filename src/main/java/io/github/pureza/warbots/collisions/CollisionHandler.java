@@ -1,10 +1,15 @@
 package io.github.pureza.warbots.collisions;
 
+import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.game.Game;
+import io.github.pureza.warbots.game.TickPipeline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Resolves collisions between Bots, Walls, Projectiles and Inventory Items
@@ -29,14 +34,27 @@ import java.util.List;
  */
 public class CollisionHandler {
 
+    /** The game */
+    private final Game game;
+
     /** The collision detector */
     private final CollisionDetector detector;
 
     /** The logger */
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    /** Bot/item collisions detected by the current update's pipeline */
+    private List<Collision> botItemCollisions;
+
+    /** Projectile/wall collisions detected by the current update's pipeline */
+    private List<Collision> projectileWallCollisions;
+
+    /** Bot/projectile collisions detected by the current update's pipeline */
+    private List<Collision> botProjectileCollisions;
+
 
     public CollisionHandler(Game game) {
+        this.game = game;
         this.detector = new CollisionDetector(game);
     }
 
@@ -71,6 +89,42 @@ public class CollisionHandler {
     }
 
 
+    /**
+     * Adds the same work as handle() to an update's pipeline
+     *
+     * Collisions are still handled one kind at a time, in the same order as
+     * handle(), but the detection passes that only read state which no longer
+     * changes during the update run as soon as possible: projectile/wall
+     * collisions are detected while the bots are still moving, and bot/item
+     * and bot/projectile collisions are detected at the same time.
+     *
+     * @param botsMoved the stage after which the bots have moved
+     * @param projectilesMoved the stage after which the projectiles have moved
+     * @return the last stage, after which all the collisions have been handled
+     */
+    public TickPipeline.Stage addStages(TickPipeline pipeline, TickPipeline.Stage botsMoved, TickPipeline.Stage projectilesMoved) {
+        TickPipeline.Stage botBot = pipeline.add("bot/bot collisions", dt -> handleBotBotCollisions(), botsMoved);
+        TickPipeline.Stage botWall = pipeline.add("bot/wall collisions", dt -> handleBotWallCollisions(2), botBot);
+
+        // Collision handlers don't move the bots or the projectiles anymore
+        TickPipeline.Stage detectBotItem = pipeline.add("bot/item detection",
+                dt -> botItemCollisions = detector.detectBotItemCollisions(), botWall);
+        TickPipeline.Stage detectProjectileWall = pipeline.add("projectile/wall detection",
+                dt -> projectileWallCollisions = detector.detectProjectileWallCollisions(), projectilesMoved);
+        TickPipeline.Stage detectBotProjectile = pipeline.add("bot/projectile detection",
+                dt -> botProjectileCollisions = detector.detectBotProjectileCollisions(), botWall, projectilesMoved);
+
+        TickPipeline.Stage botItem = pipeline.add("bot/item collisions",
+                dt -> handleAll(botItemCollisions), detectBotItem);
+        TickPipeline.Stage projectileWall = pipeline.add("projectile/wall collisions",
+                dt -> handleAll(projectileWallCollisions), botItem, detectProjectileWall);
+        return pipeline.add("bot/projectile collisions", dt -> {
+            handleAll(botProjectileCollisions);
+            assert noBotWallCollisions();
+        }, projectileWall, detectBotProjectile);
+    }
+
+
     /**
      * Handles all bot/bot collisions
      */
@@ -96,10 +150,14 @@ public class CollisionHandler {
      * taken care of as well, and that's why this method works iteratively,
      * until there are no more collisions or a maximum number of iterations
      * has been reached.
+     *
+     * Only the bots that have moved since the last update are checked, and
+     * each retry only checks the bots that the previous one moved back.
      */
     void handleBotWallCollisions(int maxTries) {
+        List<Bot> bots = movedBots();
         for (int i = 0; i < maxTries; i++) {
-            List<Collision> collisions = detector.detectBotWallCollisions();
+            List<Collision> collisions = detector.detectBotWallCollisions(bots);
 
             if (collisions.isEmpty()) {
                 break;
@@ -110,6 +168,11 @@ public class CollisionHandler {
                     logger.debug("Handling {}...", collision);
                     collision.handle();
                 }
+
+                bots = collisions.stream()
+                        .map(collision -> (Bot) collision.first())
+                        .distinct()
+                        .collect(Collectors.toList());
             }
         }
     }
@@ -119,11 +182,7 @@ public class CollisionHandler {
      * Handle bot/item collisions
      */
     private void handleBotItemCollisions() {
-        List<Collision> collisions = detector.detectBotItemCollisions();
-        for (Collision collision : collisions) {
-            logger.debug("Handling {}...", collision);
-            collision.handle();
-        }
+        handleAll(detector.detectBotItemCollisions());
     }
 
 
@@ -131,11 +190,7 @@ public class CollisionHandler {
      * Handle projectile/wall collisions
      */
     private void handleProjectileWallCollisions() {
-        List<Collision> collisions = detector.detectProjectileWallCollisions();
-        for (Collision collision : collisions) {
-            logger.debug("Handling {}...", collision);
-            collision.handle();
-        }
+        handleAll(detector.detectProjectileWallCollisions());
     }
 
 
@@ -143,7 +198,14 @@ public class CollisionHandler {
      * Handle bot/projectile collisions
      */
     private void handleBotProjectileCollisions() {
-        List<Collision> collisions = detector.detectBotProjectileCollisions();
+        handleAll(detector.detectBotProjectileCollisions());
+    }
+
+
+    /**
+     * Handles the given collisions, in order
+     */
+    private void handleAll(List<Collision> collisions) {
         for (Collision collision : collisions) {
             logger.debug("Handling {}...", collision);
             collision.handle();
@@ -152,10 +214,22 @@ public class CollisionHandler {
 
 
     /**
-     * Checks if there are still any bot/wall collisions
+     * Returns the bots that have moved since the last update, in the order
+     * of the bots list
+     */
+    private List<Bot> movedBots() {
+        List<Bot> bots = new ArrayList<>(game.getMovedBots());
+        bots.sort(Comparator.comparingInt(game::indexOf));
+        return bots;
+    }
+
+
+    /**
+     * Checks if there are still any bot/wall collisions, among the bots that
+     * have moved since the last update
      */
     private boolean noBotWallCollisions() {
-        List<Collision> botWallCollisions = detector.detectBotWallCollisions();
+        List<Collision> botWallCollisions = detector.detectBotWallCollisions(movedBots());
 
         if (botWallCollisions.isEmpty()) {
             return true;
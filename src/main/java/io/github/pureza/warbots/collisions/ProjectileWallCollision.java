@@ -1,25 +1,57 @@
 package io.github.pureza.warbots.collisions;
 
 import io.github.pureza.warbots.entities.StaticEntity;
+import io.github.pureza.warbots.geometry.Point;
 import io.github.pureza.warbots.weaponry.Projectile;
 
 import java.util.Objects;
 
 /**
  * A collision between a projectile and a wall
+ *
+ * Two collisions are equal if they involve the same projectile and wall,
+ * wherever the projectile hit it.
  */
 public class ProjectileWallCollision extends Collision {
 
+    /** The point where the projectile hit the wall, or null if unknown */
+    private final Point impact;
+
+
     public ProjectileWallCollision(Projectile projectile, StaticEntity wall) {
+        this(projectile, wall, null);
+    }
+
+
+    public ProjectileWallCollision(Projectile projectile, StaticEntity wall, Point impact) {
         super(projectile, wall);
+        this.impact = impact;
     }
 
 
+    /**
+     * Lets the projectile hit the wall, at the point of impact if known
+     *
+     * The projectile isn't moved: the bot/projectile collisions are detected
+     * along the path it travelled, at the same time as these are handled.
+     */
     @Override
     public void handle() {
         Projectile projectile = (Projectile) this.first;
         StaticEntity wall = (StaticEntity) this.second;
-        projectile.hitStaticEntity(wall);
+        if (impact != null) {
+            projectile.hitStaticEntity(wall, impact);
+        } else {
+            projectile.hitStaticEntity(wall);
+        }
+    }
+
+
+    /**
+     * The point where the projectile hit the wall, or null if unknown
+     */
+    public Point getImpact() {
+        return impact;
     }
 
 
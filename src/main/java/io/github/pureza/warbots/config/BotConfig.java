@@ -28,4 +28,20 @@ public interface BotConfig {
      * The random noise that makes projectile's direction unpredictable
      */
     double aimNoise();
+
+
+    /**
+     * Bots with no enemy closer than this (and no other sign of danger) are
+     * idle, and are updated at a lower rate
+     */
+    double idleRadius();
+
+
+    /**
+     * How often idle bots are updated, in ms
+     *
+     * If this isn't longer than the time step, idle bots are updated on every
+     * step, like all the others.
+     */
+    long idleUpdateInterval();
 }
@@ -4,6 +4,7 @@ import io.github.pureza.warbots.resources.PropertiesReader;
 import io.github.pureza.warbots.weaponry.Weapon;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
@@ -17,8 +18,28 @@ public class ConfigLoader {
      * Loads the configuration from the application.properties file
      */
     public static Config load() throws IOException {
+        try (InputStream in = ConfigLoader.class.getResourceAsStream("/application.properties")) {
+            return load(in);
+        }
+    }
+
+
+    /**
+     * Loads the configuration from a stream in the .properties format
+     *
+     * Useful to run matches with settings other than the bundled defaults.
+     */
+    public static Config load(InputStream in) throws IOException {
         Properties props = new Properties();
-        props.load(ConfigLoader.class.getResourceAsStream("/application.properties"));
+        props.load(in);
+        return load(props);
+    }
+
+
+    /**
+     * Loads the configuration from the given properties
+     */
+    public static Config load(Properties props) {
         PropertiesReader reader = new PropertiesReader(props);
 
         BotConfig botConfig = loadBotConfig(reader);
@@ -73,6 +94,8 @@ public class ConfigLoader {
             private double maxTurnRate = reader.getDouble("bot.max-turn-rate");
             private double boundingRadius = reader.getDouble("bot.bounding-radius");
             private double aimNoise = reader.getDouble("bot.aim-noise");
+            private double idleRadius = reader.getDouble("bot.idle-radius");
+            private long idleUpdateInterval = reader.getLong("bot.idle-update-interval");
 
 
             @Override
@@ -94,6 +117,16 @@ public class ConfigLoader {
             public double aimNoise() {
                 return aimNoise;
             }
+
+            @Override
+            public double idleRadius() {
+                return idleRadius;
+            }
+
+            @Override
+            public long idleUpdateInterval() {
+                return idleUpdateInterval;
+            }
         };
     }
 
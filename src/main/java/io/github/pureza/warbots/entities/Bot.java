@@ -1,6 +1,8 @@
 package io.github.pureza.warbots.entities;
 
 import io.github.pureza.warbots.ai.BotAI;
+import io.github.pureza.warbots.collection.SlotList;
+import io.github.pureza.warbots.game.BotVisibility;
 import io.github.pureza.warbots.game.Game;
 import io.github.pureza.warbots.geometry.Vector;
 import io.github.pureza.warbots.memory.Memory;
@@ -18,6 +20,7 @@ import io.github.pureza.warbots.weaponry.Weapon;
 
 import java.awt.*;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 
 /**
@@ -43,6 +46,9 @@ public class Bot extends MovingEntity {
     /** Steering behavior in use */
     private SteeringBehavior steeringBehavior;
 
+    /** The velocity computed by think(), to be applied by act() */
+    private Vector nextVelocity = Vector.vec(0, 0);
+
     /** Bot's path planner */
     private PathPlanner pathPlanner;
 
@@ -55,6 +61,19 @@ public class Bot extends MovingEntity {
     /** The bot's memory */
     private Memory memory;
 
+    /** The bot's own random number generator */
+    private final Random random;
+
+    /**
+     * Time that has passed since the bot was last updated, while idle
+     *
+     * See isIdle().
+     */
+    private long idleTime = 0;
+
+    /** Time to simulate in the current update, as decided by think() */
+    private long step = 0;
+
     /** Event fired when this moving entity collides with some static entity */
     private Event<StaticEntity> onCollisionWithStaticEntity = new Event<>();
 
@@ -72,6 +91,7 @@ public class Bot extends MovingEntity {
         this.aimNoise = aimNoise;
         this.projectilesBoundingRadius = projectilesBoundingRadius;
         this.health = 100;
+        this.random = game.getRandom().split();
 
         // Initialize weapons
         this.artillery = new Artillery(this);
@@ -86,23 +106,112 @@ public class Bot extends MovingEntity {
     }
 
 
+    /**
+     * Updates the bot in one go
+     *
+     * Equivalent to think() followed by act(). The game doesn't use it,
+     * because it needs all the bots to think before any of them acts.
+     */
     @Override
     public void update(long dt) {
+        think(dt);
+        act(dt);
+    }
+
+
+    /**
+     * The read-only phase of an update: senses the world, updates the
+     * memory, runs the AI and computes the next velocity
+     *
+     * The bot may change its own state (memory, goals, rotation, weapons), but
+     * it never moves, so other bots can think at the same time. They all see
+     * the locations and velocities as they were at the end of the previous
+     * update, no matter in which order they run.
+     *
+     * Idle bots only think (and act) once every idle update interval, with
+     * all the time that has passed since the last time. As soon as they stop
+     * being idle, they catch up and go back to thinking on every update.
+     */
+    public void think(long dt) {
+        long interval = game.getConfig().botConfig().idleUpdateInterval();
+        if (interval > dt && isIdle()) {
+            this.idleTime += dt;
+            if (this.idleTime < interval) {
+                // Stay still until enough time has passed
+                this.step = 0;
+                return;
+            }
+        } else {
+            this.idleTime += dt;
+        }
+
+        this.step = this.idleTime;
+        this.idleTime = 0;
+
         // Get the current steering behavior's desired velocity
         Vector desiredVelocity = this.steeringBehavior != null
-                ? this.steeringBehavior.calculateVelocity(dt)
+                ? this.steeringBehavior.calculateVelocity(step)
                 : Vector.vec(0, 0);
 
-        this.velocity = desiredVelocity.truncate(this.maxSpeed);
+        this.nextVelocity = desiredVelocity.truncate(this.maxSpeed);
 
         // Update the memory
-        this.memory.update(dt);
+        this.memory.update(step);
 
         // Update the brain
-        this.botAI.update(dt);
+        this.botAI.update(step);
+    }
+
+
+    /**
+     * The integration phase of an update: applies the velocity computed by
+     * think() and moves the bot
+     *
+     * The bot moves for as long as it has thought about, so idle bots only
+     * move once in a while, in larger steps.
+     */
+    public void act(long dt) {
+        if (this.step == 0) {
+            return;
+        }
+
+        this.velocity = this.nextVelocity;
 
         // Update position
-        super.update(dt);
+        super.update(this.step);
+    }
+
+
+    /**
+     * Moves the bot to its new cell in the game's bot grid, and tells the game
+     * it has to check the bot for collisions with walls
+     */
+    @Override
+    protected void moved(Point from) {
+        // Only bots that have been added to the game are in the grid
+        if (getHandle() != SlotList.NO_HANDLE) {
+            game.getBotGrid().move(this, from, getLocation());
+            game.botMoved(this);
+        }
+    }
+
+
+    /**
+     * Checks if the bot may be updated at a lower rate
+     *
+     * A bot is idle if it doesn't remember any enemy or having been shot, and
+     * no enemy is within the idle radius.
+     */
+    public boolean isIdle() {
+        if (memory.getShotMemory().hasBeenShot() || !memory.getBotMemory().getRecords().isEmpty()) {
+            return false;
+        }
+
+        // Only the bots in the cells around this one may be close enough
+        double radius = game.getConfig().botConfig().idleRadius();
+        Point location = getLocation();
+        return !game.getBotGrid().anyNear(location, radius, other ->
+                !isSameTeam(other) && !other.isDead() && location.distanceTo(other.getLocation()) <= radius);
     }
 
 
@@ -120,6 +229,8 @@ public class Bot extends MovingEntity {
      * If the health reaches 0, the bot dies.
      */
     public void inflictDamage(Projectile projectile, int damage) {
+        boolean wasDead = this.killed;
+        int inflicted = Math.min(this.health, damage);
         this.health = Math.max(this.health - damage, 0);
 
         // Remember where the shot came from
@@ -128,6 +239,8 @@ public class Bot extends MovingEntity {
         if (health <= 0) {
             this.die();
         }
+
+        game.reportDamage(projectile, this, inflicted, !wasDead && killed);
     }
 
 
@@ -152,6 +265,9 @@ public class Bot extends MovingEntity {
 
     /**
      * Checks if this bot can see an entity
+     *
+     * While the bots think, the visibility between bots is read from the
+     * game's BotVisibility.
      */
     public boolean isInFov(Entity other) {
         // I can't see myself.
@@ -159,17 +275,34 @@ public class Bot extends MovingEntity {
             return false;
         }
 
+        if (other instanceof Bot) {
+            BotVisibility visibility = game.getBotVisibility();
+            if (visibility != null && visibility.covers(this) && visibility.covers((Bot) other)) {
+                return visibility.isInFov(this, (Bot) other);
+            }
+        }
+
+        // If there is no obstacle between us, and the entity is ahead of me,
+        // I can see it
+        return isFacing(other)
+                && !game.getMap().isPathObstructed(this.getLocation(), other.getLocation());
+    }
+
+
+    /**
+     * Checks if an entity is inside this bot's field of view, whether there
+     * is an obstacle between them or not
+     */
+    public boolean isFacing(Entity other) {
         // The vector that points in the direction ahead of the bot
         Vector heading = this.getHeadingVector();
 
         // The vector that points to the other bot
         Vector toOther = other.getLocation().minus(this.getLocation());
 
-        // If the angle between the heading vector and the vector that points
-        // towards the other bot is less than 90º and there is no obstacle
-        // between us, then I can see it
-        return heading.angleWith(toOther) < Math.PI / 2
-                && !game.getMap().isPathObstructed(this.getLocation(), other.getLocation());
+        // The angle between the heading vector and the vector that points
+        // towards the other bot must be less than 90º
+        return heading.angleWith(toOther) < Math.PI / 2;
     }
 
 
@@ -177,6 +310,11 @@ public class Bot extends MovingEntity {
      * Returns the bots that this bot can see
      */
     public List<Bot> getBotsInFov() {
+        BotVisibility visibility = game.getBotVisibility();
+        if (visibility != null && visibility.covers(this)) {
+            return visibility.getBotsInFov(this);
+        }
+
         return game.getBots().stream()
                 .filter(this::isInFov)
                 .collect(Collectors.toList());
@@ -248,7 +386,6 @@ public class Bot extends MovingEntity {
         Projectile projectile = this.artillery.fireAt(other, dt);
         if (projectile != null) {
             this.getGame().addProjectile(projectile);
-            projectile.initResources();
         }
     }
 
@@ -285,6 +422,17 @@ public class Bot extends MovingEntity {
     }
 
 
+    /**
+     * Returns the bot's own random number generator
+     *
+     * It's only used while the bot is being updated, so it's never shared
+     * between threads.
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+
     public int getHealth() {
         return health;
     }
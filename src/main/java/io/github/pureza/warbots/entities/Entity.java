@@ -2,13 +2,15 @@ package io.github.pureza.warbots.entities;
 
 import io.github.pureza.warbots.geometry.Point;
 
+import java.io.Serializable;
+
 /**
  * Game entity
  *
  * Entities can either be static, such as walls, or movable, such as bots and
  * projectiles.
  */
-public abstract class Entity {
+public abstract class Entity implements Serializable {
 
     /** The location of the bottom left corner of the entity */
     private Point location;
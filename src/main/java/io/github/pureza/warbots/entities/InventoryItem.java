@@ -3,6 +3,7 @@ package io.github.pureza.warbots.entities;
 import com.golden.gamedev.object.Sprite;
 import io.github.pureza.warbots.game.Game;
 import io.github.pureza.warbots.geometry.Size;
+import io.github.pureza.warbots.navigation.Map;
 import io.github.pureza.warbots.resources.Sprites;
 
 import java.awt.*;
@@ -13,7 +14,8 @@ import java.awt.image.BufferedImage;
  *
  * An inventory item is any kind of item that lies on the map and can be picked
  * by a bot. After being picked, they disappear and become inactive for a while
- * (the activation interval).
+ * (the activation interval). Items don't count the time themselves: picking
+ * an item schedules its activation on the game's timers.
  *
  * Note that an inventory item is placed at the center of its cell in the map.
  * There can only be one item per cell.
@@ -31,11 +33,11 @@ public abstract class InventoryItem extends Entity {
     /** Is the item active? */
     protected boolean active;
 
-    /** Time passed since the item was picked for the last time */
-    protected long timeSinceDeactivation;
-
     /** The item's sprite */
-    protected Sprite sprite;
+    protected transient Sprite sprite;
+
+    /** The map the item lies on, told whenever the item is (de)activated */
+    private transient Map map;
 
 
     public InventoryItem(io.github.pureza.warbots.geometry.Point location, double boundingRadius, long activationInterval) {
@@ -46,26 +48,15 @@ public abstract class InventoryItem extends Entity {
     }
 
 
-    /**
-     * Updates the item after some time has passed
-     */
-    public void update(long dt) {
-        if (!this.active) {
-            this.timeSinceDeactivation += dt;
-
-            // Enable the item again if sufficient time has already passed.
-            if (this.timeSinceDeactivation >= this.activationInterval) {
-                activate();
-            }
-        }
-    }
-
-
     /**
      * What to do when a bot catches this item?
+     *
+     * The item becomes active again after the activation interval.
      */
     public void caughtBy(Bot bot) {
         this.deactivate();
+        Game game = bot.getGame();
+        game.getTimers().schedule(game.getClock().now() + activationInterval, this::activate);
         applyTo(bot);
 
         // Remember that we caught this item
@@ -122,6 +113,7 @@ public abstract class InventoryItem extends Entity {
         }
 
         this.active = true;
+        activationChanged();
     }
 
 
@@ -134,7 +126,29 @@ public abstract class InventoryItem extends Entity {
         }
 
         this.active = false;
-        timeSinceDeactivation = 0;
+        activationChanged();
+    }
+
+
+    /**
+     * Puts the item back in the given state, when a game is restored from a
+     * snapshot
+     *
+     * The activation of an inactive item is restored along with the game's
+     * timers.
+     */
+    public void restore(boolean active) {
+        this.active = active;
+        activationChanged();
+    }
+
+
+    /**
+     * Sets the map the item lies on, when the item is added to (or removed
+     * from) a map
+     */
+    public void setMap(Map map) {
+        this.map = map;
     }
 
 
@@ -146,6 +160,16 @@ public abstract class InventoryItem extends Entity {
     }
 
 
+    /**
+     * Lets the map know that the item was activated or deactivated
+     */
+    private void activationChanged() {
+        if (map != null) {
+            map.activationChanged(this);
+        }
+    }
+
+
     /**
      * Loads the sprite corresponding to this item
      */
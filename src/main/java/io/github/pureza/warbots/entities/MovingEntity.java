@@ -1,6 +1,7 @@
 package io.github.pureza.warbots.entities;
 
 import com.golden.gamedev.object.Sprite;
+import io.github.pureza.warbots.collection.SlotList;
 import io.github.pureza.warbots.game.Game;
 import io.github.pureza.warbots.resources.Sprites;
 import io.github.pureza.warbots.geometry.Size;
@@ -41,8 +42,11 @@ public abstract class MovingEntity extends Entity {
     /** The path to the entity's sprite */
     protected final String spritePath;
 
-    /** The sprite used by this entity */
-    protected Sprite sprite;
+    /** The sprite used by this entity (never part of a GameSnapshot) */
+    protected transient Sprite sprite;
+
+    /** The entity's handle in the game's entity list */
+    private long handle = SlotList.NO_HANDLE;
 
 
     public MovingEntity(Game game, io.github.pureza.warbots.geometry.Point location, String spritePath, Vector velocity, double rotation,
@@ -62,7 +66,7 @@ public abstract class MovingEntity extends Entity {
      * Updates the position of this entity according to the velocity vector
      */
     public void update(long dt) {
-        this.setLocation(this.getLocation().plus(this.velocity.scalarMul(dt / 1000.0)));
+        this.setLocation(this.getLocation().plus(this.getVelocity().scalarMul(dt / 1000.0)));
     }
 
 
@@ -108,6 +112,11 @@ public abstract class MovingEntity extends Entity {
     }
 
 
+    protected void setVelocity(Vector velocity) {
+        this.velocity = velocity;
+    }
+
+
     public double getRotation() {
         return rotation;
     }
@@ -143,6 +152,15 @@ public abstract class MovingEntity extends Entity {
         // Save previous location, because it may be restored on a collision
         this.previousLocation = this.getLocation();
         super.setLocation(location);
+        moved(this.previousLocation);
+    }
+
+
+    /**
+     * Called every time the entity moves, to keep any index of the entities'
+     * locations up to date
+     */
+    protected void moved(io.github.pureza.warbots.geometry.Point from) {
     }
 
 
@@ -162,6 +180,23 @@ public abstract class MovingEntity extends Entity {
     }
 
 
+    /**
+     * Returns the entity's handle in the game's entity list, or
+     * SlotList.NO_HANDLE if it has never been added to the game
+     */
+    public final long getHandle() {
+        return handle;
+    }
+
+
+    /**
+     * Sets the entity's handle, when the entity is added to the game
+     */
+    public final void setHandle(long handle) {
+        this.handle = handle;
+    }
+
+
     /**
      * Loads the sprite corresponding to this item
      */
@@ -35,19 +35,20 @@ public class Team {
      * spawning points is free
      */
     public void spawnBotIfNecessary(Game game) {
-        if (spawnedBots >= initialNumberOfBots) {
+        if (hasSpawnedAllBots()) {
             return;
         }
 
+        // Only the bots close enough to the spawning points may be in the way
+        double range = game.getConfig().botConfig().boundingRadius() * 4;
         spawningPoints.stream()
                 .filter(point ->
-                        game.getBots().stream()
+                        game.getBotsInRange(point, range).stream()
                                 .allMatch(bot -> bot.getLocation().distanceTo(point) > bot.getBoundingRadius() * 4))
                 .findAny()
                 .ifPresent(spawnPoint -> {
                     BotBuilder botBuilder = new BotBuilder(game.getConfig());
                     Bot bot = botBuilder.build(game, spawnPoint, this);
-                    bot.initResources();
                     game.addBot(bot);
                     spawnedBots++;
                 });
@@ -70,6 +71,33 @@ public class Team {
     }
 
 
+    /**
+     * Checks if all the bots of this team have already been spawned
+     *
+     * Bots are never re-spawned, so from then on, the team can only shrink.
+     */
+    public boolean hasSpawnedAllBots() {
+        return spawnedBots >= initialNumberOfBots;
+    }
+
+
+    /**
+     * Returns the number of bots spawned so far
+     */
+    public int getSpawnedBots() {
+        return spawnedBots;
+    }
+
+
+    /**
+     * Sets the number of bots spawned so far, when a game is restored from a
+     * snapshot
+     */
+    public void setSpawnedBots(int spawnedBots) {
+        this.spawnedBots = spawnedBots;
+    }
+
+
     /**
      * Returns the spawning points for bots in this team
      */
@@ -2,13 +2,15 @@ package io.github.pureza.warbots.fuzzy;
 
 import nrc.fuzzy.FuzzySet;
 
+import java.io.Serializable;
+
 /**
  * Represents a term in the fuzzy logic DSL
  *
  * A term is a possible value for a variable. For instance, if the variable is
  * temperature, cold and hot are possible names for its terms.
  */
-public class Term {
+public class Term implements Serializable {
 
     /** The name of the term */
     private String name;
@@ -3,12 +3,14 @@ package io.github.pureza.warbots.fuzzy;
 import nrc.fuzzy.FuzzyException;
 import nrc.fuzzy.FuzzyVariable;
 
+import java.io.Serializable;
+
 /**
  * A fuzzy variable in the rule DSL.
  *
  * A variable has a name, a domain, and a set of terms (cold, hot, etc).
  */
-public class Variable {
+public class Variable implements Serializable {
 
     /** The variable's name */
     private String name;
@@ -0,0 +1,250 @@
+package io.github.pureza.warbots.game;
+
+import io.github.pureza.warbots.entities.Bot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Which bots see which, while the bots think
+ *
+ * The bots don't move while they think, so what each bot can see doesn't
+ * change until they act. Instead of every bot checking its field of view (and
+ * walking the path to the other bot) whenever it needs to, each bot works it
+ * out for all the other bots the first time it asks, and keeps it until the
+ * bots start moving:
+ *
+ * - bots that don't think this tick (idle bots, for instance) never ask, and
+ *   cost nothing
+ * - the line of sight is the same both ways, so a bot reuses what the other
+ *   bot has already found about it, if anything
+ *
+ * The results are kept as bits, in one row per bot, by position of the bots
+ * in Game.getBots(). The rows are kept from tick to tick and only overwritten
+ * when a bot asks again. A bot may rotate while it thinks: from then on, its
+ * field of view is applied again to the line of sight found before.
+ *
+ * Each bot's row is only written by the bot itself, and only read by other
+ * bots once it is complete, so the bots can think in parallel.
+ *
+ * Outside the bots' thinking phase there is nothing known, and the bots
+ * check their field of view themselves (see covers()).
+ */
+public class BotVisibility {
+
+    /** The game */
+    private final Game game;
+
+    /** The bots, as they were when the bots started thinking */
+    private final List<Bot> bots = new ArrayList<>();
+
+    /** Number of bots the rows have room for */
+    private int capacity = 0;
+
+    /** Number of words taken by the bits of each bot */
+    private int words = 0;
+
+    /** The rotation of each bot when its row was filled */
+    private double[] rotations = new double[0];
+
+    /** For each bot, set for the bots it sees */
+    private long[] sees = new long[0];
+
+    /** For each bot, set for the bots it has checked the line of sight to */
+    private long[] checked = new long[0];
+
+    /** For each bot, set for the bots with nothing between them and it */
+    private long[] clear = new long[0];
+
+    /** The tick when each row was filled */
+    private AtomicIntegerArray filledAt = new AtomicIntegerArray(0);
+
+    /** The current tick, or 0 if nothing is known */
+    private int tick = 0;
+
+    /** The last tick */
+    private int lastTick = 0;
+
+
+    public BotVisibility(Game game) {
+        this.game = game;
+    }
+
+
+    /**
+     * Starts a new tick, for the bots currently in the game
+     *
+     * Nothing is computed yet: each bot fills its row the first time it asks.
+     * The rows are only reallocated when there are more bots than ever before.
+     */
+    public void update() {
+        bots.clear();
+        bots.addAll(game.getBots());
+
+        int count = bots.size();
+        if (count > capacity) {
+            this.capacity = count;
+            this.words = (count + 63) / 64;
+            this.rotations = new double[count];
+            this.sees = new long[count * words];
+            this.checked = new long[count * words];
+            this.clear = new long[count * words];
+            this.filledAt = new AtomicIntegerArray(count);
+            this.lastTick = 0;
+        }
+
+        this.tick = ++lastTick;
+    }
+
+
+    /**
+     * Forgets what was computed, once the bots start moving
+     */
+    public void clear() {
+        this.tick = 0;
+        bots.clear();
+    }
+
+
+    /**
+     * Checks if the visibility between a bot and every other bot in the game
+     * is known
+     */
+    public boolean covers(Bot bot) {
+        int index = indexOf(bot);
+        return index >= 0 && bots.get(index) == bot;
+    }
+
+
+    /**
+     * Checks if a bot can see another one
+     *
+     * Both bots must be covered (see covers()).
+     */
+    public boolean isInFov(Bot bot, Bot other) {
+        int i = indexOf(bot);
+        int j = indexOf(other);
+        assert covers(bot) && covers(other);
+
+        if (i == j) {
+            return false;
+        }
+
+        fill(i);
+        if (bot.getRotation() == rotations[i]) {
+            return get(sees, i, j);
+        }
+
+        return bot.isFacing(other) && isClear(i, j);
+    }
+
+
+    /**
+     * Returns the bots that a bot can see, in the order of Game.getBots()
+     *
+     * The bot must be covered (see covers()).
+     */
+    public List<Bot> getBotsInFov(Bot bot) {
+        assert covers(bot);
+
+        List<Bot> inFov = new ArrayList<>();
+        for (int j = 0; j < bots.size(); j++) {
+            if (isInFov(bot, bots.get(j))) {
+                inFov.add(bots.get(j));
+            }
+        }
+
+        return inFov;
+    }
+
+
+    /**
+     * Checks if the row of a bot was filled during the current tick
+     */
+    boolean isFilled(Bot bot) {
+        int index = indexOf(bot);
+        return index >= 0 && filledAt.get(index) == tick;
+    }
+
+
+    /**
+     * The position of a bot in the bots list, or -1 if nothing is known
+     * about it
+     */
+    private int indexOf(Bot bot) {
+        if (tick == 0) {
+            return -1;
+        }
+
+        int index = game.indexOf(bot);
+        return index < bots.size() ? index : -1;
+    }
+
+
+    /**
+     * Fills the row of bot i, unless it was already filled during this tick
+     *
+     * The line of sight is only checked to the bots that bot i is facing, and
+     * is taken from their own rows when they have checked it already.
+     */
+    private void fill(int i) {
+        if (filledAt.get(i) == tick) {
+            return;
+        }
+
+        Bot bot = bots.get(i);
+        int from = i * words;
+        Arrays.fill(sees, from, from + words, 0);
+        Arrays.fill(checked, from, from + words, 0);
+        Arrays.fill(clear, from, from + words, 0);
+        rotations[i] = bot.getRotation();
+
+        for (int j = 0; j < bots.size(); j++) {
+            Bot other = bots.get(j);
+            if (j == i || !bot.isFacing(other)) {
+                continue;
+            }
+
+            if (isClear(i, j)) {
+                set(clear, i, j);
+                set(sees, i, j);
+            }
+
+            set(checked, i, j);
+        }
+
+        // Only now may the other bots read the row
+        filledAt.set(i, tick);
+    }
+
+
+    /**
+     * Checks if nothing stands between bots i and j, checking the line of
+     * sight now if neither of them has checked it before
+     */
+    private boolean isClear(int i, int j) {
+        if (filledAt.get(i) == tick && get(checked, i, j)) {
+            return get(clear, i, j);
+        }
+
+        if (filledAt.get(j) == tick && get(checked, j, i)) {
+            return get(clear, j, i);
+        }
+
+        return !game.getMap().isPathObstructed(bots.get(i).getLocation(), bots.get(j).getLocation());
+    }
+
+
+    private boolean get(long[] bits, int row, int column) {
+        int word = row * words + (column >>> 6);
+        return (bits[word] & (1L << column)) != 0;
+    }
+
+
+    private void set(long[] bits, int row, int column) {
+        int word = row * words + (column >>> 6);
+        bits[word] |= 1L << column;
+    }
+}
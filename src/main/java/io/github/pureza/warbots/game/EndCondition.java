@@ -0,0 +1,102 @@
+package io.github.pureza.warbots.game;
+
+import io.github.pureza.warbots.entities.Team;
+
+import java.util.function.Predicate;
+
+/**
+ * A condition that ends a match
+ *
+ * The game checks its end conditions at the end of every update, and stops
+ * as soon as one of them is met.
+ */
+public class EndCondition {
+
+    /**
+     * The kinds of end conditions
+     */
+    public enum Type {
+        /** All the bots of a team have been spawned and killed */
+        TEAM_ELIMINATED,
+
+        /** The match has been played for long enough */
+        TIME_LIMIT,
+
+        /** The match has been updated enough times */
+        TICK_LIMIT,
+
+        /** A team has killed enough enemies */
+        KILL_TARGET
+    }
+
+
+    /** The kind of condition */
+    private final Type type;
+
+    /** Checks whether the condition is met */
+    private final Predicate<Game> predicate;
+
+
+    private EndCondition(Type type, Predicate<Game> predicate) {
+        this.type = type;
+        this.predicate = predicate;
+    }
+
+
+    /**
+     * Ends the match when one of the teams has been eliminated
+     */
+    public static EndCondition teamEliminated() {
+        return new EndCondition(Type.TEAM_ELIMINATED,
+                game -> game.isEliminated(game.getTeamA()) || game.isEliminated(game.getTeamB()));
+    }
+
+
+    /**
+     * Ends the match after the given simulated time, in ms
+     */
+    public static EndCondition timeLimit(long duration) {
+        return new EndCondition(Type.TIME_LIMIT, game -> game.getClock().now() >= duration);
+    }
+
+
+    /**
+     * Ends the match after the given number of updates
+     */
+    public static EndCondition tickLimit(long ticks) {
+        return new EndCondition(Type.TICK_LIMIT, game -> game.getTicks() >= ticks);
+    }
+
+
+    /**
+     * Ends the match when one of the teams reaches the given number of kills
+     */
+    public static EndCondition killTarget(int kills) {
+        return new EndCondition(Type.KILL_TARGET,
+                game -> reachedKills(game, game.getTeamA(), kills) || reachedKills(game, game.getTeamB(), kills));
+    }
+
+
+    /**
+     * Checks whether the condition is met
+     */
+    public boolean isMet(Game game) {
+        return predicate.test(game);
+    }
+
+
+    public Type getType() {
+        return type;
+    }
+
+
+    private static boolean reachedKills(Game game, Team team, int kills) {
+        return game.getStatistics(team).getKills() >= kills;
+    }
+
+
+    @Override
+    public String toString() {
+        return "EndCondition{" + type + '}';
+    }
+}
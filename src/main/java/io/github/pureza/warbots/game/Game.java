@@ -4,8 +4,11 @@ import com.golden.gamedev.object.Background;
 import com.golden.gamedev.object.background.TileBackground;
 import com.golden.gamedev.util.ImageUtil;
 import io.github.pureza.warbots.weaponry.Projectile;
+import io.github.pureza.warbots.weaponry.ProjectileStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import io.github.pureza.warbots.collection.SlotList;
+import io.github.pureza.warbots.collection.SpatialHash;
 import io.github.pureza.warbots.collisions.CollisionHandler;
 import io.github.pureza.warbots.config.Config;
 import io.github.pureza.warbots.entities.Bot;
@@ -19,12 +22,18 @@ import io.github.pureza.warbots.resources.Sprites;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.Serializable;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 
 /**
@@ -41,32 +50,114 @@ public class Game extends com.golden.gamedev.Game {
     /** The game map */
     private final Map map;
 
+    /** The game clock, measuring simulated time */
+    private final SimulationClock clock;
+
+    /** Runs the scheduled tasks, such as bringing inventory items back */
+    private TimingWheel timers;
+
+    /** Hands out random number generators to the bots and their weapons */
+    private RandomStreams random = new RandomStreams(RandomStreams.DEFAULT_SEED);
+
     /** The game background */
     protected Background background;
 
+    /**
+     * Have the sprites been loaded?
+     *
+     * This only happens when the game is driven by the Golden T game engine.
+     * Headless simulations never load any resources.
+     */
+    private boolean resourcesLoaded = false;
+
     /** The collision handler */
     private final CollisionHandler collisionHandler = new CollisionHandler(this);
 
+    /** The live bots, bucketed by the cell they are at */
+    private final SpatialHash<Bot> botGrid;
+
+    /**
+     * The bots that have moved or joined the game since the end of the last
+     * update
+     *
+     * The other bots can't have run into a wall since then, so they aren't
+     * checked again (see CollisionHandler).
+     */
+    private final Set<Bot> movedBots = new LinkedHashSet<>();
+
     /** The first team */
     private Team teamA;
 
     /** The second team */
     private Team teamB;
 
-    /** The bots that are still alive */
-    private final List<Bot> bots = new ArrayList<>();
+    /**
+     * The bots that are still alive
+     *
+     * Removing a bot moves the last one into its place, so the order of the
+     * bots changes as they die.
+     */
+    private final SlotList<Bot> bots = new SlotList<>();
 
     /** Projectiles currently travelling on the map */
-    private final List<Projectile> projectiles = new ArrayList<>();
+    private final SlotList<Projectile> projectiles = new SlotList<>();
+
+    /**
+     * Keeps the projectiles' locations and velocities in primitive arrays, or
+     * null to keep them in the projectiles themselves
+     */
+    private ProjectileStore projectileStore;
 
     /**
      * Projectiles that have hit a target and will be removed in the next
      * iteration.
      *
-     * This is to avoid ConcurrentModificationExceptions
+     * This is to avoid ConcurrentModificationExceptions. The same projectile
+     * may be here more than once, but it's only removed once.
      */
     private final List<Projectile> lostProjectiles = new ArrayList<>();
 
+    /**
+     * Projectiles fired while the bots were thinking
+     *
+     * They are only added to the game once all the bots have finished, in
+     * the order of the bots that fired them.
+     */
+    private final List<Projectile> firedProjectiles = Collections.synchronizedList(new ArrayList<>());
+
+    /** Which bots see which, while the bots think */
+    private final BotVisibility botVisibility = new BotVisibility(this);
+
+    /** Are the bots thinking right now? */
+    private volatile boolean thinking = false;
+
+    /** Do the bots think in parallel? */
+    private boolean parallelBotUpdates = false;
+
+    /** The stages of an update, created on the first update */
+    private TickPipeline pipeline;
+
+    /** Do independent stages of an update run in parallel? */
+    private boolean parallelStages = false;
+
+    /** Number of updates so far */
+    private long ticks = 0;
+
+    /** The conditions that end the match, in order of precedence */
+    private final List<EndCondition> endConditions = new ArrayList<>();
+
+    /** The condition that ended the match, or null if it's still going on */
+    private EndCondition endedBy;
+
+    /** Statistics for the first team */
+    private final TeamStatistics statisticsA = new TeamStatistics();
+
+    /** Statistics for the second team */
+    private final TeamStatistics statisticsB = new TeamStatistics();
+
+    /** When each live bot was spawned, in simulated ms */
+    private final java.util.Map<Bot, Long> spawnTimes = new HashMap<>();
+
     /**
      * Bots to remove in the next iteration
      * This is to avoid ConcurrentModificationExceptions
@@ -93,16 +184,25 @@ public class Game extends com.golden.gamedev.Game {
 
 
     public Game(Config config, Map map, Team teamA, Team teamB) {
+        this(config, map, teamA, teamB, new SimulationClock());
+    }
+
+
+    public Game(Config config, Map map, Team teamA, Team teamB, SimulationClock clock) {
         super();
         this.config = config;
         this.map = map;
         this.teamA = teamA;
         this.teamB = teamB;
+        this.clock = clock;
+        this.timers = new TimingWheel(clock.now());
+        this.botGrid = new SpatialHash<>(map.width(), map.height(), Bot::getLocation, Bot::getBoundingRadius);
     }
 
 
     @Override
     public void initResources() {
+        this.resourcesLoaded = true;
         this.background = createBackground();
 
         // Initialize inventory item sprites
@@ -134,26 +234,396 @@ public class Game extends com.golden.gamedev.Game {
 
     @Override
     public void update(long dt) {
-        teamA.spawnBotIfNecessary(this);
-        teamB.spawnBotIfNecessary(this);
+        // Nothing happens after the match is over
+        if (isOver()) {
+            return;
+        }
 
-        // Update the inventory first
-        map.getItems().forEach(item -> item.update(dt));
+        // Time flows first, so that everything updated below sees the same now
+        clock.advance(dt);
+        ticks++;
+
+        if (parallelStages) {
+            getTickPipeline().run(dt, ForkJoinPool.commonPool());
+        } else {
+            getTickPipeline().run(dt);
+        }
+    }
 
-        // Update the bots
-        this.bots.forEach(bot -> bot.update(dt));
 
-        // Update the projectiles
-        this.projectiles.forEach(projectile -> projectile.update(dt));
+    /**
+     * Returns the stages of an update, with their timings
+     */
+    public TickPipeline getTickPipeline() {
+        if (pipeline == null) {
+            pipeline = createTickPipeline();
+        }
+
+        return pipeline;
+    }
+
+
+    /**
+     * Declares the stages of an update and the dependencies between them
+     */
+    private TickPipeline createTickPipeline() {
+        TickPipeline pipeline = new TickPipeline();
+
+        TickPipeline.Stage spawn = pipeline.add("spawn", dt -> {
+            teamA.spawnBotIfNecessary(this);
+            teamB.spawnBotIfNecessary(this);
+        });
+
+        // Run the tasks that are due, such as activating the inventory items
+        // that were picked long enough ago
+        TickPipeline.Stage timers = pipeline.add("timers", dt -> this.timers.advanceTo(clock.now()));
+
+        // Update the bots in two phases: first they all think against the
+        // world as it was at the end of the previous update, and only then
+        // they all move
+        TickPipeline.Stage think = pipeline.add("think", this::thinkBots, spawn, timers);
+        TickPipeline.Stage act = pipeline.add("act", dt -> this.bots.forEach(bot -> bot.act(dt)), think);
+
+        // Update the projectiles, including the ones just fired. They don't
+        // care about the bots, so they move at the same time
+        TickPipeline.Stage integrate = pipeline.add("projectiles", dt -> {
+            if (projectileStore != null) {
+                projectileStore.update(dt);
+            } else {
+                this.projectiles.forEach(projectile -> projectile.update(dt));
+            }
+        }, think);
 
         // Handle collisions
-        this.collisionHandler.handle();;
+        TickPipeline.Stage collisions = collisionHandler.addStages(pipeline, act, integrate);
 
-        // Delete dead bots
-        this.removeDeadBots();
+        pipeline.add("cleanup", dt -> {
+            // Delete dead bots
+            this.removeDeadBots();
 
-        // Delete lost projectiles
-        this.removeLostProjectiles();
+            // The bots that are still around have been checked for walls
+            this.movedBots.clear();
+
+            // Delete lost projectiles
+            this.removeLostProjectiles();
+
+            // Is the match over?
+            this.checkEndConditions();
+        }, collisions);
+
+        return pipeline;
+    }
+
+
+    /**
+     * Adds a condition that ends the match
+     *
+     * When more than one condition is met at the same time, the one added
+     * first is reported as the reason for the end of the match.
+     */
+    public void addEndCondition(EndCondition condition) {
+        this.endConditions.add(condition);
+    }
+
+
+    /**
+     * Checks if the match is over
+     */
+    public boolean isOver() {
+        return endedBy != null;
+    }
+
+
+    /**
+     * Returns the condition that ended the match, or null if the match isn't
+     * over
+     */
+    public EndCondition getEndedBy() {
+        return endedBy;
+    }
+
+
+    /**
+     * Returns the winning team, or null in case of a draw
+     *
+     * If a team was eliminated, the other one wins. Otherwise, the team with
+     * most kills wins. This can be called before the match is over, to know
+     * who's winning.
+     */
+    public Team getWinner() {
+        boolean eliminatedA = isEliminated(teamA);
+        boolean eliminatedB = isEliminated(teamB);
+        if (eliminatedA != eliminatedB) {
+            return eliminatedA ? teamB : teamA;
+        }
+
+        int killsA = statisticsA.getKills();
+        int killsB = statisticsB.getKills();
+        if (killsA == killsB) {
+            return null;
+        }
+
+        return killsA > killsB ? teamA : teamB;
+    }
+
+
+    /**
+     * Checks if a team has been eliminated, that is, if all of its bots have
+     * been spawned and none of them is alive
+     */
+    public boolean isEliminated(Team team) {
+        return team.hasSpawnedAllBots()
+                && bots.stream().noneMatch(bot -> bot.getTeam() == team && !bot.isDead());
+    }
+
+
+    /**
+     * Returns the number of updates so far
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+
+    /**
+     * Returns the statistics of a team
+     *
+     * The survival time includes the time the bots still alive have lived so
+     * far.
+     */
+    public TeamStatistics getStatistics(Team team) {
+        TeamStatistics statistics = statisticsOf(team);
+        if (statistics == null) {
+            throw new IllegalArgumentException("The team doesn't play in this game");
+        }
+
+        long now = clock.now();
+        long living = spawnTimes.entrySet().stream()
+                .filter(entry -> entry.getKey().getTeam() == team)
+                .mapToLong(entry -> now - entry.getValue())
+                .sum();
+        return statistics.withSurvivalTime(living);
+    }
+
+
+    /**
+     * Records the damage inflicted by a projectile upon a bot
+     *
+     * Called by the bot that was hit. Damage from projectiles fired by team
+     * mates doesn't count.
+     */
+    public void reportDamage(Projectile projectile, Bot victim, int damage, boolean killed) {
+        Bot shooter = projectile.getShooter();
+        if (shooter == null || shooter.isSameTeam(victim)) {
+            return;
+        }
+
+        TeamStatistics statistics = statisticsOf(shooter.getTeam());
+        if (statistics != null) {
+            statistics.addDamage(damage);
+            if (killed) {
+                statistics.addKill();
+            }
+        }
+    }
+
+
+    /**
+     * Ends the match if any of the end conditions is met
+     */
+    private void checkEndConditions() {
+        for (EndCondition condition : endConditions) {
+            if (condition.isMet(this)) {
+                logger.debug("The match is over: {}", condition);
+                this.endedBy = condition;
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the (mutable) statistics of a team, or null if the team doesn't
+     * play in this game
+     */
+    private TeamStatistics statisticsOf(Team team) {
+        if (team == teamA) {
+            return statisticsA;
+        } else if (team == teamB) {
+            return statisticsB;
+        } else {
+            return null;
+        }
+    }
+
+
+    /**
+     * Runs the read-only phase of the bots' update
+     *
+     * No bot moves during this phase, so they can all think at the same time,
+     * and which bots see which is only worked out once, by the bots that ask.
+     * The projectiles they fire are put on hold and added afterwards, in the
+     * order of the bots, so that the result doesn't depend on the scheduling.
+     */
+    void thinkBots(long dt) {
+        botVisibility.update();
+        thinking = true;
+        try {
+            (parallelBotUpdates ? bots.parallelStream() : bots.stream())
+                    .forEach(bot -> bot.think(dt));
+        } finally {
+            thinking = false;
+            botVisibility.clear();
+        }
+
+        if (!firedProjectiles.isEmpty()) {
+            List<Projectile> fired = new ArrayList<>(firedProjectiles);
+            firedProjectiles.clear();
+
+            if (parallelBotUpdates) {
+                java.util.Map<Bot, Integer> order = new IdentityHashMap<>();
+                for (int i = 0; i < bots.size(); i++) {
+                    order.put(bots.get(i), i);
+                }
+
+                fired.sort(Comparator.comparingInt(projectile -> order.getOrDefault(projectile.getShooter(), bots.size())));
+            }
+
+            fired.forEach(this::addProjectile);
+        }
+    }
+
+
+    /**
+     * Makes the bots think in parallel, on the common fork-join pool
+     *
+     * Worth it for matches with many bots. Each bot draws from its own random
+     * stream, so the result is the same as with sequential updates.
+     */
+    public void setParallelBotUpdates(boolean parallelBotUpdates) {
+        this.parallelBotUpdates = parallelBotUpdates;
+    }
+
+
+    /**
+     * Runs the independent stages of each update in parallel, on the common
+     * fork-join pool
+     *
+     * The bots move while the projectiles fly, and some collisions are
+     * detected while others are handled. Each stage only touches state that
+     * no stage running at the same time touches, so the result is the same
+     * as with sequential updates.
+     */
+    public void setParallelStages(boolean parallelStages) {
+        this.parallelStages = parallelStages;
+    }
+
+
+    /**
+     * Keeps the state of the projectiles in a ProjectileStore
+     *
+     * Worth it for matches with lots of projectiles flying around. Must be
+     * called before any projectile is fired.
+     */
+    public void useProjectileStore() {
+        if (!projectiles.isEmpty()) {
+            throw new IllegalStateException("There are projectiles in the game already");
+        }
+
+        this.projectileStore = new ProjectileStore();
+    }
+
+
+    /**
+     * Saves the current state of the game
+     *
+     * Must be called between updates.
+     */
+    public GameSnapshot snapshot() {
+        if (thinking) {
+            throw new IllegalStateException("The game can't be saved while it's being updated");
+        }
+
+        SavedState state = new SavedState();
+        state.now = clock.now();
+        state.ticks = ticks;
+        state.random = random;
+        state.timers = timers;
+        state.bots = new ArrayList<>(bots);
+        state.projectiles = new ArrayList<>(projectiles);
+        state.projectileStore = projectileStore;
+        state.spawnTimes = new HashMap<>(spawnTimes);
+        state.statisticsA = statisticsA;
+        state.statisticsB = statisticsB;
+        state.spawnedA = teamA.getSpawnedBots();
+        state.spawnedB = teamB.getSpawnedBots();
+        state.endedBy = endConditions.indexOf(endedBy);
+
+        List<InventoryItem> items = map.getItems();
+        state.itemsActive = new boolean[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            state.itemsActive[i] = items.get(i).isActive();
+        }
+
+        return new GameSnapshot(this, state);
+    }
+
+
+    /**
+     * Puts the game back in the state saved in a snapshot
+     *
+     * The snapshot may have been taken from this game or from any other game
+     * loaded from the same map and configuration. The end conditions are not
+     * part of the snapshot: the match is only over if it was over when the
+     * snapshot was taken and this game ends with the same condition.
+     */
+    public void restore(GameSnapshot snapshot) {
+        if (thinking) {
+            throw new IllegalStateException("The game can't be restored while it's being updated");
+        }
+
+        SavedState state = (SavedState) snapshot.read(this);
+
+        clock.set(state.now);
+        this.ticks = state.ticks;
+        this.random = state.random;
+        this.timers = state.timers;
+
+        this.bots.clear();
+        this.botGrid.clear();
+        this.movedBots.clear();
+        state.bots.forEach(bot -> {
+            bot.setHandle(this.bots.insert(bot));
+            this.botGrid.insert(bot);
+            this.movedBots.add(bot);
+        });
+        this.projectiles.clear();
+        state.projectiles.forEach(projectile -> projectile.setHandle(this.projectiles.insert(projectile)));
+        this.projectileStore = state.projectileStore;
+
+        this.zombies.clear();
+        this.lostProjectiles.clear();
+        this.firedProjectiles.clear();
+
+        this.spawnTimes.clear();
+        this.spawnTimes.putAll(state.spawnTimes);
+        this.statisticsA.copyFrom(state.statisticsA);
+        this.statisticsB.copyFrom(state.statisticsB);
+        teamA.setSpawnedBots(state.spawnedA);
+        teamB.setSpawnedBots(state.spawnedB);
+        this.endedBy = state.endedBy >= 0 && state.endedBy < endConditions.size()
+                ? endConditions.get(state.endedBy)
+                : null;
+
+        List<InventoryItem> items = map.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).restore(state.itemsActive[i]);
+        }
+
+        if (resourcesLoaded) {
+            bots.forEach(Bot::initResources);
+            projectiles.forEach(Projectile::initResources);
+        }
     }
 
 
@@ -165,6 +635,51 @@ public class Game extends com.golden.gamedev.Game {
     }
 
 
+    /**
+     * Returns the source of random numbers of this match
+     */
+    public RandomStreams getRandom() {
+        return random;
+    }
+
+
+    /**
+     * Seeds the random numbers of this match
+     *
+     * Must be called before any bot is spawned, because each bot takes its
+     * own stream when it is created.
+     */
+    public void setSeed(long seed) {
+        if (!bots.isEmpty()) {
+            throw new IllegalStateException("The game must be seeded before any bot is spawned");
+        }
+
+        this.random = new RandomStreams(seed);
+    }
+
+
+    /**
+     * Returns the timers of this match
+     *
+     * Tasks scheduled here run at the beginning of the update in which they
+     * are due, before the bots think.
+     */
+    public TimingWheel getTimers() {
+        return timers;
+    }
+
+
+    /**
+     * Returns the game clock
+     *
+     * Every component whose behavior depends on time must read it from here,
+     * rather than from the wall clock.
+     */
+    public SimulationClock getClock() {
+        return this.clock;
+    }
+
+
     /**
      * Returns the bots that are still alive
      *
@@ -178,9 +693,18 @@ public class Game extends com.golden.gamedev.Game {
 
     /**
      * Adds a bot to the game
+     *
+     * The bot's sprite is only loaded if the game is being rendered.
      */
     public void addBot(Bot bot) {
-        this.bots.add(bot);
+        bot.setHandle(this.bots.insert(bot));
+        this.botGrid.insert(bot);
+        this.movedBots.add(bot);
+        this.spawnTimes.put(bot, clock.now());
+
+        if (resourcesLoaded) {
+            bot.initResources();
+        }
     }
 
 
@@ -200,9 +724,60 @@ public class Game extends com.golden.gamedev.Game {
      * Returns the bots inside the given circle
      */
     public List<Bot> getBotsInRange(Point center, double radius) {
-        return this.bots.stream()
-                .filter(bot -> center.distanceTo(bot.getLocation()) <= radius)
-                .collect(Collectors.toList());
+        List<Bot> inRange = botGrid.getInRange(center, radius);
+
+        // Keep the order of the bots list, so that the result doesn't depend
+        // on the order in which the bots have entered their cells
+        inRange.sort(Comparator.comparingInt(this::indexOf));
+        return inRange;
+    }
+
+
+    /**
+     * Returns the live bots, bucketed by the cell they are at
+     *
+     * Bots tell the grid when they move (see Bot.moved()).
+     */
+    public SpatialHash<Bot> getBotGrid() {
+        return botGrid;
+    }
+
+
+    /**
+     * Records that a bot has moved
+     *
+     * Bots call this themselves (see Bot.moved()).
+     */
+    public void botMoved(Bot bot) {
+        movedBots.add(bot);
+    }
+
+
+    /**
+     * Returns which bots see which
+     *
+     * It only knows anything while the bots think (see thinkBots()).
+     */
+    public BotVisibility getBotVisibility() {
+        return botVisibility;
+    }
+
+
+    /**
+     * Returns the bots that have moved or joined the game since the end of
+     * the last update, in the order they first did
+     */
+    public Set<Bot> getMovedBots() {
+        return Collections.unmodifiableSet(movedBots);
+    }
+
+
+    /**
+     * Returns the position of a live bot in getBots(), or -1 if the bot
+     * isn't in the game
+     */
+    public int indexOf(Bot bot) {
+        return bots.indexOf(bot.getHandle());
     }
 
 
@@ -216,9 +791,25 @@ public class Game extends com.golden.gamedev.Game {
 
     /**
      * Adds a new projectile to the map
+     *
+     * The projectile's sprite is only loaded if the game is being rendered.
+     * Projectiles fired while the bots are thinking are only added once they
+     * have all finished.
      */
     public void addProjectile(Projectile projectile) {
-        this.projectiles.add(projectile);
+        if (thinking) {
+            firedProjectiles.add(projectile);
+            return;
+        }
+
+        projectile.setHandle(this.projectiles.insert(projectile));
+        if (projectileStore != null) {
+            projectileStore.add(projectile);
+        }
+
+        if (resourcesLoaded) {
+            projectile.initResources();
+        }
     }
 
 
@@ -306,7 +897,20 @@ public class Game extends com.golden.gamedev.Game {
      * Unlike removeBot(), this really removes them!
      */
     void removeDeadBots() {
-        this.bots.removeAll(zombies);
+        long now = clock.now();
+        for (Bot zombie : zombies) {
+            // A bot may be killed more than once in the same iteration, but
+            // its handle is only valid the first time
+            if (this.bots.remove(zombie.getHandle())) {
+                this.botGrid.remove(zombie);
+                Long spawnTime = spawnTimes.remove(zombie);
+                TeamStatistics statistics = statisticsOf(zombie.getTeam());
+                if (spawnTime != null && statistics != null) {
+                    statistics.addDeath(now - spawnTime);
+                }
+            }
+        }
+
         zombies.clear();
     }
 
@@ -317,11 +921,66 @@ public class Game extends com.golden.gamedev.Game {
      * Unlike removeProjectile(), this really removes them!
      */
     void removeLostProjectiles() {
-        this.projectiles.removeAll(lostProjectiles);
+        // Projectiles marked more than once are only removed the first time
+        for (Projectile projectile : lostProjectiles) {
+            if (this.projectiles.remove(projectile.getHandle()) && projectileStore != null) {
+                projectileStore.remove(projectile);
+            }
+        }
+
         lostProjectiles.clear();
     }
 
 
+    /**
+     * Everything that changes during a match, as saved in a GameSnapshot
+     */
+    private static class SavedState implements Serializable {
+
+        /** The simulated time */
+        private long now;
+
+        /** Number of updates so far */
+        private long ticks;
+
+        /** The random number generators */
+        private RandomStreams random;
+
+        /** The scheduled tasks */
+        private TimingWheel timers;
+
+        /** The bots that are alive, in order */
+        private List<Bot> bots;
+
+        /** The projectiles, in order */
+        private List<Projectile> projectiles;
+
+        /** The projectile store, or null */
+        private ProjectileStore projectileStore;
+
+        /** When each live bot was spawned */
+        private java.util.Map<Bot, Long> spawnTimes;
+
+        /** Statistics for the first team */
+        private TeamStatistics statisticsA;
+
+        /** Statistics for the second team */
+        private TeamStatistics statisticsB;
+
+        /** Number of bots spawned by the first team */
+        private int spawnedA;
+
+        /** Number of bots spawned by the second team */
+        private int spawnedB;
+
+        /** The index of the condition that ended the match, or -1 */
+        private int endedBy;
+
+        /** Is each item on the map active? */
+        private boolean[] itemsActive;
+    }
+
+
     /**
      * Creates a simple cell-width x cell-height gray filled image, to
      * be used as the floor
@@ -0,0 +1,254 @@
+package io.github.pureza.warbots.game;
+
+import io.github.pureza.warbots.config.*;
+import io.github.pureza.warbots.entities.InventoryItem;
+import io.github.pureza.warbots.entities.StaticEntity;
+import io.github.pureza.warbots.weaponry.WeaponBuilder;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The saved state of a running game
+ *
+ * A snapshot captures everything that changes while a match is played: the
+ * clock, the bots (with their memory, goals and weapons), the projectiles in
+ * flight, the inventory items' timers, the teams' statistics and the position
+ * of every random stream. It can be restored into the game it was taken from,
+ * to go back in time, or into any other game loaded from the same map and
+ * configuration, to fork the match into independent continuations.
+ *
+ * The state is kept in memory as a compact byte array, written with Java
+ * serialization. What never changes during a match isn't copied: the game,
+ * its map and its teams are written as references to whatever game the
+ * snapshot is restored into, inventory items as their index on the map, and
+ * the configuration (along with the weapon builders and the walls) is shared
+ * by all the copies.
+ *
+ * Snapshots are immutable, so the same snapshot can be restored by many
+ * threads at the same time, as long as each one restores it into its own game.
+ */
+public class GameSnapshot {
+
+    /** The serialized state */
+    private final byte[] data;
+
+    /** Immutable objects referenced by the state, which are never copied */
+    private final List<Object> shared = new ArrayList<>();
+
+    /** The width of the map */
+    private final int width;
+
+    /** The height of the map */
+    private final int height;
+
+    /** Number of inventory items on the map */
+    private final int items;
+
+
+    /**
+     * Saves the state of a game
+     *
+     * @param game the game
+     * @param state everything that changes in the game, as put together by
+     *              the game itself
+     */
+    GameSnapshot(Game game, Serializable state) {
+        this.width = game.getMap().width();
+        this.height = game.getMap().height();
+        this.items = game.getMap().getItems().size();
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new SnapshotOutputStream(bytes, game)) {
+                out.writeObject(state);
+            }
+
+            this.data = bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to save the state of the game", e);
+        }
+    }
+
+
+    /**
+     * Returns a fresh copy of the saved state, wired to the given game
+     *
+     * @throws IllegalArgumentException if the game has a different map
+     */
+    Object read(Game game) {
+        if (game.getMap().width() != width || game.getMap().height() != height
+                || game.getMap().getItems().size() != items) {
+            throw new IllegalArgumentException("The snapshot was taken from a game with a different map");
+        }
+
+        try (ObjectInputStream in = new SnapshotInputStream(new ByteArrayInputStream(data), game)) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Unable to restore the state of the game", e);
+        }
+    }
+
+
+    /**
+     * Forks the match into a new game
+     *
+     * @param newGame creates the game that will continue the match. It must
+     *                be loaded from the same map and configuration as the
+     *                original game
+     */
+    public Game fork(Supplier<? extends Game> newGame) {
+        Game game = newGame.get();
+        game.restore(this);
+        return game;
+    }
+
+
+    /**
+     * Returns the size of the saved state, in bytes
+     */
+    public int size() {
+        return data.length;
+    }
+
+
+    /**
+     * Checks if an object never changes during a match, and can be shared by
+     * all the copies of the game
+     */
+    private static boolean isShared(Object obj) {
+        return obj instanceof Config
+                || obj instanceof BotConfig
+                || obj instanceof WeaponConfig
+                || obj instanceof ProjectileConfig
+                || obj instanceof WeaponItemConfig
+                || obj instanceof FirstAidItemConfig
+                || obj instanceof WeaponBuilder
+                || obj instanceof StaticEntity;
+    }
+
+
+    /**
+     * What a reference points to
+     */
+    private enum Kind {
+        GAME, MAP, TEAM_A, TEAM_B, ITEM, SHARED
+    }
+
+
+    /**
+     * Takes the place of an object that isn't copied
+     */
+    private static class Reference implements Serializable {
+
+        /** What the reference points to */
+        private final Kind kind;
+
+        /** The index of the item or of the shared object */
+        private final int index;
+
+
+        Reference(Kind kind, int index) {
+            this.kind = kind;
+            this.index = index;
+        }
+    }
+
+
+    /**
+     * Writes references instead of the objects that aren't copied
+     */
+    private class SnapshotOutputStream extends ObjectOutputStream {
+
+        /** The game being saved */
+        private final Game game;
+
+        /** The index of each inventory item on the map */
+        private final java.util.Map<Object, Integer> items = new IdentityHashMap<>();
+
+        /** The index of each shared object */
+        private final java.util.Map<Object, Integer> sharedIndices = new IdentityHashMap<>();
+
+
+        SnapshotOutputStream(OutputStream out, Game game) throws IOException {
+            super(out);
+            this.game = game;
+
+            List<InventoryItem> mapItems = game.getMap().getItems();
+            for (int i = 0; i < mapItems.size(); i++) {
+                items.put(mapItems.get(i), i);
+            }
+
+            enableReplaceObject(true);
+        }
+
+
+        @Override
+        protected Object replaceObject(Object obj) {
+            if (obj == game) {
+                return new Reference(Kind.GAME, 0);
+            } else if (obj == game.getMap()) {
+                return new Reference(Kind.MAP, 0);
+            } else if (obj == game.getTeamA()) {
+                return new Reference(Kind.TEAM_A, 0);
+            } else if (obj == game.getTeamB()) {
+                return new Reference(Kind.TEAM_B, 0);
+            } else if (obj instanceof InventoryItem && items.containsKey(obj)) {
+                return new Reference(Kind.ITEM, items.get(obj));
+            } else if (isShared(obj)) {
+                return new Reference(Kind.SHARED, sharedIndices.computeIfAbsent(obj, o -> {
+                    shared.add(o);
+                    return shared.size() - 1;
+                }));
+            }
+
+            return obj;
+        }
+    }
+
+
+    /**
+     * Replaces the references with the objects of the game being restored
+     */
+    private class SnapshotInputStream extends ObjectInputStream {
+
+        /** The game being restored */
+        private final Game game;
+
+
+        SnapshotInputStream(InputStream in, Game game) throws IOException {
+            super(in);
+            this.game = game;
+            enableResolveObject(true);
+        }
+
+
+        @Override
+        protected Object resolveObject(Object obj) {
+            if (!(obj instanceof Reference)) {
+                return obj;
+            }
+
+            Reference reference = (Reference) obj;
+            switch (reference.kind) {
+                case GAME:
+                    return game;
+                case MAP:
+                    return game.getMap();
+                case TEAM_A:
+                    return game.getTeamA();
+                case TEAM_B:
+                    return game.getTeamB();
+                case ITEM:
+                    return game.getMap().getItems().get(reference.index);
+                case SHARED:
+                    return shared.get(reference.index);
+                default:
+                    throw new AssertionError(reference.kind);
+            }
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package io.github.pureza.warbots.game;
+
+import io.github.pureza.warbots.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays many independent matches on a pool of worker processes
+ *
+ * Unlike the MatchRunner, which plays every match inside the current JVM,
+ * the farm launches a number of MatchWorker JVMs and talks to each of them
+ * through its standard input and output, using the compact binary
+ * MatchProtocol. Each worker has its own heap and its own garbage collector,
+ * and a worker that crashes takes down only the match it was playing: that
+ * match goes back to the queue and is given to another (or a new) worker.
+ *
+ * All the workers use the same configuration, loaded from the same file as
+ * the farm's, so jobs must be created with getConfig().
+ */
+public class MatchFarm {
+
+    /** The logger */
+    private static final Logger logger = LoggerFactory.getLogger(MatchFarm.class);
+
+    /** How many times a job is attempted before the farm gives up on it */
+    static final int MAX_ATTEMPTS = 3;
+
+    /** How long to wait for a worker to exit after it has no more jobs, in ms */
+    private static final long SHUTDOWN_TIMEOUT = 5000;
+
+    /** Number of worker processes */
+    private final int workers;
+
+    /** The configuration file passed to the workers, or null for the bundled one */
+    private final String configFile;
+
+    /** Extra options for the worker JVMs (such as -Xmx) */
+    private final List<String> jvmOptions;
+
+    /** The configuration shared by the farm and all of its workers */
+    private final Config config;
+
+
+    /**
+     * Creates a farm with one worker per core, using the bundled configuration
+     */
+    public MatchFarm() throws IOException {
+        this(Runtime.getRuntime().availableProcessors(), null, Collections.emptyList());
+    }
+
+
+    /**
+     * Creates a farm
+     *
+     * @param workers number of worker processes
+     * @param configFile the configuration file, or null for the bundled one
+     * @param jvmOptions extra options for the worker JVMs
+     */
+    public MatchFarm(int workers, String configFile, List<String> jvmOptions) throws IOException {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("The farm needs at least one worker, but got " + workers);
+        }
+
+        this.workers = workers;
+        this.configFile = configFile;
+        this.jvmOptions = new ArrayList<>(jvmOptions);
+        this.config = MatchWorker.loadConfig(configFile);
+    }
+
+
+    /**
+     * Returns the configuration used by the workers
+     */
+    public Config getConfig() {
+        return config;
+    }
+
+
+    /**
+     * Plays all the jobs and returns their results, in the same order
+     *
+     * Blocks until all the matches have finished. Jobs that were being played
+     * by a worker that crashed are given to another worker, up to
+     * MAX_ATTEMPTS times. If a job still can't be played, or if a worker
+     * reports that it failed, the whole run fails.
+     */
+    public List<MatchResult> run(List<MatchJob> jobs) {
+        for (MatchJob job : jobs) {
+            if (job.getConfig() != config) {
+                throw new IllegalArgumentException("Jobs must use the farm's configuration, but got " + job);
+            }
+        }
+
+        Run run = new Run(jobs);
+        List<Thread> feeders = new ArrayList<>();
+        for (int i = 0; i < Math.min(workers, jobs.size()); i++) {
+            Thread feeder = new Thread(run::feed, "match-farm-feeder-" + i);
+            feeder.setDaemon(true);
+            feeder.start();
+            feeders.add(feeder);
+        }
+
+        try {
+            for (Thread feeder : feeders) {
+                feeder.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.fail(new IllegalStateException("Interrupted while waiting for the matches", e));
+            feeders.forEach(Thread::interrupt);
+        }
+
+        return run.results();
+    }
+
+
+    /**
+     * Returns the command line that launches a worker process
+     */
+    List<String> workerCommand() {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(MatchWorker.class.getName());
+        if (configFile != null) {
+            command.add(configFile);
+        }
+
+        return command;
+    }
+
+
+    /**
+     * The state of a single call to run()
+     *
+     * Each feeder thread owns one worker process at a time and keeps exactly
+     * one job in flight on it. Jobs are taken from a shared queue, so faster
+     * workers naturally get more of them.
+     */
+    private class Run {
+
+        /** The jobs being played */
+        private final List<MatchJob> jobs;
+
+        /** Indices of the jobs that haven't been played yet */
+        private final LinkedBlockingDeque<Integer> pending = new LinkedBlockingDeque<>();
+
+        /** The results, by job index */
+        private final MatchResult[] results;
+
+        /** Number of attempts made so far, by job index */
+        private final int[] attempts;
+
+        /** Number of jobs that are not finished yet */
+        private int unfinished;
+
+        /** The first error, which aborts the run */
+        private RuntimeException error;
+
+
+        Run(List<MatchJob> jobs) {
+            this.jobs = jobs;
+            this.results = new MatchResult[jobs.size()];
+            this.attempts = new int[jobs.size()];
+            this.unfinished = jobs.size();
+            for (int i = 0; i < jobs.size(); i++) {
+                pending.add(i);
+            }
+        }
+
+
+        /**
+         * The body of a feeder thread
+         */
+        void feed() {
+            Worker worker = null;
+            try {
+                Integer index;
+                while ((index = next()) != null) {
+                    if (worker == null) {
+                        worker = new Worker();
+                    }
+
+                    MatchJob job = jobs.get(index);
+                    try {
+                        finished(index, worker.play(index, job));
+                    } catch (IOException e) {
+                        logger.warn("Worker crashed while playing {}", job, e);
+                        worker.kill();
+                        worker = null;
+                        retry(index, e);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                fail(e instanceof RuntimeException ? (RuntimeException) e
+                        : new UncheckedIOException("Unable to launch a worker", (IOException) e));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (worker != null) {
+                    worker.stop();
+                }
+            }
+        }
+
+
+        /**
+         * Waits for the next job to play, or returns null when there are no
+         * more jobs for this feeder
+         */
+        private Integer next() throws InterruptedException {
+            while (true) {
+                synchronized (this) {
+                    if (error != null || unfinished == 0) {
+                        return null;
+                    }
+                }
+
+                // Jobs may still be re-queued by another feeder whose worker crashed
+                Integer index = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (index != null) {
+                    return index;
+                }
+            }
+        }
+
+
+        private synchronized void finished(int index, MatchResult result) {
+            results[index] = result;
+            unfinished--;
+        }
+
+
+        private void retry(int index, IOException cause) {
+            synchronized (this) {
+                if (++attempts[index] >= MAX_ATTEMPTS) {
+                    fail(new UncheckedIOException("Giving up on " + jobs.get(index)
+                            + " after " + attempts[index] + " attempts", cause));
+                    return;
+                }
+            }
+
+            pending.addFirst(index);
+        }
+
+
+        synchronized void fail(RuntimeException e) {
+            if (error == null) {
+                error = e;
+            }
+        }
+
+
+        synchronized List<MatchResult> results() {
+            if (error != null) {
+                throw error;
+            }
+
+            return Arrays.asList(results);
+        }
+    }
+
+
+    /**
+     * A worker process
+     */
+    private class Worker {
+
+        /** The process */
+        private final Process process;
+
+        /** Where jobs are sent */
+        private final DataOutputStream out;
+
+        /** Where results come from */
+        private final DataInputStream in;
+
+
+        Worker() throws IOException {
+            this.process = new ProcessBuilder(workerCommand())
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            this.out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+            this.in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+        }
+
+
+        /**
+         * Sends a job to the worker and waits for the result
+         *
+         * @throws IOException if the worker dies in the meantime
+         */
+        MatchResult play(int index, MatchJob job) throws IOException {
+            MatchProtocol.writeJob(out, index, job);
+            out.flush();
+
+            int replyIndex = in.readInt();
+            if (replyIndex != index) {
+                throw new IOException("Expected the result of job " + index + ", but got " + replyIndex);
+            }
+
+            return MatchProtocol.readReply(in, job);
+        }
+
+
+        /**
+         * Asks the worker to exit, by closing its standard input
+         */
+        void stop() {
+            try {
+                out.close();
+                if (!process.waitFor(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    logger.warn("Worker didn't exit in time");
+                    kill();
+                }
+            } catch (IOException e) {
+                kill();
+            } catch (InterruptedException e) {
+                kill();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+
+        void kill() {
+            process.destroyForcibly();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.pureza.warbots.game;
+
+import io.github.pureza.warbots.config.Config;
+
+/**
+ * A match to be played by the MatchRunner
+ *
+ * A job is fully described by the map, the configuration and the seed, so
+ * that playing the same job twice gives the same match.
+ */
+public class MatchJob {
+
+    /** The path to the .map file */
+    private final String mapFile;
+
+    /** The game configuration */
+    private final Config config;
+
+    /** The seed for the match's random number generators */
+    private final long seed;
+
+    /** For how long to play the match, in simulated ms */
+    private final long duration;
+
+    /** The time step used to update the game, in ms */
+    private final long timeStep;
+
+    /** The match ends when a team reaches this number of kills (0 for no target) */
+    private final int killTarget;
+
+
+    public MatchJob(String mapFile, Config config, long seed, long duration) {
+        this(mapFile, config, seed, duration, SimulationEngine.DEFAULT_TIME_STEP);
+    }
+
+
+    public MatchJob(String mapFile, Config config, long seed, long duration, long timeStep) {
+        this(mapFile, config, seed, duration, timeStep, 0);
+    }
+
+
+    public MatchJob(String mapFile, Config config, long seed, long duration, long timeStep, int killTarget) {
+        this.mapFile = mapFile;
+        this.config = config;
+        this.seed = seed;
+        this.duration = duration;
+        this.timeStep = timeStep;
+        this.killTarget = killTarget;
+    }
+
+
+    public String getMapFile() {
+        return mapFile;
+    }
+
+
+    public Config getConfig() {
+        return config;
+    }
+
+
+    public long getSeed() {
+        return seed;
+    }
+
+
+    /**
+     * Returns for how long the match is played at most, in simulated ms
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+
+    public long getTimeStep() {
+        return timeStep;
+    }
+
+
+    /**
+     * Returns the number of kills that ends the match, or 0 if there is no
+     * such target
+     */
+    public int getKillTarget() {
+        return killTarget;
+    }
+
+
+    @Override
+    public String toString() {
+        return "MatchJob{" +
+                "mapFile=" + mapFile +
+                ", seed=" + seed +
+                ", duration=" + duration +
+                ", timeStep=" + timeStep +
+                ", killTarget=" + killTarget +
+                '}';
+    }
+}
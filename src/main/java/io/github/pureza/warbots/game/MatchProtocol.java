@@ -0,0 +1,149 @@
+package io.github.pureza.warbots.game;
+
+import io.github.pureza.warbots.config.Config;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The binary protocol spoken between the MatchFarm and its workers
+ *
+ * The farm writes jobs to the standard input of a worker, and the worker
+ * answers through its standard output with exactly one reply per job:
+ *
+ * - Job: index (int), map file (UTF), seed (long), duration (long), time
+ *   step (long) and kill target (int). The configuration is not sent: each
+ *   worker loads it once, when it starts
+ * - Reply: index (int), followed by a status byte. On success, the status
+ *   is followed by the ticks (long), elapsed time (long), the survivors of
+ *   each team (int, int), what ended the match (byte, -1 for nothing), the
+ *   winner (byte) and the statistics of each team (kills and deaths as ints,
+ *   damage and survival time as longs). On failure, it is followed by an
+ *   error message (UTF)
+ *
+ * The index is the position of the job in the list given to the farm.
+ */
+final class MatchProtocol {
+
+    /** The job was played successfully */
+    static final byte SUCCESS = 0;
+
+    /** The job failed, for example because the map doesn't exist */
+    static final byte FAILURE = 1;
+
+
+    /**
+     * This class cannot be instantiated
+     */
+    private MatchProtocol() { }
+
+
+    /**
+     * Writes a job
+     */
+    static void writeJob(DataOutput out, int index, MatchJob job) throws IOException {
+        out.writeInt(index);
+        out.writeUTF(job.getMapFile());
+        out.writeLong(job.getSeed());
+        out.writeLong(job.getDuration());
+        out.writeLong(job.getTimeStep());
+        out.writeInt(job.getKillTarget());
+    }
+
+
+    /**
+     * Reads a job, after its index has already been read
+     */
+    static MatchJob readJob(DataInput in, Config config) throws IOException {
+        String mapFile = in.readUTF();
+        long seed = in.readLong();
+        long duration = in.readLong();
+        long timeStep = in.readLong();
+        int killTarget = in.readInt();
+        return new MatchJob(mapFile, config, seed, duration, timeStep, killTarget);
+    }
+
+
+    /**
+     * Writes the reply to a successful job
+     */
+    static void writeResult(DataOutput out, int index, MatchResult result) throws IOException {
+        out.writeInt(index);
+        out.writeByte(SUCCESS);
+        out.writeLong(result.getTicks());
+        out.writeLong(result.getElapsedTime());
+        out.writeInt(result.getSurvivorsA());
+        out.writeInt(result.getSurvivorsB());
+        out.writeByte(result.getEndedBy() != null ? result.getEndedBy().ordinal() : -1);
+        out.writeByte(result.getWinner().ordinal());
+        writeStatistics(out, result.getStatisticsA());
+        writeStatistics(out, result.getStatisticsB());
+    }
+
+
+    /**
+     * Writes the reply to a job that failed
+     */
+    static void writeFailure(DataOutput out, int index, Throwable error) throws IOException {
+        out.writeInt(index);
+        out.writeByte(FAILURE);
+        out.writeUTF(String.valueOf(error));
+    }
+
+
+    /**
+     * Reads the reply to a job, after its index has already been read
+     *
+     * @throws MatchFailedException if the worker failed to play the job
+     */
+    static MatchResult readReply(DataInput in, MatchJob job) throws IOException {
+        byte status = in.readByte();
+        switch (status) {
+            case SUCCESS:
+                long ticks = in.readLong();
+                long elapsedTime = in.readLong();
+                int survivorsA = in.readInt();
+                int survivorsB = in.readInt();
+                byte endedBy = in.readByte();
+                byte winner = in.readByte();
+                TeamStatistics statisticsA = readStatistics(in);
+                TeamStatistics statisticsB = readStatistics(in);
+                return new MatchResult(job, ticks, elapsedTime, survivorsA, survivorsB,
+                        endedBy >= 0 ? EndCondition.Type.values()[endedBy] : null,
+                        MatchResult.Winner.values()[winner], statisticsA, statisticsB);
+            case FAILURE:
+                throw new MatchFailedException(job, in.readUTF());
+            default:
+                throw new IOException("Unexpected status " + status + " in the reply to " + job);
+        }
+    }
+
+
+    private static void writeStatistics(DataOutput out, TeamStatistics statistics) throws IOException {
+        out.writeInt(statistics.getKills());
+        out.writeInt(statistics.getDeaths());
+        out.writeLong(statistics.getDamageDealt());
+        out.writeLong(statistics.getSurvivalTime());
+    }
+
+
+    private static TeamStatistics readStatistics(DataInput in) throws IOException {
+        int kills = in.readInt();
+        int deaths = in.readInt();
+        long damageDealt = in.readLong();
+        long survivalTime = in.readLong();
+        return new TeamStatistics(kills, deaths, damageDealt, survivalTime);
+    }
+
+
+    /**
+     * Thrown when a worker reports that it couldn't play a job
+     */
+    static class MatchFailedException extends RuntimeException {
+
+        MatchFailedException(MatchJob job, String message) {
+            super("Worker failed to play " + job + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.pureza.warbots.game;
+
+/**
+ * The outcome of a match played by the MatchRunner
+ */
+public class MatchResult {
+
+    /** The job that was played */
+    private final MatchJob job;
+
+    /** Number of updates simulated */
+    private final long ticks;
+
+    /** Simulated time, in ms */
+    private final long elapsedTime;
+
+    /** Bots of the first team still alive at the end */
+    private final int survivorsA;
+
+    /** Bots of the second team still alive at the end */
+    private final int survivorsB;
+
+    /** What ended the match, or null if it was played for the whole duration */
+    private final EndCondition.Type endedBy;
+
+    /** The winner */
+    private final Winner winner;
+
+    /** Statistics for the first team */
+    private final TeamStatistics statisticsA;
+
+    /** Statistics for the second team */
+    private final TeamStatistics statisticsB;
+
+
+    /**
+     * Who won the match
+     */
+    public enum Winner {
+        TEAM_A, TEAM_B, DRAW
+    }
+
+
+    public MatchResult(MatchJob job, long ticks, long elapsedTime, int survivorsA, int survivorsB) {
+        this(job, ticks, elapsedTime, survivorsA, survivorsB, null, Winner.DRAW,
+                new TeamStatistics(), new TeamStatistics());
+    }
+
+
+    public MatchResult(MatchJob job, long ticks, long elapsedTime, int survivorsA, int survivorsB,
+                       EndCondition.Type endedBy, Winner winner,
+                       TeamStatistics statisticsA, TeamStatistics statisticsB) {
+        this.job = job;
+        this.ticks = ticks;
+        this.elapsedTime = elapsedTime;
+        this.survivorsA = survivorsA;
+        this.survivorsB = survivorsB;
+        this.endedBy = endedBy;
+        this.winner = winner;
+        this.statisticsA = statisticsA;
+        this.statisticsB = statisticsB;
+    }
+
+
+    public MatchJob getJob() {
+        return job;
+    }
+
+
+    /**
+     * Returns the number of updates simulated
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+
+    /**
+     * Returns the simulated duration of the match, in ms
+     */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+
+    /**
+     * Returns the number of bots of the first team still alive at the end
+     */
+    public int getSurvivorsA() {
+        return survivorsA;
+    }
+
+
+    /**
+     * Returns the number of bots of the second team still alive at the end
+     */
+    public int getSurvivorsB() {
+        return survivorsB;
+    }
+
+
+    /**
+     * Returns what ended the match, or null if it was played for the whole
+     * duration of the job
+     */
+    public EndCondition.Type getEndedBy() {
+        return endedBy;
+    }
+
+
+    public Winner getWinner() {
+        return winner;
+    }
+
+
+    /**
+     * Returns the kills, damage and survival time of the first team
+     */
+    public TeamStatistics getStatisticsA() {
+        return statisticsA;
+    }
+
+
+    /**
+     * Returns the kills, damage and survival time of the second team
+     */
+    public TeamStatistics getStatisticsB() {
+        return statisticsB;
+    }
+
+
+    @Override
+    public String toString() {
+        return "MatchResult{" +
+                "job=" + job +
+                ", ticks=" + ticks +
+                ", elapsedTime=" + elapsedTime +
+                ", survivorsA=" + survivorsA +
+                ", survivorsB=" + survivorsB +
+                ", endedBy=" + endedBy +
+                ", winner=" + winner +
+                ", statisticsA=" + statisticsA +
+                ", statisticsB=" + statisticsB +
+                '}';
+    }
+}
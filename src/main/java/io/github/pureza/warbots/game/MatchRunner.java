@@ -0,0 +1,128 @@
+package io.github.pureza.warbots.game;
+
+import io.github.pureza.warbots.entities.Team;
+import io.github.pureza.warbots.navigation.Parser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+/**
+ * Plays many independent matches at once
+ *
+ * Each match gets its own Game, parsed from scratch from its .map file and
+ * seeded with its own seed, and is simulated headless by a SimulationEngine.
+ * A match ends when one of the teams is eliminated, when the job's kill
+ * target is reached, or when the job's duration has passed.
+ * Matches share nothing but the (immutable) configuration, so they can be
+ * spread across all the cores of the machine.
+ */
+public class MatchRunner {
+
+    /** The logger */
+    private static final Logger logger = LoggerFactory.getLogger(MatchRunner.class);
+
+    /** The pool where the matches run */
+    private final ForkJoinPool pool;
+
+
+    /**
+     * Creates a runner that uses all the available cores
+     */
+    public MatchRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * Creates a runner that plays up to the given number of matches at once
+     */
+    public MatchRunner(int parallelism) {
+        this(new ForkJoinPool(parallelism));
+    }
+
+
+    public MatchRunner(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+
+    /**
+     * Plays all the jobs and returns their results, in the same order
+     *
+     * Blocks until all the matches have finished. If any of them fails, its
+     * exception is re-thrown here.
+     */
+    public List<MatchResult> run(List<MatchJob> jobs) {
+        List<ForkJoinTask<MatchResult>> tasks = jobs.stream()
+                .map(job -> pool.submit(() -> play(job)))
+                .collect(Collectors.toList());
+
+        return tasks.stream()
+                .map(ForkJoinTask::join)
+                .collect(Collectors.toList());
+    }
+
+
+    /**
+     * Plays a single match in the current thread
+     */
+    public static MatchResult play(MatchJob job) {
+        Game game = load(job);
+        SimulationEngine engine = new SimulationEngine(game, job.getTimeStep());
+        engine.runFor(job.getDuration());
+
+        MatchResult result = new MatchResult(job, engine.getTicks(), engine.getElapsedTime(),
+                survivors(game, game.getTeamA()), survivors(game, game.getTeamB()),
+                game.isOver() ? game.getEndedBy().getType() : null, winner(game),
+                game.getStatistics(game.getTeamA()), game.getStatistics(game.getTeamB()));
+        logger.debug("Finished {}", result);
+        return result;
+    }
+
+
+    /**
+     * Creates the game for a job
+     */
+    private static Game load(MatchJob job) {
+        try {
+            Game game = new Parser(job.getConfig()).parse(job.getMapFile());
+            game.setSeed(job.getSeed());
+            game.addEndCondition(EndCondition.teamEliminated());
+            if (job.getKillTarget() > 0) {
+                game.addEndCondition(EndCondition.killTarget(job.getKillTarget()));
+            }
+            return game;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load the .map file " + job.getMapFile(), e);
+        }
+    }
+
+
+    /**
+     * Returns the winner of a game
+     */
+    private static MatchResult.Winner winner(Game game) {
+        Team winner = game.getWinner();
+        if (winner == null) {
+            return MatchResult.Winner.DRAW;
+        }
+
+        return winner == game.getTeamA() ? MatchResult.Winner.TEAM_A : MatchResult.Winner.TEAM_B;
+    }
+
+
+    /**
+     * Counts the bots of a team that are still alive
+     */
+    private static int survivors(Game game, Team team) {
+        return (int) game.getBots().stream()
+                .filter(bot -> bot.getTeam() == team && !bot.isDead())
+                .count();
+    }
+}
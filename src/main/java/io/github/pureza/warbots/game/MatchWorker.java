@@ -0,0 +1,80 @@
+package io.github.pureza.warbots.game;
+
+import io.github.pureza.warbots.config.Config;
+import io.github.pureza.warbots.config.ConfigLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+
+/**
+ * A worker process of the MatchFarm
+ *
+ * Reads jobs from the standard input, plays them one after the other and
+ * writes the results to the standard output, using the MatchProtocol. The
+ * worker terminates when its standard input is closed.
+ *
+ * Usage: MatchWorker [config file]
+ *
+ * Without arguments, the worker uses the bundled configuration.
+ */
+public class MatchWorker {
+
+    /** The logger */
+    private static final Logger logger = LoggerFactory.getLogger(MatchWorker.class);
+
+
+    public static void main(String[] args) throws IOException {
+        // The standard output is reserved for results. Anything else that
+        // is printed goes to the standard error
+        OutputStream results = new FileOutputStream(FileDescriptor.out);
+        System.setOut(System.err);
+
+        Config config = loadConfig(args.length > 0 ? args[0] : null);
+
+        serve(new DataInputStream(new BufferedInputStream(System.in)),
+                new DataOutputStream(new BufferedOutputStream(results)),
+                config);
+    }
+
+
+    /**
+     * Loads the configuration from a file or, if the file is null, from the
+     * bundled application.properties
+     */
+    static Config loadConfig(String configFile) throws IOException {
+        if (configFile == null) {
+            return ConfigLoader.load();
+        }
+
+        try (InputStream in = new FileInputStream(configFile)) {
+            return ConfigLoader.load(in);
+        }
+    }
+
+
+    /**
+     * Plays jobs until the input is exhausted
+     */
+    static void serve(DataInputStream in, DataOutputStream out, Config config) throws IOException {
+        while (true) {
+            int index;
+            try {
+                index = in.readInt();
+            } catch (EOFException e) {
+                // The farm has no more jobs for us
+                return;
+            }
+
+            MatchJob job = MatchProtocol.readJob(in, config);
+            try {
+                MatchProtocol.writeResult(out, index, MatchRunner.play(job));
+            } catch (RuntimeException e) {
+                logger.error("Failed to play {}", job, e);
+                MatchProtocol.writeFailure(out, index, e);
+            }
+
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.pureza.warbots.game;
+
+import java.io.Serializable;
+import java.util.Random;
+
+/**
+ * The source of all randomness in a match
+ *
+ * The match is seeded once, and every component that needs random numbers
+ * (each bot, each weapon, ...) gets its own stream, seeded from this one when
+ * the component is created. Streams are independent from each other and are
+ * never shared between threads, so there is no contention, and a match played
+ * twice with the same seed makes exactly the same random decisions, no matter
+ * how the bots are scheduled.
+ *
+ * Streams are plain java.util.Random instances, rather than SplittableRandom,
+ * because their position must be saved along with the rest of the game (see
+ * GameSnapshot), and SplittableRandom isn't serializable.
+ */
+public class RandomStreams implements Serializable {
+
+    /** The seed used when none is given */
+    public static final long DEFAULT_SEED = 0;
+
+    /** The root stream, which seeds all the others */
+    private final Random root;
+
+    /** The seed */
+    private final long seed;
+
+
+    public RandomStreams(long seed) {
+        this.seed = seed;
+        this.root = new Random(seed);
+    }
+
+
+    /**
+     * Returns a new independent stream
+     *
+     * Streams are handed out in a deterministic sequence, so components must
+     * be created in a deterministic order.
+     */
+    public synchronized Random split() {
+        return new Random(root.nextLong());
+    }
+
+
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.pureza.warbots.game;
+
+/**
+ * The game clock
+ *
+ * The clock measures simulated time, not wall clock time: it only moves
+ * forward when the game is updated, by exactly the amount of time passed to
+ * Game.update(). This keeps time-dependent rules (such as the fire rate of a
+ * weapon) correct no matter how fast the game is being simulated.
+ */
+public class SimulationClock {
+
+    /** Simulated time since the game started, in ms */
+    private long now;
+
+
+    /**
+     * Creates a new clock, starting at time 0
+     */
+    public SimulationClock() {
+        this(0);
+    }
+
+
+    /**
+     * Creates a new clock, starting at the given time
+     */
+    public SimulationClock(long now) {
+        this.now = now;
+    }
+
+
+    /**
+     * Returns the current simulated time, in ms
+     */
+    public long now() {
+        return now;
+    }
+
+
+    /**
+     * Sets the current simulated time, when a game is restored from a
+     * snapshot
+     */
+    void set(long now) {
+        this.now = now;
+    }
+
+
+    /**
+     * Moves the clock forward by dt ms
+     */
+    public void advance(long dt) {
+        if (dt < 0) {
+            throw new IllegalArgumentException("The clock can't go backwards, but got " + dt);
+        }
+
+        this.now += dt;
+    }
+}
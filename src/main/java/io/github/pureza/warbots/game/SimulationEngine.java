@@ -0,0 +1,104 @@
+package io.github.pureza.warbots.game;
+
+/**
+ * Runs a game without the Golden T game loop
+ *
+ * The engine drives exactly the same update pipeline as the graphical version
+ * (spawning, items, bots, projectiles and collisions), but it never loads
+ * sprites, never renders anything and never waits for the next frame. Each
+ * step advances the game by a fixed amount of simulated time, as fast as the
+ * CPU allows.
+ *
+ * This is what we use to run matches on servers without a display.
+ */
+public class SimulationEngine {
+
+    /** The default time step, in ms (about 60 updates per simulated second) */
+    public static final long DEFAULT_TIME_STEP = 16;
+
+    /** The game being simulated */
+    private final Game game;
+
+    /** Simulated time that passes on each step, in ms */
+    private final long timeStep;
+
+    /** Number of steps simulated so far */
+    private long ticks;
+
+    /** Simulated time that has passed since the beginning, in ms */
+    private long elapsedTime;
+
+
+    public SimulationEngine(Game game) {
+        this(game, DEFAULT_TIME_STEP);
+    }
+
+
+    public SimulationEngine(Game game, long timeStep) {
+        if (timeStep <= 0) {
+            throw new IllegalArgumentException("The time step must be positive, but got " + timeStep);
+        }
+
+        this.game = game;
+        this.timeStep = timeStep;
+    }
+
+
+    /**
+     * Advances the game by a single time step
+     */
+    public void step() {
+        game.update(timeStep);
+        ticks++;
+        elapsedTime += timeStep;
+    }
+
+
+    /**
+     * Advances the game by the given number of time steps, or until the match
+     * is over
+     */
+    public void run(long steps) {
+        for (long i = 0; i < steps && !game.isOver(); i++) {
+            step();
+        }
+    }
+
+
+    /**
+     * Advances the game until at least the given amount of simulated time (in
+     * ms) has passed, or until the match is over
+     */
+    public void runFor(long duration) {
+        long end = elapsedTime + duration;
+        while (elapsedTime < end && !game.isOver()) {
+            step();
+        }
+    }
+
+
+    public Game getGame() {
+        return game;
+    }
+
+
+    public long getTimeStep() {
+        return timeStep;
+    }
+
+
+    /**
+     * Returns the number of time steps simulated so far
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+
+    /**
+     * Returns the simulated time that has passed since the beginning, in ms
+     */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.pureza.warbots.game;
+
+import java.io.Serializable;
+
+/**
+ * What a team has achieved during a match
+ *
+ * Only damage inflicted upon enemies counts: friendly fire (for example, a
+ * rocket exploding next to a team mate) is ignored.
+ */
+public class TeamStatistics implements Serializable {
+
+    /** Enemy bots killed by this team */
+    private int kills;
+
+    /** Bots of this team that have died */
+    private int deaths;
+
+    /** Total damage inflicted upon enemy bots */
+    private long damageDealt;
+
+    /** Total time the bots of this team have been alive, in ms */
+    private long survivalTime;
+
+
+    public TeamStatistics() {
+        this(0, 0, 0, 0);
+    }
+
+
+    public TeamStatistics(int kills, int deaths, long damageDealt, long survivalTime) {
+        this.kills = kills;
+        this.deaths = deaths;
+        this.damageDealt = damageDealt;
+        this.survivalTime = survivalTime;
+    }
+
+
+    /**
+     * Records a kill
+     */
+    void addKill() {
+        this.kills++;
+    }
+
+
+    /**
+     * Records the death of a bot that had been alive for the given time
+     */
+    void addDeath(long survivalTime) {
+        this.deaths++;
+        this.survivalTime += survivalTime;
+    }
+
+
+    /**
+     * Records damage inflicted upon an enemy
+     */
+    void addDamage(int damage) {
+        this.damageDealt += damage;
+    }
+
+
+    /**
+     * Overwrites these statistics with a copy of others
+     */
+    void copyFrom(TeamStatistics other) {
+        this.kills = other.kills;
+        this.deaths = other.deaths;
+        this.damageDealt = other.damageDealt;
+        this.survivalTime = other.survivalTime;
+    }
+
+
+    /**
+     * Returns a copy of these statistics, with extra survival time
+     *
+     * Used to account for the bots that are still alive.
+     */
+    TeamStatistics withSurvivalTime(long extraSurvivalTime) {
+        return new TeamStatistics(kills, deaths, damageDealt, survivalTime + extraSurvivalTime);
+    }
+
+
+    public int getKills() {
+        return kills;
+    }
+
+
+    public int getDeaths() {
+        return deaths;
+    }
+
+
+    /**
+     * Returns the total damage inflicted upon enemy bots
+     */
+    public long getDamageDealt() {
+        return damageDealt;
+    }
+
+
+    /**
+     * Returns the total time the bots of this team have been alive, in ms
+     */
+    public long getSurvivalTime() {
+        return survivalTime;
+    }
+
+
+    @Override
+    public String toString() {
+        return "TeamStatistics{" +
+                "kills=" + kills +
+                ", deaths=" + deaths +
+                ", damageDealt=" + damageDealt +
+                ", survivalTime=" + survivalTime +
+                '}';
+    }
+}
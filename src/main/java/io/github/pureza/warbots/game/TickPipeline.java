@@ -0,0 +1,195 @@
+package io.github.pureza.warbots.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongConsumer;
+
+/**
+ * The stages of an update, and the dependencies between them
+ *
+ * Each stage declares the stages it depends on when it is added, so stages
+ * are always added after their dependencies and the order in which they are
+ * added is a valid sequential order. Stages that don't depend on each other,
+ * directly or indirectly, must not touch the same state: when the pipeline
+ * runs on a fork-join pool, they may run at the same time, and the update
+ * only takes as long as its critical path.
+ *
+ * The pipeline measures how long each stage takes, in ns.
+ */
+public class TickPipeline {
+
+    /** The stages, in the order they were added */
+    private final List<Stage> stages = new ArrayList<>();
+
+
+    /**
+     * Adds a new stage
+     *
+     * @param name the stage's name, for reporting
+     * @param work what the stage does, given the time step
+     * @param dependencies the stages that must finish before this one starts
+     * @throws IllegalArgumentException if a dependency belongs to another
+     *                                  pipeline
+     */
+    public Stage add(String name, LongConsumer work, Stage... dependencies) {
+        for (Stage dependency : dependencies) {
+            if (dependency.pipeline != this) {
+                throw new IllegalArgumentException("Stage " + dependency.name + " belongs to another pipeline");
+            }
+        }
+
+        Stage stage = new Stage(this, name, work, Arrays.asList(dependencies));
+        stages.add(stage);
+        return stage;
+    }
+
+
+    /**
+     * Runs all the stages, one after the other, in the order they were added
+     */
+    public void run(long dt) {
+        stages.forEach(stage -> stage.run(dt));
+    }
+
+
+    /**
+     * Runs all the stages on a fork-join pool
+     *
+     * Each stage starts as soon as all its dependencies have finished. If a
+     * stage fails, the stages that depend on it don't run, and its exception
+     * is thrown once all the others have finished.
+     */
+    public void run(long dt, ForkJoinPool pool) {
+        java.util.Map<Stage, CompletableFuture<Void>> futures = new IdentityHashMap<>();
+        for (Stage stage : stages) {
+            CompletableFuture<?>[] dependencies = stage.dependencies.stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture<?>[]::new);
+
+            futures.put(stage, CompletableFuture.allOf(dependencies)
+                    .thenRunAsync(() -> stage.run(dt), pool));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[futures.size()])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+
+    /**
+     * Returns the stages, in the order they were added
+     */
+    public List<Stage> getStages() {
+        return Collections.unmodifiableList(stages);
+    }
+
+
+    /**
+     * Returns how long the last run would take with unlimited threads, in ns
+     *
+     * This is the duration of the longest chain of dependent stages, which
+     * bounds the duration of the run on a fork-join pool.
+     */
+    public long getCriticalPathTime() {
+        java.util.Map<Stage, Long> finish = new IdentityHashMap<>();
+        long longest = 0;
+        for (Stage stage : stages) {
+            long start = stage.dependencies.stream()
+                    .mapToLong(finish::get)
+                    .max()
+                    .orElse(0);
+
+            finish.put(stage, start + stage.lastTime);
+            longest = Math.max(longest, start + stage.lastTime);
+        }
+
+        return longest;
+    }
+
+
+    /**
+     * A stage of the update
+     */
+    public static class Stage {
+
+        /** The pipeline the stage belongs to */
+        private final TickPipeline pipeline;
+
+        /** The stage's name */
+        private final String name;
+
+        /** What the stage does */
+        private final LongConsumer work;
+
+        /** The stages that must finish before this one */
+        private final List<Stage> dependencies;
+
+        /** How long the last run took, in ns */
+        private volatile long lastTime = 0;
+
+        /** How long all the runs took, in ns */
+        private volatile long totalTime = 0;
+
+
+        private Stage(TickPipeline pipeline, String name, LongConsumer work, List<Stage> dependencies) {
+            this.pipeline = pipeline;
+            this.name = name;
+            this.work = work;
+            this.dependencies = dependencies;
+        }
+
+
+        /**
+         * Runs the stage and measures how long it takes
+         */
+        private void run(long dt) {
+            long start = System.nanoTime();
+            try {
+                work.accept(dt);
+            } finally {
+                lastTime = System.nanoTime() - start;
+                totalTime += lastTime;
+            }
+        }
+
+
+        public String getName() {
+            return name;
+        }
+
+
+        public List<Stage> getDependencies() {
+            return Collections.unmodifiableList(dependencies);
+        }
+
+
+        public long getLastTime() {
+            return lastTime;
+        }
+
+
+        public long getTotalTime() {
+            return totalTime;
+        }
+
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
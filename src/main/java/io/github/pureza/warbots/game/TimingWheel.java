@@ -0,0 +1,253 @@
+package io.github.pureza.warbots.game;
+
+import java.io.Serializable;
+
+/**
+ * Runs tasks at given instants of simulated time
+ *
+ * This is a hierarchical timing wheel: each level is a ring of 64 slots, and
+ * each slot of a level spans 64 times as much time as a slot of the level
+ * below. A timer is put on the lowest level whose ring covers its deadline,
+ * and moves down a level every time the wheel turns past its slot on the
+ * current one, until it reaches the first level and fires. Scheduling and
+ * cancelling take constant time, and a wheel with no timers costs nothing,
+ * no matter how far the clock moves.
+ *
+ * Time is measured in ms, with the same origin as the SimulationClock. Timers
+ * fire in the order of their deadlines. Timers with the same deadline fire in
+ * a deterministic order, which doesn't depend on the timers' identity.
+ *
+ * Tasks are saved along with the rest of the game in a GameSnapshot, so they
+ * must be serializable.
+ */
+public class TimingWheel implements Serializable {
+
+    /** log2 of the number of slots on each level */
+    private static final int BITS = 6;
+
+    /** Number of slots on each level */
+    private static final int SLOTS = 1 << BITS;
+
+    /** Number of levels. Together, they cover 2^48 ms (almost 9000 years) */
+    private static final int LEVELS = 8;
+
+    /**
+     * The first timer in each slot, by level
+     *
+     * The timers in each slot form a linked list.
+     */
+    private final Timer[][] heads = new Timer[LEVELS][SLOTS];
+
+    /** The last timer in each slot, by level */
+    private final Timer[][] tails = new Timer[LEVELS][SLOTS];
+
+    /** The time up to which all due timers have fired */
+    private long current;
+
+    /** Number of timers waiting to fire */
+    private int size = 0;
+
+
+    /**
+     * Creates a new wheel, starting at time 0
+     */
+    public TimingWheel() {
+        this(0);
+    }
+
+
+    /**
+     * Creates a new wheel, starting at the given time
+     */
+    public TimingWheel(long now) {
+        this.current = now;
+    }
+
+
+    /**
+     * Schedules a task to run at the given time
+     *
+     * Tasks scheduled for a time that has already passed run on the next
+     * call to advanceTo().
+     *
+     * @return the timer, which can be used to cancel the task
+     */
+    public Timer schedule(long deadline, Task task) {
+        Timer timer = new Timer(Math.max(deadline, current + 1), task);
+        insert(timer);
+        size++;
+        return timer;
+    }
+
+
+    /**
+     * Moves the wheel forward, running all the tasks due until the given time
+     * (inclusive)
+     *
+     * Tasks may schedule new timers, which fire in this same call if they are
+     * due.
+     */
+    public void advanceTo(long now) {
+        while (current < now) {
+            if (size == 0) {
+                // Nothing to do while the wheel is empty
+                current = now;
+                return;
+            }
+
+            current++;
+
+            // Bring down the timers from the levels above whose slot the wheel
+            // has just entered, from the top, so that they end up on the
+            // first level if they are due right now
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((current & ((1L << (BITS * level)) - 1)) == 0) {
+                    cascade(level, slot(current, level));
+                }
+            }
+
+            fire(slot(current, 0));
+        }
+    }
+
+
+    /**
+     * Returns the number of timers waiting to fire
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Returns the time up to which all due tasks have run
+     */
+    public long now() {
+        return current;
+    }
+
+
+    /**
+     * Puts a timer on the lowest level that covers its deadline
+     */
+    private void insert(Timer timer) {
+        int level = 0;
+        while (level < LEVELS - 1 && (timer.deadline >>> (BITS * (level + 1))) != (current >>> (BITS * (level + 1)))) {
+            level++;
+        }
+
+        int slot = slot(timer.deadline, level);
+        timer.next = null;
+        if (tails[level][slot] == null) {
+            heads[level][slot] = timer;
+        } else {
+            tails[level][slot].next = timer;
+        }
+
+        tails[level][slot] = timer;
+    }
+
+
+    /**
+     * Moves the timers of a slot to the levels below
+     */
+    private void cascade(int level, int slot) {
+        Timer timer = detach(level, slot);
+        while (timer != null) {
+            Timer next = timer.next;
+            if (!timer.cancelled) {
+                insert(timer);
+            }
+
+            timer = next;
+        }
+    }
+
+
+    /**
+     * Runs the tasks of a slot of the first level
+     */
+    private void fire(int slot) {
+        Timer timer = detach(0, slot);
+        while (timer != null) {
+            Timer next = timer.next;
+            if (!timer.cancelled) {
+                assert timer.deadline == current;
+                timer.cancelled = true;
+                size--;
+                timer.task.run();
+            }
+
+            timer = next;
+        }
+    }
+
+
+    /**
+     * Empties a slot and returns its first timer
+     */
+    private Timer detach(int level, int slot) {
+        Timer head = heads[level][slot];
+        heads[level][slot] = null;
+        tails[level][slot] = null;
+        return head;
+    }
+
+
+    private static int slot(long time, int level) {
+        return (int) (time >>> (BITS * level)) & (SLOTS - 1);
+    }
+
+
+    /**
+     * Something to do at some point in time
+     */
+    public interface Task extends Runnable, Serializable {
+    }
+
+
+    /**
+     * A scheduled task
+     */
+    public class Timer implements Serializable {
+
+        /** When the task should run */
+        private final long deadline;
+
+        /** The task */
+        private final Task task;
+
+        /** Has the timer been cancelled, or has it fired already? */
+        private boolean cancelled = false;
+
+        /** The next timer in the same slot */
+        private Timer next;
+
+
+        private Timer(long deadline, Task task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+
+        /**
+         * Cancels the task, unless it has already run
+         *
+         * Returns true if the task was cancelled.
+         */
+        public boolean cancel() {
+            if (cancelled) {
+                return false;
+            }
+
+            cancelled = true;
+            size--;
+            return true;
+        }
+
+
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package io.github.pureza.warbots.geometry;
 
+import java.io.Serializable;
 import java.util.Objects;
 
 
 /**
  * The point class represents a location in our 2D grid-based environment.
  */
-public class Point {
+public class Point implements Serializable {
 
 
     /**
@@ -1,10 +1,12 @@
 package io.github.pureza.warbots.geometry;
 
+import java.io.Serializable;
+
 
 /**
  * Just a simple size - something with a width and a height.
  */
-public class Size {
+public class Size implements Serializable {
 
     /** The width */
     private final int width;
@@ -1,12 +1,13 @@
 package io.github.pureza.warbots.geometry;
 
+import java.io.Serializable;
 import java.util.Objects;
 
 
 /**
  * A vector
  */
-public class Vector {
+public class Vector implements Serializable {
 
     /**
      * Creates a new vector with the given components
@@ -3,12 +3,14 @@ package io.github.pureza.warbots.memory;
 
 import io.github.pureza.warbots.entities.Bot;
 
+import java.io.Serializable;
+
 import java.util.*;
 
 /**
  * The part of the bot's memory that deals with enemy bots
  */
-public class BotMemory {
+public class BotMemory implements Serializable {
 
     /** For how long do records for bots currently out of sight stay in memory? */
     public static final long DURATION = 10000;
@@ -2,10 +2,12 @@ package io.github.pureza.warbots.memory;
 
 import io.github.pureza.warbots.geometry.Point;
 
+import java.io.Serializable;
+
 /**
  * The memory record for an enemy bot
  */
-public class BotMemoryRecord {
+public class BotMemoryRecord implements Serializable {
 
     /** The location where I last saw this bot */
     private Point lastKnownLocation;
@@ -4,6 +4,7 @@ package io.github.pureza.warbots.memory;
 import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.entities.InventoryItem;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -11,7 +12,7 @@ import java.util.Map;
 /**
  * The part of the bot's memory that deals with items
  */
-public class ItemMemory {
+public class ItemMemory implements Serializable {
 
     /** The bot the memory belongs to */
     private final Bot bot;
@@ -19,6 +20,9 @@ public class ItemMemory {
     /** Memory records for the items */
     private final Map<InventoryItem, ItemMemoryRecord> records;
 
+    /** The time that has passed since the memory was created */
+    private long time = 0;
+
 
     public ItemMemory(Bot bot) {
         this(bot, bot.getGame().getMap().getItems());
@@ -40,22 +44,35 @@ public class ItemMemory {
 
     /**
      * Updates the memory
+     *
+     * Only the items that may be seen from where the bot is are checked
+     * against its field of view (see Map.getItemsVisibleFrom()), and only the
+     * records of the items the bot sees are updated. The others catch up with
+     * the time that has passed when they are read.
      */
     public void update(long dt) {
-        records.forEach((item, record) -> {
-            boolean visible = bot.isInFov(item);
-            boolean isActive = visible && item.isActive();
-            record.update(dt, visible, isActive);
-        });
+        time += dt;
+        for (InventoryItem item : bot.getGame().getMap().getItemsVisibleFrom(bot.getLocation())) {
+            ItemMemoryRecord record = records.get(item);
+            if (record != null && bot.isInFov(item)) {
+                record.updateAt(time, dt, true, item.isActive());
+            }
+        }
     }
 
 
     public ItemMemoryRecord get(InventoryItem item) {
-        return records.get(item);
+        ItemMemoryRecord record = records.get(item);
+        if (record != null) {
+            record.catchUp(time);
+        }
+
+        return record;
     }
 
 
     public Map<InventoryItem, ItemMemoryRecord> getRecords() {
+        records.values().forEach(record -> record.catchUp(time));
         return records;
     }
 }
@@ -1,10 +1,12 @@
 package io.github.pureza.warbots.memory;
 
+import java.io.Serializable;
+
 
 /**
  * Record containing the information a bot remembers about an item
  */
-public class ItemMemoryRecord {
+public class ItemMemoryRecord implements Serializable {
 
     /**
      * The states the record can be in
@@ -38,6 +40,12 @@ public class ItemMemoryRecord {
      */
     private Long timeHasBeenVisible;
 
+    /**
+     * When the record was last brought up to date, in the time of the memory
+     * it belongs to, or -1 if it never was (see ItemMemory)
+     */
+    private long updatedAt = -1;
+
 
     public ItemMemoryRecord(long activationInterval, State initialState) {
         this.activationInterval = activationInterval;
@@ -146,6 +154,37 @@ public class ItemMemoryRecord {
     }
 
 
+    /**
+     * Updates the record at the given time of the memory it belongs to
+     *
+     * The time that has passed since the record was last brought up to date,
+     * apart from the last dt, is taken into account first, as time during
+     * which the item wasn't seen.
+     */
+    void updateAt(long now, long dt, boolean visible, boolean isActive) {
+        catchUp(now - dt);
+        update(dt, visible, isActive);
+        this.updatedAt = now;
+    }
+
+
+    /**
+     * Brings the record up to the given time of the memory it belongs to,
+     * during which the item wasn't seen
+     *
+     * Not seeing an item for a while has the same effect on the record as not
+     * seeing it on each of the updates in between, so the records of the
+     * items out of sight don't need to be updated until they are read.
+     */
+    void catchUp(long now) {
+        if (updatedAt >= 0 && now > updatedAt) {
+            update(now - updatedAt, false, false);
+        }
+
+        this.updatedAt = now;
+    }
+
+
     /**
      * Tell the memory that the item was caught by the same bot it belongs to
      *
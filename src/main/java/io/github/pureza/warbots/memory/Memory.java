@@ -3,10 +3,12 @@ package io.github.pureza.warbots.memory;
 import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.entities.InventoryItem;
 
+import java.io.Serializable;
+
 /**
  * The bot's memory
  */
-public class Memory {
+public class Memory implements Serializable {
 
     /** Memory related to enemy bots */
     private BotMemory botMemory;
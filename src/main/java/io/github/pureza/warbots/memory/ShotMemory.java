@@ -3,10 +3,12 @@ package io.github.pureza.warbots.memory;
 import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.geometry.Vector;
 
+import java.io.Serializable;
+
 /**
  * Remembers when the bot was shot for the last time
  */
-public class ShotMemory {
+public class ShotMemory implements Serializable {
 
     /** For how long does the bot remember the last time it was hit? */
     public static final long DURATION = 1000;
@@ -0,0 +1,108 @@
+package io.github.pureza.warbots.navigation;
+
+/**
+ * How far each cell of a map is from the nearest wall
+ *
+ * The clearance of a free cell is the number of rings of free cells around
+ * it, i.e., the chessboard distance to the nearest wall minus one. No point
+ * inside a cell is closer to a wall than its clearance, so a circle centered
+ * anywhere in a cell with a smaller radius can't touch any wall.
+ *
+ * The field is only valid for the walls it was built for. Clearances larger
+ * than MAX_CLEARANCE are stored as MAX_CLEARANCE.
+ */
+class ClearanceField {
+
+    /** The largest clearance stored */
+    static final int MAX_CLEARANCE = Byte.MAX_VALUE;
+
+    /** Number of columns, including the walls around the map */
+    private final int columns;
+
+    /** Number of rows, including the walls around the map */
+    private final int rows;
+
+    /** The clearance of each cell, by row and then column, or -1 for walls */
+    private final byte[] clearance;
+
+
+    private ClearanceField(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+        this.clearance = new byte[columns * rows];
+    }
+
+
+    /**
+     * Builds the clearance field of a map
+     *
+     * The chessboard distance to the nearest wall is computed in two passes
+     * over the grid: the first one looks at the neighbours below and to the
+     * left of each cell, and the second one at those above and to the right.
+     */
+    static ClearanceField build(Map map) {
+        int columns = map.width() + 2;
+        int rows = map.height() + 2;
+        int[] distance = new int[columns * rows];
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int cell = row * columns + column;
+                if (!map.isFree(column - 1, row - 1)) {
+                    distance[cell] = 0;
+                } else {
+                    int nearest = Integer.MAX_VALUE - 1;
+                    nearest = Math.min(nearest, distanceAt(distance, columns, rows, column - 1, row));
+                    nearest = Math.min(nearest, distanceAt(distance, columns, rows, column - 1, row - 1));
+                    nearest = Math.min(nearest, distanceAt(distance, columns, rows, column, row - 1));
+                    nearest = Math.min(nearest, distanceAt(distance, columns, rows, column + 1, row - 1));
+                    distance[cell] = nearest + 1;
+                }
+            }
+        }
+
+        ClearanceField field = new ClearanceField(columns, rows);
+        for (int row = rows - 1; row >= 0; row--) {
+            for (int column = columns - 1; column >= 0; column--) {
+                int cell = row * columns + column;
+                int nearest = distance[cell] - 1;
+                nearest = Math.min(nearest, distanceAt(distance, columns, rows, column + 1, row));
+                nearest = Math.min(nearest, distanceAt(distance, columns, rows, column + 1, row + 1));
+                nearest = Math.min(nearest, distanceAt(distance, columns, rows, column, row + 1));
+                nearest = Math.min(nearest, distanceAt(distance, columns, rows, column - 1, row + 1));
+                distance[cell] = nearest + 1;
+                field.clearance[cell] = (byte) Math.min(distance[cell] - 1, MAX_CLEARANCE);
+            }
+        }
+
+        return field;
+    }
+
+
+    /**
+     * Returns the clearance of the cell at (x, y), or -1 if the cell is a wall
+     * or lies outside the map and its walls
+     */
+    int at(int x, int y) {
+        int column = x + 1;
+        int row = y + 1;
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            return -1;
+        }
+
+        return clearance[row * columns + column];
+    }
+
+
+    /**
+     * The distance computed so far for a cell, ignoring cells outside the
+     * grid
+     */
+    private static int distanceAt(int[] distance, int columns, int rows, int column, int row) {
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            return Integer.MAX_VALUE - 1;
+        }
+
+        return distance[row * columns + column];
+    }
+}
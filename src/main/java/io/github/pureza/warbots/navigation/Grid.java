@@ -0,0 +1,166 @@
+package io.github.pureza.warbots.navigation;
+
+import io.github.pureza.warbots.entities.InventoryItem;
+import io.github.pureza.warbots.entities.StaticEntity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * The contents of the cells of a rectangular area
+ *
+ * The cells are not stored as objects. Which cells are occupied by static
+ * entities is kept in a bitset, so checking if a cell is free only reads one
+ * bit. Each distinct entity is kept once, and each cell only keeps the
+ * position of its entity, in two bytes (or four, once there are too many
+ * entities for two). The inventory items are kept by cell index, but only for
+ * the cells that have them.
+ *
+ * Map.Cell is a view over a cell of a grid.
+ */
+class Grid {
+
+    /** The x coordinate of the first column */
+    private final int originX;
+
+    /** The y coordinate of the first row */
+    private final int originY;
+
+    /** Number of columns */
+    private final int columns;
+
+    /** Number of rows */
+    private final int rows;
+
+    /** One bit per cell, set if the cell is occupied by a static entity */
+    private final long[] occupied;
+
+    /** The largest number of entities whose positions fit in two bytes */
+    private static final int MAX_NARROW_ENTITIES = Character.MAX_VALUE;
+
+    /** The distinct static entities, in the order they were first set */
+    private final List<StaticEntity> entities = new ArrayList<>();
+
+    /** The position of each entity in entities */
+    private final IdentityHashMap<StaticEntity, Integer> entityPositions = new IdentityHashMap<>();
+
+    /**
+     * The position of the entity of each cell in entities, plus one, or 0 for
+     * free cells. Null once the positions don't fit in two bytes
+     */
+    private char[] narrowEntityOf;
+
+    /** Like narrowEntityOf, once the positions don't fit in two bytes */
+    private int[] wideEntityOf;
+
+    /** The inventory items, by cell index */
+    private final HashMap<Integer, InventoryItem> items = new HashMap<>();
+
+
+    /**
+     * Creates a grid of columns x rows cells, starting at (originX, originY)
+     */
+    Grid(int originX, int originY, int columns, int rows) {
+        this.originX = originX;
+        this.originY = originY;
+        this.columns = columns;
+        this.rows = rows;
+        this.occupied = new long[(columns * rows + 63) / 64];
+        this.narrowEntityOf = new char[columns * rows];
+    }
+
+
+    /**
+     * Checks if the cell at (x, y) is inside the grid
+     */
+    boolean contains(int x, int y) {
+        return x >= originX && x < originX + columns && y >= originY && y < originY + rows;
+    }
+
+
+    /**
+     * Checks if the cell at (x, y) is not occupied by a static entity
+     *
+     * @throws IndexOutOfBoundsException if the cell is outside the grid
+     */
+    boolean isFree(int x, int y) {
+        int index = indexOf(x, y);
+        return (occupied[index >>> 6] & (1L << index)) == 0;
+    }
+
+
+    /**
+     * Returns the static entity at (x, y), or null if the cell is free
+     */
+    StaticEntity getEntity(int x, int y) {
+        int index = indexOf(x, y);
+        int entity = wideEntityOf != null ? wideEntityOf[index] : narrowEntityOf[index];
+        return entity == 0 ? null : entities.get(entity - 1);
+    }
+
+
+    /**
+     * Sets the static entity at (x, y)
+     */
+    void setEntity(int x, int y, StaticEntity entity) {
+        int index = indexOf(x, y);
+        Integer position = entityPositions.get(entity);
+        if (position == null) {
+            position = entities.size();
+            entities.add(entity);
+            entityPositions.put(entity, position);
+        }
+
+        if (wideEntityOf == null && position + 1 > MAX_NARROW_ENTITIES) {
+            wideEntityOf = new int[narrowEntityOf.length];
+            for (int i = 0; i < narrowEntityOf.length; i++) {
+                wideEntityOf[i] = narrowEntityOf[i];
+            }
+
+            narrowEntityOf = null;
+        }
+
+        if (wideEntityOf != null) {
+            wideEntityOf[index] = position + 1;
+        } else {
+            narrowEntityOf[index] = (char) (position + 1);
+        }
+
+        occupied[index >>> 6] |= 1L << index;
+    }
+
+
+    /**
+     * Returns the inventory item at (x, y), or null if there is none
+     */
+    InventoryItem getItem(int x, int y) {
+        return items.isEmpty() ? null : items.get(indexOf(x, y));
+    }
+
+
+    /**
+     * Sets the inventory item at (x, y)
+     */
+    void setItem(int x, int y, InventoryItem item) {
+        items.put(indexOf(x, y), item);
+    }
+
+
+    /**
+     * Removes the inventory item at (x, y), returning it
+     */
+    InventoryItem removeItem(int x, int y) {
+        return items.remove(indexOf(x, y));
+    }
+
+
+    private int indexOf(int x, int y) {
+        if (!contains(x, y)) {
+            throw new IndexOutOfBoundsException("(" + x + ", " + y + ")");
+        }
+
+        return (y - originY) * columns + (x - originX);
+    }
+}
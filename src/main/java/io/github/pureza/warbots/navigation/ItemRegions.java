@@ -0,0 +1,230 @@
+package io.github.pureza.warbots.navigation;
+
+import io.github.pureza.warbots.entities.InventoryItem;
+import io.github.pureza.warbots.geometry.Point;
+
+import java.util.*;
+
+/**
+ * The items that may be seen from each region of a map, without precomputed
+ * visibility
+ *
+ * The map is split into square regions of REGION_SIZE cells. For each item,
+ * the walls cast shadows away from it, as in shadow casting for field of view:
+ * the lines of cells (columns, or rows) on each side of the item are visited
+ * moving away from it, and the walls of each line hide the range of slopes,
+ * as seen from the item, of the rays that cross them. The part of a region in
+ * a line can't see the item if its whole range of slopes lies inside the
+ * shadow of the lines before it.
+ *
+ * The answer is conservative: an item is only left out of a region if no
+ * point of the region sees it. Rays that only touch walls at a corner aren't
+ * blocked, like in Map.isPathObstructed(), so shadows that only touch each
+ * other are not merged. Regions with the same items share the same list, so
+ * on open maps all of them share one.
+ *
+ * The regions are only valid for the walls and the items they were built for.
+ */
+class ItemRegions {
+
+    /** Width and height of the regions, in cells */
+    static final int REGION_SIZE = 8;
+
+    /** Margin for rounding errors in the slopes */
+    private static final double EPSILON = 1e-9;
+
+    /** Number of regions along the horizontal axis */
+    private final int columns;
+
+    /** The items that may be seen from each region, by row and then column */
+    private final List<List<InventoryItem>> regions;
+
+
+    private ItemRegions(int columns, List<List<InventoryItem>> regions) {
+        this.columns = columns;
+        this.regions = regions;
+    }
+
+
+    /**
+     * Finds the regions of a map that may see each of the given items
+     */
+    static ItemRegions build(Map map, List<InventoryItem> items) {
+        int width = map.width();
+        int height = map.height();
+        int columns = (width + REGION_SIZE - 1) / REGION_SIZE;
+        int rows = (height + REGION_SIZE - 1) / REGION_SIZE;
+
+        // The runs of walls in each column and in each row
+        int[][] columnWalls = new int[width][];
+        for (int x = 0; x < width; x++) {
+            columnWalls[x] = runs(map, x, height, false);
+        }
+
+        int[][] rowWalls = new int[height][];
+        for (int y = 0; y < height; y++) {
+            rowWalls[y] = runs(map, y, width, true);
+        }
+
+        List<List<InventoryItem>> lists = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            lists.add(new ArrayList<>());
+        }
+
+        boolean[] seen = new boolean[columns * rows];
+        for (InventoryItem item : items) {
+            Arrays.fill(seen, false);
+
+            Point location = item.getLocation();
+            int cellX = (int) Math.floor(location.x());
+            int cellY = (int) Math.floor(location.y());
+            seen[(cellY / REGION_SIZE) * columns + cellX / REGION_SIZE] = true;
+
+            // The columns to each side of the item
+            castShadows(location.x(), location.y(), width, 0, height, columnWalls, 1, false, columns, seen);
+            castShadows(location.x(), location.y(), width, 0, height, columnWalls, -1, false, columns, seen);
+
+            // The item's own column, above and below it
+            castShadows(location.y(), location.x(), height, cellX, cellX + 1, rowWalls, 1, true, columns, seen);
+            castShadows(location.y(), location.x(), height, cellX, cellX + 1, rowWalls, -1, true, columns, seen);
+
+            for (int i = 0; i < seen.length; i++) {
+                if (seen[i]) {
+                    lists.get(i).add(item);
+                }
+            }
+        }
+
+        // Share the lists of the regions that see the same items
+        java.util.Map<List<InventoryItem>, List<InventoryItem>> shared = new HashMap<>();
+        List<List<InventoryItem>> regions = new ArrayList<>(lists.size());
+        for (List<InventoryItem> list : lists) {
+            regions.add(shared.computeIfAbsent(list, Collections::unmodifiableList));
+        }
+
+        return new ItemRegions(columns, regions);
+    }
+
+
+    /**
+     * Returns the items that may be seen from the cell at (x, y)
+     */
+    List<InventoryItem> from(int x, int y) {
+        return regions.get((y / REGION_SIZE) * columns + x / REGION_SIZE);
+    }
+
+
+    /**
+     * Marks the regions that may see an item, on one side of it
+     *
+     * The lines are the columns of the map, or its rows if alongRows is set.
+     * Goes through the lines after (step 1) or before (step -1) the item's
+     * line, and checks the cells from..to (exclusive) of each one.
+     *
+     * @param primary the coordinate of the item across the lines
+     * @param secondary the coordinate of the item along the lines
+     * @param lines the number of lines
+     * @param walls the runs of walls in each line
+     */
+    private static void castShadows(double primary, double secondary, int lines, int from, int to,
+                                    int[][] walls, int step, boolean alongRows, int columns, boolean[] seen) {
+        // The shadows, as disjoint open ranges of slopes, by their start
+        TreeMap<Double, Double> shadows = new TreeMap<>();
+
+        for (int line = (int) Math.floor(primary) + step; line >= 0 && line < lines; line += step) {
+            // How far the line is from the item, across the lines
+            double near = step > 0 ? line - primary : primary - (line + 1);
+            double far = near + 1;
+
+            // Lines that touch the item are seen from it, and hide nothing
+            if (near <= 0) {
+                for (int cell = from; cell < to; cell++) {
+                    seen[regionOf(line, cell, alongRows, columns)] = true;
+                }
+
+                continue;
+            }
+
+            // The part of the line in each region
+            for (int start = from; start < to; start = (start / REGION_SIZE + 1) * REGION_SIZE) {
+                int region = regionOf(line, start, alongRows, columns);
+                if (seen[region]) {
+                    continue;
+                }
+
+                int end = Math.min(to, (start / REGION_SIZE + 1) * REGION_SIZE);
+                double low = slope(start - secondary, near, far, true);
+                double high = slope(end - secondary, near, far, false);
+                java.util.Map.Entry<Double, Double> shadow = shadows.lowerEntry(low - EPSILON);
+                if (shadow == null || shadow.getValue() <= high + EPSILON) {
+                    seen[region] = true;
+                }
+            }
+
+            // Only now do the walls of this line hide the lines after it
+            int[] runs = walls[line];
+            for (int i = 0; i < runs.length; i += 2) {
+                addShadow(shadows, slope(runs[i] - secondary, near, far, true),
+                        slope(runs[i + 1] - secondary, near, far, false));
+            }
+        }
+    }
+
+
+    /**
+     * The lowest (or highest) slope of the rays that cross a rectangle at
+     * the given offset along the lines, between near and far across them
+     */
+    private static double slope(double offset, double near, double far, boolean lowest) {
+        if (lowest) {
+            return offset / (offset >= 0 ? far : near);
+        } else {
+            return offset / (offset >= 0 ? near : far);
+        }
+    }
+
+
+    /**
+     * Adds a shadow, merging it with the shadows it overlaps
+     */
+    private static void addShadow(TreeMap<Double, Double> shadows, double low, double high) {
+        java.util.Map.Entry<Double, Double> before = shadows.lowerEntry(high);
+        while (before != null && before.getValue() > low) {
+            low = Math.min(low, before.getKey());
+            high = Math.max(high, before.getValue());
+            shadows.remove(before.getKey());
+            before = shadows.lowerEntry(high);
+        }
+
+        shadows.put(low, high);
+    }
+
+
+    /**
+     * The runs of walls in a column (or in a row, if alongRow is set), as
+     * pairs of first cell and end (exclusive)
+     */
+    private static int[] runs(Map map, int line, int length, boolean alongRow) {
+        List<Integer> runs = new ArrayList<>();
+        int start = -1;
+        for (int cell = 0; cell <= length; cell++) {
+            boolean wall = cell < length && !(alongRow ? map.isFree(cell, line) : map.isFree(line, cell));
+            if (wall && start < 0) {
+                start = cell;
+            } else if (!wall && start >= 0) {
+                runs.add(start);
+                runs.add(cell);
+                start = -1;
+            }
+        }
+
+        return runs.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+
+    private static int regionOf(int line, int cell, boolean alongRows, int columns) {
+        int x = alongRows ? cell : line;
+        int y = alongRows ? line : cell;
+        return (y / REGION_SIZE) * columns + x / REGION_SIZE;
+    }
+}
@@ -21,8 +21,26 @@ import static io.github.pureza.warbots.geometry.Point.pt;
  */
 public class Map {
 
-    /** The map grid - a 2D array of Map.Cells */
-    private final Cell[][] grid;
+    /**
+     * Paths that span more than this many columns or rows are checked against
+     * the wall tree before walking the grid
+     */
+    private static final int LONG_PATH = 16;
+
+    /**
+     * How far a path must go inside a wall, or stay away from all of them,
+     * for the wall tree to settle it without walking the grid
+     */
+    private static final double GRAZE_MARGIN = 1e-6;
+
+    /** The contents of the cells, including the walls around the map */
+    private final Grid grid;
+
+    /** The number of cells along the horizontal axis */
+    private final int width;
+
+    /** The number of cells along the vertical axis */
+    private final int height;
 
     /** The navigational graph of the map */
     private final Graph<Point, Double> navGraph = new Graph<>();
@@ -30,8 +48,48 @@ public class Map {
     /** The items lying around in the floor waiting for someone to pick them up */
     private final List<InventoryItem> items = new ArrayList<>();
 
-    /** Random number generator */
-    private final Random random = new Random(2);
+    /** The first aid kits among the items */
+    private final List<FirstAidItem> firstAidItems = new ArrayList<>();
+
+    /** The weapons among the items */
+    private final List<WeaponItem> weaponItems = new ArrayList<>();
+
+    /** The active first aid kits, in the same order as firstAidItems */
+    private final List<FirstAidItem> activeFirstAidItems = new ArrayList<>();
+
+    /** A read-only view of the active first aid kits */
+    private final List<FirstAidItem> activeFirstAidItemsView = Collections.unmodifiableList(activeFirstAidItems);
+
+    /** The active weapons, in the same order as weaponItems */
+    private final List<WeaponItem> activeWeaponItems = new ArrayList<>();
+
+    /** A read-only view of the active weapons */
+    private final List<WeaponItem> activeWeaponItemsView = Collections.unmodifiableList(activeWeaponItems);
+
+    /**
+     * The items that may be seen from each cell, by row and then column, or
+     * null until needed
+     */
+    private volatile List<List<InventoryItem>> visibleItems;
+
+    /**
+     * The items that may be seen from each region, when there is no
+     * precomputed visibility, or null until needed
+     */
+    private volatile ItemRegions itemRegions;
+
+    /** Precomputed visibility between cells, or null if there is none */
+    private VisibilitySet visibility;
+
+    /** Distance from each cell to the nearest wall, or null until needed */
+    private volatile ClearanceField clearance;
+
+    /** The walls merged into boxes, or null until needed */
+    private volatile WallTree walls;
+
+    /** Stops a traversal at the first wall */
+    private final CellVisitor isFree = this::isFree;
+
 
 
     /**
@@ -42,13 +100,9 @@ public class Map {
             throw new IllegalArgumentException();
         }
 
-        this.grid = new Cell[height + 2][width + 2];
-
-        for (int i = 0; i < height + 2; i++) {
-            for (int j = 0; j < width + 2; j++) {
-                this.grid[i][j] = new Cell(new Point(j - 1, i - 1));
-            }
-        }
+        this.width = width;
+        this.height = height;
+        this.grid = new Grid(-1, -1, width + 2, height + 2);
 
         // Surround the arena with walls
         this.addEntity(new Wall(new Point(-1, -1), new Size(width + 2, 1)));
@@ -74,6 +128,12 @@ public class Map {
                     }
                 }
 
+                // The walls have changed
+                this.visibility = null;
+                this.clearance = null;
+                this.walls = null;
+                this.visibleItems = null;
+                this.itemRegions = null;
                 return true;
             }
 
@@ -95,6 +155,17 @@ public class Map {
         // Only add to this.items if able to add to the cell
         if (this.cellAt(item.getLocation()).setItem(item)) {
             this.items.add(item);
+            if (item instanceof FirstAidItem) {
+                this.firstAidItems.add((FirstAidItem) item);
+            } else if (item instanceof WeaponItem) {
+                this.weaponItems.add((WeaponItem) item);
+            }
+
+            item.setMap(this);
+            activationChanged(item);
+
+            this.visibleItems = null;
+            this.itemRegions = null;
             return true;
         }
 
@@ -109,7 +180,18 @@ public class Map {
      */
     public boolean removeItem(InventoryItem item) {
         cellAt(item.getLocation()).removeItem();
-        return this.items.remove(item);
+        this.firstAidItems.remove(item);
+        this.weaponItems.remove(item);
+        this.visibleItems = null;
+        this.itemRegions = null;
+
+        boolean removed = this.items.remove(item);
+        if (removed) {
+            item.setMap(null);
+            activationChanged(item);
+        }
+
+        return removed;
     }
 
 
@@ -123,23 +205,110 @@ public class Map {
 
     /**
      * Returns the active first aid kits on the map
+     *
+     * The list is a read-only view, which changes as the items are
+     * activated and deactivated.
      */
     public List<FirstAidItem> getFirstAidItems() {
-        return getItems().stream()
-                .filter(item -> item instanceof FirstAidItem && item.isActive())
-                .map(item -> (FirstAidItem) item)
-                .collect(Collectors.toList());
+        return activeFirstAidItemsView;
     }
 
 
     /**
      * Returns the active weapons on the map
+     *
+     * The list is a read-only view, which changes as the items are
+     * activated and deactivated.
      */
     public List<WeaponItem> getWeaponItems() {
-        return getItems().stream()
-                .filter(item -> item instanceof WeaponItem && item.isActive())
-                .map(item -> (WeaponItem) item)
-                .collect(Collectors.toList());
+        return activeWeaponItemsView;
+    }
+
+
+    /**
+     * Keeps the lists of active items up to date, when an item is activated
+     * or deactivated
+     *
+     * Items change much less often than the lists are read, so the list of
+     * the item's kind is simply listed again, which keeps it in the same
+     * order whatever the order of the changes.
+     */
+    public void activationChanged(InventoryItem item) {
+        if (item instanceof FirstAidItem) {
+            listActive(firstAidItems, activeFirstAidItems);
+        } else if (item instanceof WeaponItem) {
+            listActive(weaponItems, activeWeaponItems);
+        }
+    }
+
+
+    private static <T extends InventoryItem> void listActive(List<T> items, List<T> active) {
+        active.clear();
+        for (T item : items) {
+            if (item.isActive()) {
+                active.add(item);
+            }
+        }
+    }
+
+
+    /**
+     * Returns the items that may be seen from a point
+     *
+     * These are all the items, except those that the precomputed visibility
+     * says can't be seen from anywhere in the point's cell. Without
+     * precomputed visibility, the items are those that may be seen from
+     * anywhere in the point's region (see ItemRegions). Outside the map, all
+     * the items are returned. The lists are built for the whole map at once,
+     * the first time they are needed after the items or the walls change.
+     */
+    public List<InventoryItem> getItemsVisibleFrom(Point eye) {
+        if (!isInside(eye)) {
+            return getItems();
+        }
+
+        if (visibility == null) {
+            ItemRegions itemRegions = this.itemRegions;
+            if (itemRegions == null) {
+                itemRegions = ItemRegions.build(this, items);
+                this.itemRegions = itemRegions;
+            }
+
+            return itemRegions.from((int) eye.x(), (int) eye.y());
+        }
+
+        List<List<InventoryItem>> visibleItems = this.visibleItems;
+        if (visibleItems == null) {
+            visibleItems = buildVisibleItems();
+            this.visibleItems = visibleItems;
+        }
+
+        // Note that we don't need to floor the coordinates because we know
+        // the point is inside the map!
+        return visibleItems.get((int) eye.y() * width + (int) eye.x());
+    }
+
+
+    /**
+     * Lists the items that may be seen from each cell
+     */
+    private List<List<InventoryItem>> buildVisibleItems() {
+        List<List<InventoryItem>> visibleItems = new ArrayList<>(width * height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                List<InventoryItem> visible = new ArrayList<>();
+                for (InventoryItem item : items) {
+                    Point location = item.getLocation();
+                    if (!visibility.isBlocked(x, y, (int) floor(location.x()), (int) floor(location.y()))) {
+                        visible.add(item);
+                    }
+                }
+
+                visibleItems.add(Collections.unmodifiableList(visible));
+            }
+        }
+
+        return visibleItems;
     }
 
 
@@ -207,74 +376,306 @@ public class Map {
 
 
     /**
-     * Returns all the cells traversed by a path between two points
+     * Returns all the cells traversed by a path between two points, in the
+     * order they are traversed
      */
     public Set<Cell> pathTransversedCells(Point source, Point target) {
         if (!this.isInside(source) || !this.isInside(target)) {
             throw new IndexOutOfBoundsException(source + " or " + target);
         }
 
-        Set<Cell> cells = new HashSet<>();
+        Set<Cell> cells = new LinkedHashSet<>();
+        traverse(source.x(), source.y(), target.x(), target.y(), (x, y) -> cells.add(cellAt(x, y)));
+        return cells;
+    }
+
+
+    /**
+     * Visits the cells traversed by a path between two points, in order,
+     * until the visitor returns false
+     *
+     * Returns false if the visitor stopped the traversal. Both points must lie
+     * inside the map.
+     */
+    public boolean traverse(Point source, Point target, CellVisitor visitor) {
+        if (!this.isInside(source) || !this.isInside(target)) {
+            throw new IndexOutOfBoundsException(source + " or " + target);
+        }
+
+        return traverse(source.x(), source.y(), target.x(), target.y(), visitor);
+    }
+
+
+    /**
+     * Checks if a path between two points is obstructed by a static entity
+     */
+    public boolean isPathObstructed(Point source, Point target) {
+        return isPathObstructed(source.x(), source.y(), target.x(), target.y());
+    }
+
+
+    private boolean isPathObstructed(double sourceX, double sourceY, double targetX, double targetY) {
+        if (!isInside(sourceX, sourceY) || !isInside(targetX, targetY)) {
+            return true;
+        }
+
+        // The precomputed visibility settles most paths without walking them
+        // Note that we don't need to floor the coordinates because we know
+        // the points are inside the map!
+        if (visibility != null) {
+            int sourceCellX = (int) sourceX;
+            int sourceCellY = (int) sourceY;
+            int targetCellX = (int) targetX;
+            int targetCellY = (int) targetY;
+            if (visibility.isClear(sourceCellX, sourceCellY, targetCellX, targetCellY)) {
+                return false;
+            } else if (visibility.isBlocked(sourceCellX, sourceCellY, targetCellX, targetCellY)) {
+                return true;
+            }
+        }
+
+        // Long paths cross lots of empty cells, but only a few boxes. The
+        // tree settles the paths that go through a wall, or stay away from
+        // all of them, and the paths that graze a wall (through a corner, for
+        // instance) are walked, so that they get the same answer whatever
+        // their length
+        if (Math.abs(targetX - sourceX) > LONG_PATH || Math.abs(targetY - sourceY) > LONG_PATH) {
+            WallTree walls = getWalls();
+            double dx = targetX - sourceX;
+            double dy = targetY - sourceY;
+            if (walls.raycast(sourceX, sourceY, dx, dy, 1, -GRAZE_MARGIN, null) <= 1) {
+                return true;
+            } else if (walls.raycast(sourceX, sourceY, dx, dy, 1, GRAZE_MARGIN, null) > 1) {
+                return false;
+            }
+        }
+
+        return !traverse(sourceX, sourceY, targetX, targetY, isFree);
+    }
+
+
+    /**
+     * Finds the first static entity hit by a ray, up to some distance
+     *
+     * Unlike sweep(), it doesn't walk the cells, but looks for the walls in a
+     * tree of merged boxes, so it is as fast for long rays as for short ones.
+     * The origin may lie anywhere, even outside the map. Returns null if the
+     * ray doesn't hit anything within maxDistance.
+     *
+     * @throws IllegalArgumentException if the direction is the null vector
+     */
+    public RayHit raycast(Point origin, io.github.pureza.warbots.geometry.Vector direction, double maxDistance) {
+        if (direction.isNull()) {
+            throw new IllegalArgumentException("The ray has no direction");
+        }
+
+        io.github.pureza.warbots.geometry.Vector unit = direction.normalize();
+        int[] hit = new int[2];
+        double distance = getWalls().raycast(origin.x(), origin.y(), unit.x(), unit.y(), maxDistance, hit);
+        if (distance == WallTree.MISS) {
+            return null;
+        }
+
+        Point point = pt(origin.x() + unit.x() * distance, origin.y() + unit.y() * distance);
+        return new RayHit(grid.getEntity(hit[0], hit[1]), point, distance);
+    }
+
+
+    /**
+     * Finds where a path first touches a cell occupied by a static entity,
+     * walking the cells it crosses in order
+     *
+     * The target may lie outside the map, in which case the path is sure to
+     * hit the walls around it. Returns null if the path reaches the target
+     * without touching any entity.
+     *
+     * @throws IndexOutOfBoundsException if the source is outside the map
+     */
+    public RayHit sweep(Point source, Point target) {
+        if (!this.isInside(source)) {
+            throw new IndexOutOfBoundsException(source.toString());
+        }
+
+        // There is no need to go further than the middle of the walls around
+        // the map
+        double dx = target.x() - source.x();
+        double dy = target.y() - source.y();
+        double end = Math.min(1, Math.min(exitTime(source.x(), dx, width), exitTime(source.y(), dy, height)));
+
+        int[] hit = new int[2];
+        boolean clear = traverse(source.x(), source.y(), source.x() + dx * end, source.y() + dy * end, (x, y) -> {
+            hit[0] = x;
+            hit[1] = y;
+            return isFree(x, y);
+        });
+
+        if (clear) {
+            return null;
+        }
+
+        // The path enters the cell when it has entered both its column and
+        // its row, unless it starts inside it
+        double entry = 0;
+        if (dx != 0) {
+            entry = Math.max(entry, (hit[0] + (dx > 0 ? 0 : 1) - source.x()) / dx);
+        }
 
-        Cell sourceCell = cellAt(source);
-        Cell targetCell = cellAt(target);
+        if (dy != 0) {
+            entry = Math.max(entry, (hit[1] + (dy > 0 ? 0 : 1) - source.y()) / dy);
+        }
+
+        Point point = pt(source.x() + dx * entry, source.y() + dy * entry);
+        return new RayHit(grid.getEntity(hit[0], hit[1]), point, source.distanceTo(point));
+    }
 
-        // Add the first cell to the list
-        cells.add(cellAt(source));
 
-        // Both points lie in the same cell. Nothing to do!
-        if (sourceCell.equals(targetCell)) {
-            return cells;
+    /**
+     * How far along a path, as a fraction of its length, it reaches the
+     * middle of the walls around the map, along one axis
+     */
+    private static double exitTime(double start, double distance, int size) {
+        if (distance > 0) {
+            return (size + 0.5 - start) / distance;
+        } else if (distance < 0) {
+            return (-0.5 - start) / distance;
+        } else {
+            return Double.POSITIVE_INFINITY;
         }
+    }
 
-        // Path's direction vector
-        io.github.pureza.warbots.geometry.Vector direction = target.minus(source).normalize();
 
-        Cell currentCell = sourceCell;
-        Point previous = source;
-        while (currentCell != null && !currentCell.equals(targetCell)) {
-            // Move the current point forward along the direction vector
-            Point current = previous.plus(direction);
-            currentCell = isInside(current) ? cellAt(current) : null;
+    /**
+     * Walks the grid along a path, visiting each cell it crosses exactly
+     * once (see Amanatides and Woo, "A Fast Voxel Traversal Algorithm for Ray
+     * Tracing")
+     *
+     * At each step, the path moves into the next column or row, depending on
+     * which border it crosses first. When the path goes exactly through a
+     * corner, it moves diagonally and the two cells that share that corner are
+     * not visited. Nothing is allocated.
+     *
+     * The time when the path crosses each border is worked out from the
+     * border itself, rather than by adding up the distance between borders,
+     * so that rounding errors don't pile up and paths between points on the
+     * grid (like the centers of the cells) find their corners exactly.
+     */
+    private boolean traverse(double sourceX, double sourceY, double targetX, double targetY, CellVisitor visitor) {
+        int x = (int) floor(sourceX);
+        int y = (int) floor(sourceY);
+        int lastX = (int) floor(targetX);
+        int lastY = (int) floor(targetY);
+        int stepX = Integer.signum(lastX - x);
+        int stepY = Integer.signum(lastY - y);
+
+        // The next column and row borders the path crosses
+        double dx = targetX - sourceX;
+        double dy = targetY - sourceY;
+        int borderX = x + (stepX > 0 ? 1 : 0);
+        int borderY = y + (stepY > 0 ? 1 : 0);
+
+        if (!visitor.visit(x, y)) {
+            return false;
+        }
 
-            if (currentCell != null) {
-                // We might be adding the same cell twice, but that's ok
-                cells.add(currentCell);
+        // Once the path reaches the last column (or row), it only moves along
+        // the other axis, so rounding errors can't take it past the target
+        while (x != lastX || y != lastY) {
+            // How far along the path, as a fraction of its length, it
+            // crosses the next borders
+            double nextX = x == lastX ? Double.POSITIVE_INFINITY : (borderX - sourceX) / dx;
+            double nextY = y == lastY ? Double.POSITIVE_INFINITY : (borderY - sourceY) / dy;
+
+            if (nextX < nextY) {
+                x += stepX;
+                borderX += stepX;
+            } else if (nextY < nextX) {
+                y += stepY;
+                borderY += stepY;
+            } else {
+                x += stepX;
+                y += stepY;
+                borderX += stepX;
+                borderY += stepY;
             }
 
-            // If the current and previous cells are diagonal to each other, we
-            // have to find out if the path crossed another cell in between
-            // Note that we don't need to floor the coordinates because we know
-            // the points are inside the map!
-            if ((int) previous.x() != (int) current.x() && (int) previous.y() != (int) current.y()) {
-                // First, let's discover which corner they have in common
-                Point corner = new Point((int) Math.max(current.x(), previous.x()), (int) Math.max(current.y(), previous.y()));
-
-                // Project the corner orthogonally onto the line. This point is
-                // inside the cell we are looking for
-                Line line = new Line(previous, direction);
-                Point nearest = line.orthoProject(corner);
-                Cell nearestCell = cellAt(nearest);
-                cells.add(nearestCell);
+            if (!visitor.visit(x, y)) {
+                return false;
             }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Precomputes the visibility between the cells of the map, to speed up
+     * isPathObstructed()
+     *
+     * Must be called again if walls are added afterwards.
+     *
+     * @throws IllegalArgumentException if the map has more cells than
+     *                                  VisibilitySet.MAX_CELLS
+     */
+    public void buildVisibility() {
+        this.visibility = VisibilitySet.build(this);
+        this.visibleItems = null;
+    }
+
+
+    /**
+     * Returns the precomputed visibility between the cells of the map, or
+     * null if there is none
+     */
+    public VisibilitySet getVisibility() {
+        return visibility;
+    }
+
 
-            previous = current;
+    /**
+     * Uses a visibility set built before, for example loaded from disk
+     *
+     * @throws IllegalArgumentException if the set was built for other walls
+     */
+    public void setVisibility(VisibilitySet visibility) {
+        if (visibility != null && !visibility.isValidFor(this)) {
+            throw new IllegalArgumentException("The visibility set was built for a different map");
         }
 
-        return cells;
+        this.visibility = visibility;
+        this.visibleItems = null;
     }
 
 
     /**
-     * Checks if a path between two points is obstructed by a static entity
+     * Returns the walls merged into a tree of boxes, building it the first
+     * time it is needed after the walls change
      */
-    public boolean isPathObstructed(Point source, Point target) {
-        if (!this.isInside(source) || !this.isInside(target)) {
-            return true;
+    WallTree getWalls() {
+        WallTree walls = this.walls;
+        if (walls == null) {
+            walls = WallTree.build(this);
+            this.walls = walls;
+        }
+
+        return walls;
+    }
+
+
+    /**
+     * Returns the distance from each cell to the nearest wall, building it
+     * the first time it is needed after the walls change
+     *
+     * Threads that need it at the same time may build it more than once,
+     * but they all get a complete field.
+     */
+    ClearanceField getClearance() {
+        ClearanceField clearance = this.clearance;
+        if (clearance == null) {
+            clearance = ClearanceField.build(this);
+            this.clearance = clearance;
         }
 
-        return !pathTransversedCells(source, target).stream()
-                .allMatch(Cell::isFree);
+        return clearance;
     }
 
 
@@ -387,23 +788,26 @@ public class Map {
             return true;
         }
 
-        io.github.pureza.warbots.geometry.Vector direction = target.minus(source).normalize();
+        // Far enough from the walls, the whole movement is clear
+        if (isInside(source) && isInside(target)) {
+            ClearanceField clearance = getClearance();
+            if (traverse(source.x(), source.y(), target.x(), target.y(), (x, y) -> clearance.at(x, y) > boundingRadius)) {
+                return true;
+            }
+        }
 
         // Check if the left and right side points of the bounding circle bump
-        // into any wall during the movement
-        Set<Point> referencePoints = getBoundingCircleSides(source, direction, boundingRadius);
-
+        // into any wall during the movement. These are the ends of the
+        // diameter perpendicular to the direction of movement (see
+        // getBoundingCircleSides())
         double distX = target.x() - source.x();
         double distY = target.y() - source.y();
+        double length = Math.sqrt(distX * distX + distY * distY);
+        double sideX = -distY / length * boundingRadius;
+        double sideY = distX / length * boundingRadius;
 
-        for (Point point : referencePoints) {
-            Point displaced = point.displace(distX, distY);
-            if (isPathObstructed(point, displaced)) {
-                return false;
-            }
-        }
-
-        return true;
+        return !isPathObstructed(source.x() + sideX, source.y() + sideY, target.x() + sideX, target.y() + sideY)
+                && !isPathObstructed(source.x() - sideX, source.y() - sideY, target.x() - sideX, target.y() - sideY);
     }
 
 
@@ -412,6 +816,11 @@ public class Map {
      * any wall
      */
     public boolean canStayAt(Point location, double boundingRadius) {
+        // Far enough from the walls, the circle can't touch any of them
+        if (getClearance().at((int) floor(location.x()), (int) floor(location.y())) > boundingRadius) {
+            return true;
+        }
+
         // Check if the circle is penetrating a wall at the end
         return getOccupyingCells(location, boundingRadius).stream().allMatch(point -> cellAt(point).isFree());
     }
@@ -461,7 +870,7 @@ public class Map {
     /**
      * Randomly chooses a free cell on the map and returns its center
      */
-    public Point chooseRandomLocation() {
+    public Point chooseRandomLocation(Random random) {
         Point point;
         do {
             double x = random.nextInt(width());
@@ -531,7 +940,11 @@ public class Map {
      * Returns the cell at position (x, y)
      */
     public Cell cellAt(int x, int y) {
-        return this.grid[y + 1][x + 1];
+        if (!this.grid.contains(x, y)) {
+            throw new IndexOutOfBoundsException("(" + x + ", " + y + ")");
+        }
+
+        return new Cell(this.grid, x, y);
     }
 
 
@@ -539,7 +952,16 @@ public class Map {
      * Returns the cell at the position given by the point
      */
     public Cell cellAt(Point point) {
-        return this.grid[(int) floor(point.y()) + 1][(int) floor(point.x()) + 1];
+        return cellAt((int) floor(point.x()), (int) floor(point.y()));
+    }
+
+
+    /**
+     * Checks if the cell at position (x, y) is free, without creating a view
+     * of the cell
+     */
+    public boolean isFree(int x, int y) {
+        return this.grid.isFree(x, y);
     }
 
 
@@ -547,7 +969,7 @@ public class Map {
      * The number of cells along the horizontal axis
      */
     public int width() {
-        return this.grid[0].length - 2;
+        return this.width;
     }
 
 
@@ -555,7 +977,7 @@ public class Map {
      * The number of cells along the vertical axis.
      */
     public int height() {
-        return this.grid.length - 2;
+        return this.height;
     }
 
 
@@ -573,7 +995,12 @@ public class Map {
      * Checks if a point lies inside the map
      */
     public boolean isInside(Point point) {
-        return point.x() >= 0 && point.x() < this.width() && point.y() >= 0 && point.y() < this.height();
+        return isInside(point.x(), point.y());
+    }
+
+
+    private boolean isInside(double x, double y) {
+        return x >= 0 && x < this.width() && y >= 0 && y < this.height();
     }
 
 
@@ -585,7 +1012,7 @@ public class Map {
         String result = "";
         for (int i = this.height() - 1; i >= 0; i--) {
             for (int j = 0; j < this.width(); j++) {
-                if (!this.cellAt(j, i).isFree()) {
+                if (!this.isFree(j, i)) {
                     result += "X ";
                 } else {
                     result += ". ";
@@ -607,8 +1034,7 @@ public class Map {
     boolean isAreaClear(Point location, Size size) {
         for (int i = 0; i < size.height(); i++) {
             for (int j = 0; j < size.width(); j++) {
-                Cell cell = cellAt((int) floor(location.x()) + j, (int) floor(location.y()) + i);
-                if (!cell.isFree()) {
+                if (!isFree((int) floor(location.x()) + j, (int) floor(location.y()) + i)) {
                     return false;
                 }
             }
@@ -618,6 +1044,21 @@ public class Map {
     }
 
 
+    /**
+     * Visits the cells traversed by a path (see traverse())
+     */
+    @FunctionalInterface
+    public interface CellVisitor {
+
+        /**
+         * Visits the cell at position (x, y)
+         *
+         * Returns false to stop the traversal.
+         */
+        boolean visit(int x, int y);
+    }
+
+
     /**
      * A Map.Cell represents a cell of the grid map. A cell can be in two
      * states: free or occupied by a static entity (wall, tree, building, etc).
@@ -626,21 +1067,40 @@ public class Map {
      *
      * A cell can also have exactly one inventory item (weapon or first-aid
      * kit).
+     *
+     * Cells are only views over the map's grid: they are created on demand
+     * and two cells are equal if they refer to the same position of the same
+     * grid.
      */
     public static class Cell {
 
-        /** This cell's location */
-        private final Point location;
+        /** The grid that holds this cell's contents */
+        private final Grid grid;
 
-        /** This cell's entity. If null, the cell is free */
-        private StaticEntity entity;
+        /** This cell's x index */
+        private final int x;
 
-        /** The inventory item occupying this cell, if any */
-        private InventoryItem item;
+        /** This cell's y index */
+        private final int y;
 
 
+        /**
+         * Creates a cell that doesn't belong to any map
+         */
         public Cell(Point location) {
-            this.location = location;
+            this((int) floor(location.x()), (int) floor(location.y()));
+        }
+
+
+        private Cell(int x, int y) {
+            this(new Grid(x, y, 1, 1), x, y);
+        }
+
+
+        Cell(Grid grid, int x, int y) {
+            this.grid = grid;
+            this.x = x;
+            this.y = y;
         }
 
 
@@ -648,7 +1108,7 @@ public class Map {
          * Returns the entity occupying this cell, or null if the cell is free
          */
         public StaticEntity getEntity() {
-            return this.entity;
+            return grid.getEntity(x, y);
         }
 
 
@@ -656,8 +1116,8 @@ public class Map {
          * Sets the entity located at this cell
          */
         public void setEntity(StaticEntity entity) {
-            if (this.isFree() && this.item == null) {
-                this.entity = entity;
+            if (this.isFree() && this.getItem() == null) {
+                grid.setEntity(x, y, entity);
             } else {
                 throw new IllegalStateException("Cell already contains something");
             }
@@ -668,7 +1128,7 @@ public class Map {
          * Returns the inventory item in this cell, or null if there is none
          */
         public InventoryItem getItem() {
-            return this.item;
+            return grid.getItem(x, y);
         }
 
 
@@ -681,8 +1141,8 @@ public class Map {
          * Returns true if the item was added and false otherwise
          */
         public boolean setItem(InventoryItem item) {
-            if (this.isFree() && this.item == null) {
-                this.item = item;
+            if (this.isFree() && this.getItem() == null) {
+                grid.setItem(x, y, item);
                 return true;
             }
 
@@ -696,9 +1156,7 @@ public class Map {
          * Returns the item removed.
          */
         public InventoryItem removeItem() {
-            InventoryItem previous = this.item;
-            this.item = null;
-            return previous;
+            return grid.removeItem(x, y);
         }
 
 
@@ -710,7 +1168,7 @@ public class Map {
          * item.
          */
         public boolean isFree() {
-            return entity == null;
+            return grid.isFree(x, y);
         }
 
 
@@ -718,7 +1176,7 @@ public class Map {
          * The cell's index, from (0, 0) to (width - 1, height - 1)
          */
         public Point getLocation() {
-            return this.location;
+            return new Point(x, y);
         }
 
 
@@ -726,7 +1184,23 @@ public class Map {
          * The cell's center
          */
         public Point getCenter() {
-            return this.location.displace(0.5, 0.5);
+            return new Point(x + 0.5, y + 0.5);
+        }
+
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Cell cell = (Cell) o;
+            return grid == cell.grid && x == cell.x && y == cell.y;
+        }
+
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(grid) + x) + y;
         }
     }
 }
@@ -18,6 +18,15 @@ import java.util.List;
  */
 public class MapBuilder {
 
+    /**
+     * The largest map, in cells, whose visibility set is built automatically
+     *
+     * The cost of the build grows much faster than the number of cells: on a
+     * single core, a 20x20 map takes about 0.2s, a 30x20 one about 0.5s and a
+     * 32x32 one about 3s.
+     */
+    static final int MAX_VISIBILITY_CELLS = 400;
+
     /** The game configuration */
     private final Config config;
 
@@ -106,6 +115,13 @@ public class MapBuilder {
 
         // Build the navigational graph
         map.buildNavGraph();
+
+        // Precompute the visibility between cells, unless it takes too long,
+        // and only once for all the maps with the same walls
+        if (width * height <= MAX_VISIBILITY_CELLS) {
+            map.setVisibility(VisibilitySet.shared(map));
+        }
+
         return map;
     }
 
@@ -4,10 +4,12 @@ import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.geometry.Point;
 import io.github.pureza.warbots.search.Path;
 
+import java.io.Serializable;
+
 /**
  * The Path Planner is the component of the Bot that handles path finding
  */
-public class PathPlanner {
+public class PathPlanner implements Serializable {
 
     /** The bot this planner is a part of */
     private Bot bot;
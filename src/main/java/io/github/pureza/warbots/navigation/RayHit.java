@@ -0,0 +1,60 @@
+package io.github.pureza.warbots.navigation;
+
+import io.github.pureza.warbots.entities.StaticEntity;
+import io.github.pureza.warbots.geometry.Point;
+
+/**
+ * Where a path first hits a static entity of the map
+ */
+public class RayHit {
+
+    /** The entity that was hit */
+    private final StaticEntity entity;
+
+    /** The point where the path touches the entity */
+    private final Point point;
+
+    /** The distance from the start of the path to the point */
+    private final double distance;
+
+
+    public RayHit(StaticEntity entity, Point point, double distance) {
+        this.entity = entity;
+        this.point = point;
+        this.distance = distance;
+    }
+
+
+    /**
+     * The entity that was hit
+     */
+    public StaticEntity getEntity() {
+        return entity;
+    }
+
+
+    /**
+     * The point where the path touches the entity
+     */
+    public Point getPoint() {
+        return point;
+    }
+
+
+    /**
+     * The distance from the start of the path to the point where it touches
+     * the entity
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+
+    @Override
+    public String toString() {
+        return "RayHit{" +
+                "entity=" + entity +
+                ", point=" + point +
+                "}";
+    }
+}
@@ -0,0 +1,374 @@
+package io.github.pureza.warbots.navigation;
+
+import java.io.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed visibility between the cells of a map
+ *
+ * For each pair of free cells, two bits say what is known about the segments
+ * that join any point of one cell to any point of the other:
+ *
+ * - clear: no segment crosses a wall, so the cells see each other from
+ *   anywhere inside them
+ * - blocked: every segment crosses a wall, so nothing in one cell can see
+ *   anything in the other
+ *
+ * When neither bit is set, visibility depends on the exact points, and must
+ * be checked by walking the path (see Map.isPathObstructed()). Both answers
+ * are conservative: a pair is only clear or blocked if it is for all points.
+ *
+ * The set is only valid for the walls it was built for, and takes two bits per
+ * pair of cells, so it is only worth it for reasonably small maps (see
+ * MAX_CELLS). It can be saved and loaded, or shared by all the maps with the
+ * same walls (see shared()), to avoid building it every time the same map is
+ * loaded.
+ */
+public class VisibilitySet implements Serializable {
+
+    /** The largest map, in cells, for which the set is built */
+    public static final int MAX_CELLS = 4096;
+
+    /** The sets built by shared(), by fingerprint of the walls */
+    private static final ConcurrentMap<Long, VisibilitySet> SHARED = new ConcurrentHashMap<>();
+
+    /** The width of the map */
+    private final int width;
+
+    /** The height of the map */
+    private final int height;
+
+    /** Identifies the walls of the map */
+    private final long fingerprint;
+
+    /** Number of words taken by the bits of each cell */
+    private final int words;
+
+    /** The clear bits, by pair of cells */
+    private final long[] clear;
+
+    /** The blocked bits, by pair of cells */
+    private final long[] blocked;
+
+
+    private VisibilitySet(int width, int height, long fingerprint) {
+        this.width = width;
+        this.height = height;
+        this.fingerprint = fingerprint;
+
+        // The bits of each cell start at a new word, so that different cells
+        // never write to the same word
+        this.words = (width * height + 63) / 64;
+        this.clear = new long[width * height * words];
+        this.blocked = new long[width * height * words];
+    }
+
+
+    /**
+     * Builds the visibility set of a map, using all the available cores
+     *
+     * @throws IllegalArgumentException if the map has more than MAX_CELLS
+     *                                  cells
+     */
+    public static VisibilitySet build(Map map) {
+        int width = map.width();
+        int height = map.height();
+        if (width * height > MAX_CELLS) {
+            throw new IllegalArgumentException("The map is too large: " + width + "x" + height);
+        }
+
+        VisibilitySet set = new VisibilitySet(width, height, fingerprint(map));
+        Walls walls = new Walls(map);
+
+        // Each cell only computes its pairs with the cells after it, and only
+        // writes its own bits, so the cells don't need to synchronize
+        int cells = width * height;
+        IntStream.range(0, cells).parallel().forEach(a -> {
+            if (walls.isWall(a % width, a / width)) {
+                return;
+            }
+
+            // A cell sees itself
+            set(set.clear, set.bit(a, a));
+
+            double[] range = new double[2];
+            for (int b = a + 1; b < cells; b++) {
+                if (!walls.isWall(b % width, b / width)) {
+                    set.compute(walls, a, b, range);
+                }
+            }
+        });
+
+        // Visibility is symmetric
+        for (int a = 0; a < cells; a++) {
+            for (int b = a + 1; b < cells; b++) {
+                if (get(set.clear, set.bit(a, b))) {
+                    set(set.clear, set.bit(b, a));
+                }
+
+                if (get(set.blocked, set.bit(a, b))) {
+                    set(set.blocked, set.bit(b, a));
+                }
+            }
+        }
+
+        return set;
+    }
+
+
+    /**
+     * Returns the visibility set of a map, building it only for the first map
+     * with the same walls
+     *
+     * The sets never change once built, so all the games played on the same
+     * map, at the same time or one after the other, may share one.
+     *
+     * @throws IllegalArgumentException if the map has more than MAX_CELLS
+     *                                  cells
+     */
+    public static VisibilitySet shared(Map map) {
+        return SHARED.computeIfAbsent(fingerprint(map), fingerprint -> build(map));
+    }
+
+
+    /**
+     * Checks if every point of one cell sees every point of the other
+     */
+    public boolean isClear(int sourceX, int sourceY, int targetX, int targetY) {
+        return get(clear, bit(sourceY * width + sourceX, targetY * width + targetX));
+    }
+
+
+    /**
+     * Checks if no point of one cell sees any point of the other
+     */
+    public boolean isBlocked(int sourceX, int sourceY, int targetX, int targetY) {
+        return get(blocked, bit(sourceY * width + sourceX, targetY * width + targetX));
+    }
+
+
+    /**
+     * Checks if the set was built for the walls of the given map
+     */
+    public boolean isValidFor(Map map) {
+        return map.width() == width && map.height() == height && fingerprint(map) == fingerprint;
+    }
+
+
+    /**
+     * Saves the set
+     */
+    public void write(OutputStream out) throws IOException {
+        ObjectOutputStream objects = new ObjectOutputStream(out);
+        objects.writeObject(this);
+        objects.flush();
+    }
+
+
+    /**
+     * Loads a set saved with write()
+     *
+     * @throws IOException if the stream doesn't contain a visibility set
+     */
+    public static VisibilitySet read(InputStream in) throws IOException {
+        try {
+            return (VisibilitySet) new ObjectInputStream(in).readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Not a visibility set", e);
+        }
+    }
+
+
+    /**
+     * Computes the bits of a pair of free cells
+     */
+    private void compute(Walls walls, int a, int b, double[] range) {
+        int ax = a % width;
+        int ay = a / width;
+        int bx = b % width;
+        int by = b / width;
+
+        // Every segment between the cells lies inside the convex hull of the
+        // two cells. Go through the hull row by row: if all the cells it
+        // touches are free, the pair is clear, and if it crosses a row or
+        // column made only of walls, the pair is blocked
+        boolean isClear = true;
+        boolean isBlocked = false;
+        for (int row = Math.min(ay, by); row <= Math.max(ay, by) && (isClear || !isBlocked); row++) {
+            hullRange(ax, ay, bx, by, row, range);
+            int first = (int) Math.floor(range[0]);
+            int last = (int) Math.floor(range[1]);
+
+            // Points on the right border of the hull belong to the next cell,
+            // but no segment between the cells reaches them
+            int lastTouched = range[1] == Math.floor(range[1]) ? last - 1 : last;
+            if (isClear && walls.inRow(row, first, lastTouched) > 0) {
+                isClear = false;
+            }
+
+            // Segments go across the rows between the cells from one side to
+            // the other
+            if (row != ay && row != by && walls.inRow(row, first, last) == last - first + 1) {
+                isBlocked = true;
+            }
+        }
+
+        for (int column = Math.min(ax, bx) + 1; column < Math.max(ax, bx) && !isBlocked; column++) {
+            // The same, with x and y swapped
+            hullRange(ay, ax, by, bx, column, range);
+            int first = (int) Math.floor(range[0]);
+            int last = (int) Math.floor(range[1]);
+            if (walls.inColumn(column, first, last) == last - first + 1) {
+                isBlocked = true;
+            }
+        }
+
+        if (isClear) {
+            set(clear, bit(a, b));
+        } else if (isBlocked) {
+            set(blocked, bit(a, b));
+        }
+    }
+
+
+    /**
+     * Computes the range of x over the part of the convex hull of two cells
+     * that lies in the band between y = row and y = row + 1
+     *
+     * The edges of the hull join corners of the cells, so the range is given
+     * by the corners inside the band and by the points where the segments
+     * between any two corners cross the band's borders.
+     */
+    private static void hullRange(int ax, int ay, int bx, int by, int row, double[] range) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < 8; i++) {
+            double x1 = cornerX(ax, bx, i);
+            double y1 = cornerY(ay, by, i);
+            if (y1 >= row && y1 <= row + 1) {
+                min = Math.min(min, x1);
+                max = Math.max(max, x1);
+            }
+
+            for (int j = i + 1; j < 8; j++) {
+                double x2 = cornerX(ax, bx, j);
+                double y2 = cornerY(ay, by, j);
+                for (int border = row; border <= row + 1; border++) {
+                    if ((y1 - border) * (y2 - border) < 0) {
+                        double x = x1 + (x2 - x1) * (border - y1) / (y2 - y1);
+                        min = Math.min(min, x);
+                        max = Math.max(max, x);
+                    }
+                }
+            }
+        }
+
+        range[0] = min;
+        range[1] = max;
+    }
+
+
+    /**
+     * The corners of two cells: 0-3 are the corners of the first one and 4-7
+     * the corners of the second one
+     */
+    private static double cornerX(int ax, int bx, int corner) {
+        return (corner < 4 ? ax : bx) + (corner & 1);
+    }
+
+
+    private static double cornerY(int ay, int by, int corner) {
+        return (corner < 4 ? ay : by) + ((corner >> 1) & 1);
+    }
+
+
+    private long bit(int a, int b) {
+        return (long) a * words * 64 + b;
+    }
+
+
+    private static boolean get(long[] bits, long bit) {
+        return (bits[(int) (bit >>> 6)] & (1L << bit)) != 0;
+    }
+
+
+    private static void set(long[] bits, long bit) {
+        bits[(int) (bit >>> 6)] |= 1L << bit;
+    }
+
+
+    /**
+     * Identifies the walls of a map
+     */
+    private static long fingerprint(Map map) {
+        long hash = 31L * map.width() + map.height();
+        for (int y = 0; y < map.height(); y++) {
+            for (int x = 0; x < map.width(); x++) {
+                hash = 31 * hash + (map.isFree(x, y) ? 1 : 2);
+            }
+        }
+
+        return hash;
+    }
+
+
+    /**
+     * Counts the walls in any run of cells of a row or column, in constant
+     * time
+     *
+     * Cells outside the map count as walls.
+     */
+    private static class Walls {
+
+        /** Number of walls before each cell of each row */
+        private final int[][] rows;
+
+        /** Number of walls before each cell of each column */
+        private final int[][] columns;
+
+
+        Walls(Map map) {
+            this.rows = new int[map.height()][map.width() + 1];
+            this.columns = new int[map.width()][map.height() + 1];
+            for (int y = 0; y < map.height(); y++) {
+                for (int x = 0; x < map.width(); x++) {
+                    int wall = map.isFree(x, y) ? 0 : 1;
+                    rows[y][x + 1] = rows[y][x] + wall;
+                    columns[x][y + 1] = columns[x][y] + wall;
+                }
+            }
+        }
+
+
+        boolean isWall(int x, int y) {
+            return rows[y][x + 1] - rows[y][x] > 0;
+        }
+
+
+        /**
+         * Number of walls in a row, from one column to another (inclusive)
+         */
+        int inRow(int row, int first, int last) {
+            return count(rows[row], first, last);
+        }
+
+
+        /**
+         * Number of walls in a column, from one row to another (inclusive)
+         */
+        int inColumn(int column, int first, int last) {
+            return count(columns[column], first, last);
+        }
+
+
+        private static int count(int[] prefix, int first, int last) {
+            int size = prefix.length - 1;
+            int outside = Math.max(0, -first) + Math.max(0, last - (size - 1));
+            int from = Math.max(first, 0);
+            int to = Math.min(last, size - 1);
+            return outside + (to >= from ? prefix[to + 1] - prefix[from] : 0);
+        }
+    }
+}
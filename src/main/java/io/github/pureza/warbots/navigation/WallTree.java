@@ -0,0 +1,331 @@
+package io.github.pureza.warbots.navigation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The cells occupied by static entities of a map, merged into rectangles and
+ * kept in a bounding volume hierarchy
+ *
+ * Walking a long ray through the grid visits every empty cell along the way.
+ * Instead, the occupied cells are merged into as few axis-aligned boxes as
+ * possible (a wall usually becomes a single box), and the boxes are grouped
+ * into a binary tree of bounding boxes. A ray only looks at the boxes whose
+ * branches it crosses, nearest first, and stops as soon as nothing left can be
+ * closer than what it has already hit.
+ *
+ * Like the cells themselves, a box includes its lower borders but not its
+ * upper ones. A ray that only touches a box at a corner doesn't hit it.
+ *
+ * Rays that graze a box, along a border or through a corner, may be answered
+ * differently than by walking the grid (see Map.traverse()). The boxes can be
+ * grown or shrunk by a margin, to find the rays that clearly go through a box
+ * or clearly stay away from all of them.
+ *
+ * The tree is only valid for the walls it was built for.
+ */
+class WallTree {
+
+    /** Maximum number of boxes in a leaf */
+    private static final int LEAF_SIZE = 2;
+
+    /** Returned by raycast() when the ray hits nothing */
+    static final double MISS = Double.POSITIVE_INFINITY;
+
+    /** The boxes: min x, min y, max x and max y (exclusive) of each one */
+    private final int[] boxes;
+
+    /** The bounds of each node, like the boxes */
+    private final int[] bounds;
+
+    /**
+     * For leaves, the first of their boxes. For the other nodes, their second
+     * child (the first one comes right after them)
+     */
+    private final int[] first;
+
+    /** Number of boxes of each leaf, or 0 for the other nodes */
+    private final int[] count;
+
+    /** Number of nodes */
+    private int nodes = 0;
+
+
+    private WallTree(int[] boxes) {
+        int count = boxes.length / 4;
+        int maxNodes = Math.max(1, 2 * count);
+        this.boxes = boxes;
+        this.bounds = new int[4 * maxNodes];
+        this.first = new int[maxNodes];
+        this.count = new int[maxNodes];
+    }
+
+
+    /**
+     * Builds the tree for the walls of a map, including the ones around it
+     */
+    static WallTree build(Map map) {
+        int[] boxes = merge(map);
+        WallTree tree = new WallTree(boxes);
+
+        int count = boxes.length / 4;
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+
+        if (count > 0) {
+            tree.build(order, 0, count);
+        }
+
+        // Keep the boxes of each leaf next to each other
+        int[] sorted = new int[boxes.length];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(boxes, 4 * order[i], sorted, 4 * i, 4);
+        }
+
+        System.arraycopy(sorted, 0, boxes, 0, boxes.length);
+        return tree;
+    }
+
+
+    /**
+     * Merges the occupied cells of a map into boxes
+     *
+     * Each box starts at the first occupied cell not yet merged, row by row,
+     * takes as many cells of its row as it can, and then as many of the rows
+     * below as have the same cells occupied.
+     */
+    private static int[] merge(Map map) {
+        // The grid includes the walls around the map, so column 0 is x = -1
+        // and row 0 is y = -1
+        int columns = map.width() + 2;
+        int rows = map.height() + 2;
+        boolean[] merged = new boolean[columns * rows];
+
+        List<int[]> boxes = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                if (merged[row * columns + column] || map.isFree(column - 1, row - 1)) {
+                    continue;
+                }
+
+                int end = column;
+                while (end < columns && !merged[row * columns + end] && !map.isFree(end - 1, row - 1)) {
+                    end++;
+                }
+
+                int bottom = row + 1;
+                while (bottom < rows && isRun(map, merged, columns, bottom, column, end)) {
+                    bottom++;
+                }
+
+                for (int y = row; y < bottom; y++) {
+                    Arrays.fill(merged, y * columns + column, y * columns + end, true);
+                }
+
+                boxes.add(new int[] { column - 1, row - 1, end - 1, bottom - 1 });
+            }
+        }
+
+        int[] result = new int[4 * boxes.size()];
+        for (int i = 0; i < boxes.size(); i++) {
+            System.arraycopy(boxes.get(i), 0, result, 4 * i, 4);
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Checks if a run of cells of a row is occupied and not yet merged
+     */
+    private static boolean isRun(Map map, boolean[] merged, int columns, int row, int from, int to) {
+        for (int column = from; column < to; column++) {
+            if (merged[row * columns + column] || map.isFree(column - 1, row - 1)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Builds the node for the boxes from..to (exclusive) of the given order,
+     * splitting them in half along the longest side of the node
+     */
+    private int build(Integer[] order, int from, int to) {
+        int node = nodes++;
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            int box = 4 * order[i];
+            minX = Math.min(minX, boxes[box]);
+            minY = Math.min(minY, boxes[box + 1]);
+            maxX = Math.max(maxX, boxes[box + 2]);
+            maxY = Math.max(maxY, boxes[box + 3]);
+        }
+
+        bounds[4 * node] = minX;
+        bounds[4 * node + 1] = minY;
+        bounds[4 * node + 2] = maxX;
+        bounds[4 * node + 3] = maxY;
+
+        if (to - from <= LEAF_SIZE) {
+            first[node] = from;
+            count[node] = to - from;
+            return node;
+        }
+
+        // Sort by the centers of the boxes (doubled, to keep them integers)
+        int axis = maxX - minX >= maxY - minY ? 0 : 1;
+        Arrays.sort(order, from, to, (a, b) -> Integer.compare(
+                boxes[4 * a + axis] + boxes[4 * a + axis + 2],
+                boxes[4 * b + axis] + boxes[4 * b + axis + 2]));
+
+        int middle = (from + to) >>> 1;
+        build(order, from, middle);
+        first[node] = build(order, middle, to);
+        count[node] = 0;
+        return node;
+    }
+
+
+    /**
+     * Finds where a ray first enters a box
+     *
+     * The ray starts at (originX, originY) and goes along (directionX,
+     * directionY), which doesn't need to be normalized. Returns how far along
+     * it hits a box, in units of the direction, or MISS if it doesn't hit any
+     * box before maxTime. If hit isn't null, it receives the cell that was hit.
+     */
+    double raycast(double originX, double originY, double directionX, double directionY, double maxTime, int[] hit) {
+        return raycast(originX, originY, directionX, directionY, maxTime, 0, hit);
+    }
+
+
+    /**
+     * Finds where a ray first enters a box, with every box grown by a margin
+     * on each side, or shrunk if the margin is negative
+     */
+    double raycast(double originX, double originY, double directionX, double directionY, double maxTime,
+                   double margin, int[] hit) {
+        if (nodes == 0) {
+            return MISS;
+        }
+
+        double best = MISS;
+        int bestBox = -1;
+
+        int[] stack = new int[64];
+        double[] entries = new double[64];
+        int top = 0;
+        stack[top] = 0;
+        entries[top++] = entry(bounds, 0, originX, originY, directionX, directionY, maxTime, margin);
+
+        while (top > 0) {
+            int node = stack[--top];
+            if (entries[top] >= best) {
+                continue;
+            }
+
+            if (count[node] > 0) {
+                for (int i = first[node]; i < first[node] + count[node]; i++) {
+                    double time = entry(boxes, i, originX, originY, directionX, directionY, maxTime, margin);
+                    if (time < best) {
+                        best = time;
+                        bestBox = i;
+                    }
+                }
+            } else {
+                int left = node + 1;
+                int right = first[node];
+                double leftEntry = entry(bounds, left, originX, originY, directionX, directionY, maxTime, margin);
+                double rightEntry = entry(bounds, right, originX, originY, directionX, directionY, maxTime, margin);
+
+                // Visit the nearest child first
+                if (leftEntry <= rightEntry) {
+                    stack[top] = right;
+                    entries[top++] = rightEntry;
+                    stack[top] = left;
+                    entries[top++] = leftEntry;
+                } else {
+                    stack[top] = left;
+                    entries[top++] = leftEntry;
+                    stack[top] = right;
+                    entries[top++] = rightEntry;
+                }
+            }
+        }
+
+        if (bestBox >= 0 && hit != null) {
+            int box = 4 * bestBox;
+            hit[0] = cellOf(originX + directionX * best, directionX, boxes[box], boxes[box + 2]);
+            hit[1] = cellOf(originY + directionY * best, directionY, boxes[box + 1], boxes[box + 3]);
+        }
+
+        return best;
+    }
+
+
+    /**
+     * Number of boxes the walls were merged into
+     */
+    int size() {
+        return boxes.length / 4;
+    }
+
+
+    /**
+     * Finds when a ray enters a box (or the bounds of a node), grown by the
+     * margin, with the slab method, or MISS if it doesn't before maxTime
+     */
+    private static double entry(int[] boxes, int index, double originX, double originY,
+                                double directionX, double directionY, double maxTime, double margin) {
+        int box = 4 * index;
+        double minX = boxes[box] - margin;
+        double minY = boxes[box + 1] - margin;
+        double maxX = boxes[box + 2] + margin;
+        double maxY = boxes[box + 3] + margin;
+        double near = 0;
+        double far = MISS;
+
+        if (directionX != 0) {
+            double t1 = (minX - originX) / directionX;
+            double t2 = (maxX - originX) / directionX;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        } else if (originX < minX || originX >= maxX) {
+            return MISS;
+        }
+
+        if (directionY != 0) {
+            double t1 = (minY - originY) / directionY;
+            double t2 = (maxY - originY) / directionY;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        } else if (originY < minY || originY >= maxY) {
+            return MISS;
+        }
+
+        return near < far && near <= maxTime ? near : MISS;
+    }
+
+
+    /**
+     * The cell of a box that contains a coordinate of a point on its border,
+     * going in the given direction
+     */
+    private static int cellOf(double coordinate, double direction, int min, int max) {
+        int cell = (int) Math.floor(coordinate);
+        if (cell == coordinate && direction < 0) {
+            cell--;
+        }
+
+        return Math.max(min, Math.min(max - 1, cell));
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.pureza.warbots.search;
 
+import java.io.Serializable;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -12,7 +13,7 @@ import static java.util.Collections.unmodifiableList;
  *
  * @param <T> The type of the locations
  */
-public class Path<T> {
+public class Path<T> implements Serializable {
 
     /** The empty path. Immutable. */
     private static final Path EMPTY_PATH = new Path() {
@@ -3,6 +3,8 @@ package io.github.pureza.warbots.steering;
 import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.geometry.Vector;
 
+import java.io.Serializable;
+
 
 /**
  * Abstract steering behavior
@@ -13,7 +15,7 @@ import io.github.pureza.warbots.geometry.Vector;
  * Individual steering behaviors can be enabled or disabled, and there can be
  * several of them active at the same time.
  */
-public abstract class SteeringBehavior {
+public abstract class SteeringBehavior implements Serializable {
 
     /** The bot this behavior applies to */
     protected Bot bot;
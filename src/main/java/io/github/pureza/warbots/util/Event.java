@@ -1,5 +1,6 @@
 package io.github.pureza.warbots.util;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
@@ -9,8 +10,18 @@ import java.util.function.Consumer;
  *
  * An event contains a list of consumers attached that are executed when the
  * event is fired.
+ *
+ * Events belong to bots, which can be saved in a GameSnapshot, so consumers
+ * that stay subscribed between updates must be Listeners.
  */
-public class Event<T> {
+public class Event<T> implements Serializable {
+
+    /**
+     * A consumer that can be saved along with the event
+     */
+    public interface Listener<T> extends Consumer<T>, Serializable {
+    }
+
 
     /** Consumers attached to this event */
     private List<Consumer<T>> consumers = new ArrayList<>();
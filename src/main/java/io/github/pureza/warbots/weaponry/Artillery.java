@@ -3,6 +3,7 @@ package io.github.pureza.warbots.weaponry;
 import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.geometry.Vector;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -15,7 +16,7 @@ import java.util.Map;
  * projectiles and even some of the higher-level logic of choosing the weapon
  * to use or firing at the enemy.
  */
-public class Artillery {
+public class Artillery implements Serializable {
 
     /** The owner */
     private Bot owner;
@@ -6,6 +6,7 @@ import io.github.pureza.warbots.entities.MovingEntity;
 import io.github.pureza.warbots.entities.StaticEntity;
 import io.github.pureza.warbots.game.Game;
 import io.github.pureza.warbots.geometry.Point;
+import io.github.pureza.warbots.navigation.Map;
 
 
 /**
@@ -23,6 +24,21 @@ public abstract class Projectile extends MovingEntity {
     /** Damage inflicted by this projectile on the enemy */
     protected int damage;
 
+    /**
+     * The maximum distance (in cells) a projectile travels without checking
+     * for walls
+     *
+     * Faster projectiles are moved in sub-steps, so that they can't cross a
+     * wall between two updates, no matter how large the time step.
+     */
+    public static final double MAX_STEP = 0.5;
+
+    /** The store holding this projectile's location and velocity, if any */
+    private ProjectileStore store;
+
+    /** The index of this projectile in the store */
+    private int index = -1;
+
 
     /**
      * Creates and initializes a new projectile, ready to fly and hit someone
@@ -44,6 +60,142 @@ public abstract class Projectile extends MovingEntity {
     }
 
 
+    /**
+     * Moves the projectile
+     *
+     * If the projectile would travel more than MAX_STEP cells, it moves in
+     * sub-steps and stops at the first one where it touches a wall or leaves
+     * the map, leaving the wall collision for the CollisionDetector to find.
+     * Either way, the previous location is where the projectile was before
+     * the update, so that collisions with bots are checked along the whole
+     * distance travelled.
+     */
+    @Override
+    public void update(long dt) {
+        Vector displacement = this.getVelocity().scalarMul(dt / 1000.0);
+        int steps = (int) Math.ceil(displacement.norm() / MAX_STEP);
+        if (steps <= 1) {
+            super.update(dt);
+            return;
+        }
+
+        Map map = game.getMap();
+        Vector step = displacement.scalarMul(1.0 / steps);
+        Point target = getLocation().plus(step);
+        for (int i = 1; i < steps; i++) {
+            if (!map.isInside(target) || !map.canStayAt(target, boundingRadius)) {
+                break;
+            }
+
+            target = target.plus(step);
+        }
+
+        this.setLocation(target);
+    }
+
+
+    /**
+     * Checks if the projectile just flies in a straight line at constant
+     * speed, with no logic of its own on update
+     *
+     * The ProjectileStore moves ballistic projectiles by itself, without
+     * calling update().
+     */
+    public boolean isBallistic() {
+        return true;
+    }
+
+
+    @Override
+    public Point getLocation() {
+        return store != null ? store.location(index) : super.getLocation();
+    }
+
+
+    @Override
+    public void setLocation(Point location) {
+        if (store != null) {
+            store.setLocation(index, location);
+        } else {
+            super.setLocation(location);
+        }
+    }
+
+
+    @Override
+    public Point getPreviousLocation() {
+        return store != null ? store.previousLocation(index) : super.getPreviousLocation();
+    }
+
+
+    @Override
+    public Vector getVelocity() {
+        return store != null ? store.velocity(index) : super.getVelocity();
+    }
+
+
+    @Override
+    protected void setVelocity(Vector velocity) {
+        if (store != null) {
+            store.setVelocity(index, velocity);
+        } else {
+            super.setVelocity(velocity);
+        }
+    }
+
+
+    /**
+     * Makes this projectile a view over an entry of a store
+     */
+    void attach(ProjectileStore store, int index) {
+        this.store = store;
+        this.index = index;
+    }
+
+
+    /**
+     * Moves this projectile to another index of its store
+     */
+    void moveTo(int index) {
+        this.index = index;
+    }
+
+
+    /**
+     * Takes the state back from the store, which is about to forget this
+     * projectile
+     */
+    void detach() {
+        Point previousLocation = store.previousLocation(index);
+        Point location = store.location(index);
+        Vector velocity = store.velocity(index);
+        this.store = null;
+        this.index = -1;
+
+        super.setLocation(location);
+        this.previousLocation = previousLocation;
+        super.setVelocity(velocity);
+    }
+
+
+    ProjectileStore getStore() {
+        return store;
+    }
+
+
+    int getIndex() {
+        return index;
+    }
+
+
+    /**
+     * Returns the bot that fired this projectile
+     */
+    public Bot getShooter() {
+        return this.shooter;
+    }
+
+
     /**
      * Called when the projectile hits a bot
      *
@@ -68,4 +220,15 @@ public abstract class Projectile extends MovingEntity {
     public void hitStaticEntity(StaticEntity entity) {
         game.removeProjectile(this);
     }
+
+
+    /**
+     * Called when the projectile hits a static entity at a known point, which
+     * may be behind the projectile's current location
+     *
+     * By default, the same as hitStaticEntity(entity).
+     */
+    public void hitStaticEntity(StaticEntity entity, Point impact) {
+        hitStaticEntity(entity);
+    }
 }
@@ -1,13 +1,17 @@
 package io.github.pureza.warbots.weaponry;
 
+import java.io.Serializable;
 
 /**
  * Builder for projectiles
  *
  * Instantiates and configures projectiles according to the global game
  * configuration.
+ *
+ * Builders are kept by the weapons, so they must be serializable, like the
+ * rest of the bot (see GameSnapshot).
  */
-public interface ProjectileBuilder {
+public interface ProjectileBuilder extends Serializable {
 
     /**
      * Creates a Projectile that was fired from the given weapon
@@ -0,0 +1,188 @@
+package io.github.pureza.warbots.weaponry;
+
+import io.github.pureza.warbots.geometry.Point;
+import io.github.pureza.warbots.geometry.Vector;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Keeps the location and velocity of projectiles in primitive arrays
+ *
+ * Projectiles added to the store become views over one of its entries:
+ * their location, previous location and velocity are read from and written
+ * to the arrays. This lets update() move all the ballistic projectiles in a
+ * single loop over contiguous memory, without allocating a new Point per
+ * projectile on every update. Projectiles that need more than that (an
+ * exploding rocket, or a projectile fast enough to need sub-steps) are still
+ * updated through Projectile.update().
+ *
+ * The damage and the shooter of a projectile never change, so they stay in
+ * the projectile itself.
+ *
+ * Entries are kept packed: removing a projectile moves the last one into its
+ * place.
+ */
+public class ProjectileStore implements Serializable {
+
+    /** The store's initial capacity */
+    private static final int INITIAL_SIZE = 64;
+
+    /** The projectiles, by index */
+    private Projectile[] projectiles = new Projectile[INITIAL_SIZE];
+
+    /** Current location */
+    private double[] x = new double[INITIAL_SIZE];
+    private double[] y = new double[INITIAL_SIZE];
+
+    /** Location before the last move */
+    private double[] previousX = new double[INITIAL_SIZE];
+    private double[] previousY = new double[INITIAL_SIZE];
+
+    /** Velocity, in cells per second */
+    private double[] vx = new double[INITIAL_SIZE];
+    private double[] vy = new double[INITIAL_SIZE];
+
+    /** Number of projectiles in the store */
+    private int size = 0;
+
+
+    /**
+     * Adds a projectile to the store
+     *
+     * From now on, the projectile's location and velocity live here.
+     */
+    public void add(Projectile projectile) {
+        if (projectile.getStore() != null) {
+            throw new IllegalArgumentException("The projectile is already in a store");
+        }
+
+        if (size == projectiles.length) {
+            grow();
+        }
+
+        int i = size++;
+        Point location = projectile.getLocation();
+        Point previousLocation = projectile.getPreviousLocation() != null
+                ? projectile.getPreviousLocation()
+                : location;
+        Vector velocity = projectile.getVelocity();
+
+        projectiles[i] = projectile;
+        x[i] = location.x();
+        y[i] = location.y();
+        previousX[i] = previousLocation.x();
+        previousY[i] = previousLocation.y();
+        vx[i] = velocity.x();
+        vy[i] = velocity.y();
+        projectile.attach(this, i);
+    }
+
+
+    /**
+     * Removes a projectile from the store, handing its state back to it
+     *
+     * Does nothing if the projectile isn't in this store.
+     */
+    public void remove(Projectile projectile) {
+        if (projectile.getStore() != this) {
+            return;
+        }
+
+        int i = projectile.getIndex();
+        projectile.detach();
+
+        // Move the last entry into the hole
+        int last = --size;
+        if (i != last) {
+            projectiles[i] = projectiles[last];
+            x[i] = x[last];
+            y[i] = y[last];
+            previousX[i] = previousX[last];
+            previousY[i] = previousY[last];
+            vx[i] = vx[last];
+            vy[i] = vy[last];
+            projectiles[i].moveTo(i);
+        }
+
+        projectiles[last] = null;
+    }
+
+
+    /**
+     * Updates all the projectiles in the store
+     *
+     * Ballistic projectiles that travel at most Projectile.MAX_STEP cells are
+     * moved right here. The others are updated by themselves.
+     */
+    public void update(long dt) {
+        double seconds = dt / 1000.0;
+        double maxStepSquared = Projectile.MAX_STEP * Projectile.MAX_STEP;
+
+        for (int i = 0; i < size; i++) {
+            double dx = vx[i] * seconds;
+            double dy = vy[i] * seconds;
+
+            if (dx * dx + dy * dy <= maxStepSquared && projectiles[i].isBallistic()) {
+                previousX[i] = x[i];
+                previousY[i] = y[i];
+                x[i] += dx;
+                y[i] += dy;
+            } else {
+                projectiles[i].update(dt);
+            }
+        }
+    }
+
+
+    /**
+     * Returns the number of projectiles in the store
+     */
+    public int size() {
+        return size;
+    }
+
+
+    Point location(int i) {
+        return Point.pt(x[i], y[i]);
+    }
+
+
+    void setLocation(int i, Point location) {
+        previousX[i] = x[i];
+        previousY[i] = y[i];
+        x[i] = location.x();
+        y[i] = location.y();
+    }
+
+
+    Point previousLocation(int i) {
+        return Point.pt(previousX[i], previousY[i]);
+    }
+
+
+    Vector velocity(int i) {
+        return Vector.vec(vx[i], vy[i]);
+    }
+
+
+    void setVelocity(int i, Vector velocity) {
+        vx[i] = velocity.x();
+        vy[i] = velocity.y();
+    }
+
+
+    /**
+     * Doubles the capacity of the store
+     */
+    private void grow() {
+        int capacity = 2 * projectiles.length;
+        projectiles = Arrays.copyOf(projectiles, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+    }
+}
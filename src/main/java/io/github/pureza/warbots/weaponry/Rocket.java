@@ -4,6 +4,7 @@ import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.game.Game;
 import io.github.pureza.warbots.resources.Sprites;
 import io.github.pureza.warbots.entities.StaticEntity;
+import io.github.pureza.warbots.geometry.Size;
 import io.github.pureza.warbots.geometry.Vector;
 
 import java.awt.*;
@@ -25,9 +26,6 @@ public class Rocket extends Projectile {
     /** Is the rocket's explosion radius decreasing? */
     private boolean backwards = false;
 
-    /** The center of the explosion, in screen coordinates */
-    private Point2D explosionCenter;
-
     /** The explosion radius */
     private double explosionRadius;
 
@@ -37,6 +35,9 @@ public class Rocket extends Projectile {
     /** The maximum explosion radius */
     private double maxExplosionRadius;
 
+    /** The center of the explosion, once the rocket explodes */
+    private io.github.pureza.warbots.geometry.Point center;
+
 
     public Rocket(Game game, Bot shooter, io.github.pureza.warbots.geometry.Point location, double rotation, double speed, double boundingRadius,
                   int damage, double minExplosionRadius, double maxExplosionRadius) {
@@ -61,12 +62,27 @@ public class Rocket extends Projectile {
     }
 
 
+    /**
+     * Explodes at the point of impact, rather than wherever the rocket
+     * ended up after going through the entity
+     */
+    @Override
+    public void hitStaticEntity(StaticEntity entity, io.github.pureza.warbots.geometry.Point impact) {
+        explode(impact);
+    }
+
+
     /**
      * If this rocket is exploding, updates the radius of the explosion.
      */
     @Override
     public void update(long dt) {
         if (this.exploding) {
+            // Stand where the rocket exploded, now that projectiles may move
+            if (!getLocation().equals(center)) {
+                setLocation(center);
+            }
+
             if (!backwards) {
                 // The radius is still growing
                 explosionRadius += dt / 150.0;
@@ -92,9 +108,8 @@ public class Rocket extends Projectile {
     public void render(Graphics2D graphics) {
         if (!exploding) {
             super.render(graphics);
-        } else if (this.explosionRadius < 0.1) {
-            game.removeProjectile(this);
-        } else {
+        } else if (this.explosionRadius >= minExplosionRadius) {
+            // Once the explosion fades away, update() removes the rocket
             renderExplosion(graphics);
         }
     }
@@ -107,11 +122,18 @@ public class Rocket extends Projectile {
      * damage upon nearby bots.
      */
     void explode() {
+        explode(getLocation());
+    }
+
+
+    /**
+     * Explodes the rocket at the given point
+     */
+    void explode(io.github.pureza.warbots.geometry.Point center) {
         // The if is to make sure we only hit the entity once
         if (!exploding) {
-            this.velocity = new Vector(0, 0);
-
-            this.explosionCenter = new Point2D.Double(this.sprite.getX() + this.sprite.getWidth() / 2, this.sprite.getY()  + this.sprite.getHeight() / 2);
+            this.center = center;
+            this.setVelocity(new Vector(0, 0));
             this.explosionRadius = minExplosionRadius;
             this.exploding = true;
 
@@ -121,6 +143,15 @@ public class Rocket extends Projectile {
     }
 
 
+    /**
+     * While exploding, the rocket stands still and updates its explosion
+     */
+    @Override
+    public boolean isBallistic() {
+        return !exploding;
+    }
+
+
     public boolean isExploding() {
         return exploding;
     }
@@ -136,8 +167,8 @@ public class Rocket extends Projectile {
      * (based on the distance from the center of the explosion), and applies it
      */
     private void inflictDamageNearby() {
-        for (Bot bot : game.getBotsInRange(this.getLocation(), maxExplosionRadius)) {
-            double distance = this.getLocation().distanceTo(bot.getLocation());
+        for (Bot bot : game.getBotsInRange(center, maxExplosionRadius)) {
+            double distance = center.distanceTo(bot.getLocation());
             int damage = (int) ((1 - distance / maxExplosionRadius) * this.getDamage());
             assert damage >= 0 : damage;
             bot.inflictDamage(this, damage);
@@ -149,7 +180,12 @@ public class Rocket extends Projectile {
      * Renders the explosion
      */
     private void renderExplosion(Graphics2D graphics) {
-        int radius = (int) (explosionRadius * Sprites.CELL_SIZE.width());
+        Size cellSize = Sprites.CELL_SIZE;
+        int radius = (int) (explosionRadius * cellSize.width());
+
+        // The center of the explosion, in screen coordinates
+        Point2D explosionCenter = new Point2D.Double(center.x() * cellSize.width(),
+                (game.getMap().height() - center.y()) * cellSize.height());
 
         // Gradient options
         float[] dist = { 0f, 1f };
@@ -3,6 +3,7 @@ package io.github.pureza.warbots.weaponry;
 import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.geometry.Vector;
 
+import java.io.Serializable;
 import java.util.Random;
 
 /**
@@ -13,7 +14,7 @@ import java.util.Random;
  * (projectiles from different weapons travel at different speeds) and the
  * remaining ammunition.
  */
-public abstract class Weapon {
+public abstract class Weapon implements Serializable {
 
     /**
      * Existing types of weapons
@@ -38,14 +39,20 @@ public abstract class Weapon {
     /** The fuzzy evaluator used to calculate the desirability of using this weapon */
     private final WeaponEvaluator weaponEvaluator;
 
-    /** The time when the last shot was fired. There is a minimum delay between two shots */
-    private long lastShotTime;
+    /**
+     * The time when the last shot was fired, or null if the weapon has never
+     * been fired. There is a minimum delay between two shots
+     */
+    private Long lastShotTime;
 
     /** Builder for projectiles for this weapon */
     private ProjectileBuilder projectileBuilder;
 
-    /** Random number generator to add some variability to the shooting accuracy */
-    private Random random = new Random(123);
+    /**
+     * Random number generator to add some variability to the shooting
+     * accuracy, seeded from the owner's
+     */
+    private final Random random;
 
 
     /**
@@ -53,6 +60,7 @@ public abstract class Weapon {
      */
     public Weapon(Bot owner, int initialAmmo, int maxAmmo, int fireRate, ProjectileBuilder projectileBuilder) {
         this.owner = owner;
+        this.random = new Random(owner.getRandom().nextLong());
         this.maxAmmo = maxAmmo;
         this.fireRate = fireRate;
         this.weaponEvaluator = initEvaluator();
@@ -102,7 +110,7 @@ public abstract class Weapon {
      * at, with a small random noise added.
      */
     public Projectile fire() {
-        long now = System.currentTimeMillis();
+        long now = owner.getGame().getClock().now();
         if (this.isReady(now) && this.remainingAmmo > 0) {
             this.remainingAmmo--;
             this.lastShotTime = now;
@@ -119,7 +127,7 @@ public abstract class Weapon {
     }
 
 
-    public long getLastShotTime() {
+    public Long getLastShotTime() {
         return lastShotTime;
     }
 
@@ -144,10 +152,11 @@ public abstract class Weapon {
      * Checks if the weapon is ready to shoot
      *
      * The weapon is ready to shoot if enough time has passed since the last
-     * shot, where "enough time" depends on the weapon's fire rate.
+     * shot, where "enough time" depends on the weapon's fire rate. A weapon
+     * that has never been fired is always ready.
      */
     protected boolean isReady(long now) {
-        return now - this.lastShotTime > (1000 / this.fireRate);
+        return this.lastShotTime == null || now - this.lastShotTime > (1000 / this.fireRate);
     }
 
 
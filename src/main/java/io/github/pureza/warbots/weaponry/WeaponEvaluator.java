@@ -6,6 +6,7 @@ import nrc.fuzzy.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -17,7 +18,7 @@ import java.util.List;
  * taking variables such as ammunition left and distance to opponent into
  * consideration.
  */
-public abstract class WeaponEvaluator {
+public abstract class WeaponEvaluator implements Serializable {
 
     /** Fuzzy rules */
     private List<FuzzyRule> rules = new LinkedList<>();
@@ -59,7 +60,7 @@ public abstract class WeaponEvaluator {
     protected Term loads;
 
     /** The logger */
-    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private static final Logger logger = LoggerFactory.getLogger(WeaponEvaluator.class);
 
 
     public WeaponEvaluator(Weapon weapon) {
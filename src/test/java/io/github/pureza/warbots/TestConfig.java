@@ -36,6 +36,16 @@ public class TestConfig implements Config {
             public double aimNoise() {
                 return 0.2;
             }
+
+            @Override
+            public double idleRadius() {
+                return 10;
+            }
+
+            @Override
+            public long idleUpdateInterval() {
+                return 0;
+            }
         };
 
         WeaponConfig handgunCfg = new WeaponConfig() {
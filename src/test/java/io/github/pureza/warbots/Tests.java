@@ -2,6 +2,9 @@ package io.github.pureza.warbots;
 
 import io.github.pureza.warbots.entities.*;
 import io.github.pureza.warbots.game.Game;
+import io.github.pureza.warbots.game.RandomStreams;
+import io.github.pureza.warbots.game.SimulationClock;
+import io.github.pureza.warbots.game.TimingWheel;
 import io.github.pureza.warbots.geometry.Vector;
 import io.github.pureza.warbots.memory.Memory;
 import io.github.pureza.warbots.weaponry.*;
@@ -10,6 +13,7 @@ import io.github.pureza.warbots.navigation.Map;
 
 import java.awt.image.BufferedImage;
 import java.util.Collections;
+import java.util.Random;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
@@ -39,6 +43,7 @@ public class Tests {
         when(bot.getLocation()).thenReturn(location);
         when(bot.isDead()).thenReturn(false);
         when(bot.getMaxSpeed()).thenReturn(2.0);
+        when(bot.getRandom()).thenReturn(new Random(0));
 
         Memory memory = new Memory(bot);
         when(bot.getMemory()).thenReturn(memory);
@@ -56,6 +61,9 @@ public class Tests {
         when(game.getImage(any())).thenReturn(mock(BufferedImage.class));
         when(game.getMap()).thenReturn(map);
         when(game.getConfig()).thenReturn(new TestConfig());
+        when(game.getClock()).thenReturn(new SimulationClock());
+        when(game.getRandom()).thenReturn(new RandomStreams(0));
+        when(game.getTimers()).thenReturn(new TimingWheel());
 
         return game;
     }
@@ -66,6 +74,7 @@ public class Tests {
         when (map.getItems()).thenReturn(Collections.emptyList());
         when (map.getWeaponItems()).thenReturn(Collections.emptyList());
         when (map.getFirstAidItems()).thenReturn(Collections.emptyList());
+        when (map.getItemsVisibleFrom(any())).thenAnswer(invocation -> map.getItems());
 
         return map;
     }
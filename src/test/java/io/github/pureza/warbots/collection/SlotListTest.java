@@ -0,0 +1,170 @@
+package io.github.pureza.warbots.collection;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+
+public class SlotListTest {
+
+    /*
+     * long insert(E element)
+     */
+
+    @Test
+    public void insertAppendsTheElement() {
+        SlotList<String> list = new SlotList<>();
+        list.insert("a");
+        list.insert("b");
+
+        assertThat(list, contains("a", "b"));
+    }
+
+
+    @Test
+    public void insertReturnsAHandleToTheElement() {
+        SlotList<String> list = new SlotList<>();
+        long a = list.insert("a");
+        long b = list.insert("b");
+
+        assertThat(list.lookup(a), is("a"));
+        assertThat(list.lookup(b), is("b"));
+    }
+
+
+    @Test
+    public void insertGrowsTheList() {
+        SlotList<Integer> list = new SlotList<>();
+        for (int i = 0; i < 100; i++) {
+            list.insert(i);
+        }
+
+        assertThat(list.size(), is(100));
+        assertThat(list.get(99), is(99));
+    }
+
+
+    /*
+     * boolean remove(long handle)
+     */
+
+    @Test
+    public void removeMovesTheLastElementIntoThePlaceOfTheRemovedOne() {
+        SlotList<String> list = new SlotList<>();
+        long a = list.insert("a");
+        list.insert("b");
+        list.insert("c");
+
+        assertThat(list.remove(a), is(true));
+
+        assertThat(list, contains("c", "b"));
+    }
+
+
+    @Test
+    public void removeKeepsTheHandlesOfTheOtherElements() {
+        SlotList<String> list = new SlotList<>();
+        long a = list.insert("a");
+        long b = list.insert("b");
+        long c = list.insert("c");
+
+        list.remove(a);
+
+        assertThat(list.lookup(b), is("b"));
+        assertThat(list.lookup(c), is("c"));
+    }
+
+
+    @Test
+    public void removeIgnoresElementsThatHaveAlreadyBeenRemoved() {
+        SlotList<String> list = new SlotList<>();
+        long a = list.insert("a");
+        list.insert("b");
+
+        list.remove(a);
+
+        assertThat(list.remove(a), is(false));
+        assertThat(list, contains("b"));
+    }
+
+
+    @Test
+    public void removeIgnoresStaleHandlesEvenIfTheSlotIsReused() {
+        SlotList<String> list = new SlotList<>();
+        long a = list.insert("a");
+        list.remove(a);
+
+        // The new element reuses the slot of the first one
+        long b = list.insert("b");
+
+        assertThat(list.remove(a), is(false));
+        assertThat(list.lookup(a), is(nullValue()));
+        assertThat(list.lookup(b), is("b"));
+    }
+
+
+    @Test
+    public void removeIgnoresNoHandle() {
+        SlotList<String> list = new SlotList<>();
+        list.insert("a");
+
+        assertThat(list.remove(SlotList.NO_HANDLE), is(false));
+        assertThat(list, is(not(empty())));
+    }
+
+
+    /*
+     * boolean isValid(long handle)
+     */
+
+    @Test
+    public void isValidOnlyUntilTheElementIsRemoved() {
+        SlotList<String> list = new SlotList<>();
+        long a = list.insert("a");
+        assertThat(list.isValid(a), is(true));
+
+        list.remove(a);
+
+        assertThat(list.isValid(a), is(false));
+    }
+
+
+    /*
+     * void clear()
+     */
+
+    @Test
+    public void clearRemovesAllElementsAndInvalidatesTheirHandles() {
+        SlotList<String> list = new SlotList<>();
+        long a = list.insert("a");
+        long b = list.insert("b");
+
+        list.clear();
+
+        assertThat(list, is(empty()));
+        assertThat(list.isValid(a), is(false));
+        assertThat(list.isValid(b), is(false));
+    }
+
+
+    /*
+     * E get(int index)
+     */
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void getFailsBeyondTheLastElement() {
+        SlotList<String> list = new SlotList<>();
+        list.insert("a");
+        list.get(1);
+    }
+
+
+    @Test(expected=UnsupportedOperationException.class)
+    public void theListCantBeChangedThroughTheListInterface() {
+        new SlotList<String>().add("a");
+    }
+}
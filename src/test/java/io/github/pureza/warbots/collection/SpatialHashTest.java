@@ -0,0 +1,228 @@
+package io.github.pureza.warbots.collection;
+
+import io.github.pureza.warbots.geometry.Point;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static io.github.pureza.warbots.geometry.Point.pt;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+
+public class SpatialHashTest {
+
+    /** The location of each element */
+    private final java.util.Map<String, Point> locations = new HashMap<>();
+
+    /** The grid, for a 10x10 map */
+    private final SpatialHash<String> grid = new SpatialHash<>(10, 10, locations::get, element -> 0.5);
+
+
+    /*
+     * SpatialHash(int width, int height, ...)
+     */
+
+    @Test(expected=IllegalArgumentException.class)
+    public void constructorFailsOnEmptyMap() {
+        new SpatialHash<String>(0, 10, locations::get, element -> 0.5);
+    }
+
+
+    /*
+     * void insert(E element)
+     */
+
+    @Test
+    public void insertAddsTheElementToItsCell() {
+        add("a", pt(5.5, 5.5));
+
+        assertThat(grid.size(), is(1));
+        assertThat(near(pt(5.1, 5.9), 0), contains("a"));
+        assertThat(near(pt(6.1, 5.5), 0), is(empty()));
+    }
+
+
+    @Test
+    public void insertKeepsElementsOutsideTheMapAtTheBorder() {
+        add("a", pt(-5, 20));
+
+        assertThat(near(pt(-0.5, 10.5), 0), contains("a"));
+    }
+
+
+    /*
+     * boolean remove(E element)
+     */
+
+    @Test
+    public void removeRemovesTheElement() {
+        add("a", pt(5.5, 5.5));
+        add("b", pt(5.5, 5.5));
+
+        assertThat(grid.remove("a"), is(true));
+        assertThat(grid.size(), is(1));
+        assertThat(near(pt(5.5, 5.5), 0), contains("b"));
+    }
+
+
+    @Test
+    public void removeReturnsFalseIfTheElementIsntInTheGrid() {
+        locations.put("a", pt(5.5, 5.5));
+
+        assertThat(grid.remove("a"), is(false));
+    }
+
+
+    /*
+     * void move(E element, Point from, Point to)
+     */
+
+    @Test
+    public void moveMovesTheElementToItsNewCell() {
+        add("a", pt(5.5, 5.5));
+
+        locations.put("a", pt(8.5, 2.5));
+        grid.move("a", pt(5.5, 5.5), pt(8.5, 2.5));
+
+        assertThat(near(pt(5.5, 5.5), 0), is(empty()));
+        assertThat(near(pt(8.5, 2.5), 0), contains("a"));
+        assertThat(grid.size(), is(1));
+    }
+
+
+    @Test
+    public void moveIgnoresElementsThatArentInTheGrid() {
+        grid.move("a", pt(5.5, 5.5), pt(8.5, 2.5));
+
+        assertThat(near(pt(8.5, 2.5), 0), is(empty()));
+        assertThat(grid.size(), is(0));
+    }
+
+
+    /*
+     * void forEachNear(Point center, double distance, Consumer<E> action)
+     */
+
+    @Test
+    public void forEachNearVisitsTheCellsAroundTheCircle() {
+        add("a", pt(5.5, 5.5));
+        add("b", pt(4.1, 6.9));
+        add("c", pt(3.9, 5.5));
+
+        assertThat(near(pt(5.5, 5.5), 1.4), containsInAnyOrder("a", "b"));
+    }
+
+
+    /*
+     * boolean anyNear(Point center, double distance, Predicate<E> test)
+     */
+
+    @Test
+    public void anyNearOnlyTestsTheElementsAroundTheCircle() {
+        add("a", pt(5.5, 5.5));
+        add("far", pt(9.5, 9.5));
+
+        List<String> tested = new ArrayList<>();
+        boolean found = grid.anyNear(pt(5.5, 5.5), 1, element -> tested.add(element) && element.equals("far"));
+
+        assertThat(found, is(false));
+        assertThat(tested, contains("a"));
+    }
+
+
+    @Test
+    public void anyNearStopsAtTheFirstElementThatPasses() {
+        add("a", pt(5.5, 5.5));
+        add("b", pt(5.6, 5.6));
+
+        List<String> tested = new ArrayList<>();
+        assertThat(grid.anyNear(pt(5.5, 5.5), 1, tested::add), is(true));
+        assertThat(tested, contains("a"));
+    }
+
+
+    /*
+     * void forEachNearSegment(Point from, Point to, double distance, Consumer<E> action)
+     */
+
+    @Test
+    public void forEachNearSegmentVisitsOnlyTheCellsAlongTheSegment() {
+        add("start", pt(1.5, 1.5));
+        add("middle", pt(5.2, 4.8));
+        add("end", pt(8.5, 8.5));
+        add("corner", pt(8.5, 1.5));
+
+        assertThat(nearSegment(pt(1.5, 1.5), pt(8.5, 8.5), 0.5), containsInAnyOrder("start", "middle", "end"));
+    }
+
+
+    @Test
+    public void forEachNearSegmentVisitsEachElementOnce() {
+        add("a", pt(5.5, 5.5));
+
+        assertThat(nearSegment(pt(2.5, 5.5), pt(8.5, 5.5), 2), contains("a"));
+    }
+
+
+    @Test
+    public void forEachNearSegmentWorksForASinglePoint() {
+        add("a", pt(5.5, 5.5));
+
+        assertThat(nearSegment(pt(5.2, 5.2), pt(5.2, 5.2), 0), contains("a"));
+    }
+
+
+    /*
+     * List<E> getInRange(Point center, double radius)
+     */
+
+    @Test
+    public void getInRangeReturnsOnlyTheElementsInsideTheCircle() {
+        add("a", pt(5.5, 5.5));
+        add("b", pt(4.1, 6.9));
+        add("c", pt(6.4, 5.5));
+
+        assertThat(grid.getInRange(pt(5.5, 5.5), 1), containsInAnyOrder("a", "c"));
+    }
+
+
+    /*
+     * void clear()
+     */
+
+    @Test
+    public void clearRemovesAllElements() {
+        add("a", pt(5.5, 5.5));
+        add("b", pt(1.5, 1.5));
+
+        grid.clear();
+
+        assertThat(grid.size(), is(0));
+        assertThat(grid.getInRange(pt(5, 5), 10), is(empty()));
+    }
+
+
+    private void add(String element, Point location) {
+        locations.put(element, location);
+        grid.insert(element);
+    }
+
+
+    private List<String> near(Point center, double distance) {
+        List<String> near = new ArrayList<>();
+        grid.forEachNear(center, distance, near::add);
+        return near;
+    }
+
+
+    private List<String> nearSegment(Point from, Point to, double distance) {
+        List<String> near = new ArrayList<>();
+        grid.forEachNearSegment(from, to, distance, near::add);
+        return near;
+    }
+}
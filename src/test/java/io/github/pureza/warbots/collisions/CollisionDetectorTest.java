@@ -18,6 +18,7 @@ import org.junit.Test;
 import java.awt.image.BufferedImage;
 import java.util.List;
 
+import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsEmptyCollection.empty;
@@ -216,6 +217,21 @@ public class CollisionDetectorTest {
     }
 
 
+    @Test
+    public void detectBotWallCollisionsOnlyChecksTheGivenBots() {
+        Wall wall = new Wall(Point.pt(5, 5), new Size(1, 1));
+        game.getMap().addEntity(wall);
+
+        Bot a = Tests.buildBot(game, Point.pt(4.9, 4.9), Tests.mockTeam());
+        game.addBot(a);
+
+        Bot b = Tests.buildBot(game, Point.pt(6.1, 6.1), Tests.mockTeam());
+        game.addBot(b);
+
+        assertThat(detector.detectBotWallCollisions(asList(b)), containsInAnyOrder(new BotWallCollision(b, wall, Point.pt(6.1, 6.1), Point.pt(5, 5))));
+    }
+
+
     /*
      * List<Collision> detectProjectileWallCollisions
      */
@@ -302,6 +318,23 @@ public class CollisionDetectorTest {
     }
 
 
+    @Test
+    public void detectProjectileWallCollisionsDetectsProjectilesThatWentThroughAWall() {
+        Wall wall = new Wall(Point.pt(5, 3), new Size(1, 1));
+        game.getMap().addEntity(wall);
+
+        // The bullet jumped over the wall in a single step
+        Projectile bullet = Tests.buildBullet(game, Point.pt(2.5, 3.5));
+        bullet.setLocation(Point.pt(8.5, 3.5));
+        game.addProjectile(bullet);
+
+        List<Collision> collisions = detector.detectProjectileWallCollisions();
+
+        assertThat(collisions, containsInAnyOrder(new ProjectileWallCollision(bullet, wall)));
+        assertThat(((ProjectileWallCollision) collisions.get(0)).getImpact(), is(Point.pt(5, 3.5)));
+    }
+
+
     /*
      * List<Collision> detectBotProjectileCollisions()
      */
@@ -323,6 +356,25 @@ public class CollisionDetectorTest {
     }
 
 
+    @Test
+    public void detectBotProjectileCollisionsDetectsCollisionInTheMiddleOfALongTrajectory() {
+        Bot bot = Tests.buildBot(game, Point.pt(5.0, 5.1), Tests.mockTeam());
+        game.addBot(bot);
+
+        // A bot far away from the trajectory
+        Bot other = Tests.buildBot(game, Point.pt(8.0, 2.0), Tests.mockTeam());
+        game.addBot(other);
+
+        Projectile bullet = Tests.buildBullet(game, Point.pt(1.5, 1.5), Math.PI / 4);
+        game.addProjectile(bullet);
+
+        // The bullet crosses the map diagonally, from one end to the other
+        bullet.update(300);
+
+        assertThat(detector.detectBotProjectileCollisions(), containsInAnyOrder(new BotProjectileCollision(bot, bullet)));
+    }
+
+
     @Test
     public void detectBotProjectileCollisionsIgnoresBotBehindProjectile() {
         Bot bot = Tests.buildBot(game, Point.pt(3.0, 5.0), Tests.mockTeam());
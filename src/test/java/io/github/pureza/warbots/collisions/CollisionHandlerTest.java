@@ -163,6 +163,28 @@ public class CollisionHandlerTest {
     }
 
 
+    @Test
+    public void projectilesThatHitWallsDontHitBotsBehindThem() {
+        Wall wall = new Wall(pt(5, 5), new Size(1, 1));
+        game.getMap().addEntity(wall);
+
+        Bot bot = buildBot(game, pt(8, 5.5), mockTeam());
+        game.addBot(bot);
+        int prevHealth = bot.getHealth();
+
+        // The bullet goes through the wall and stops right inside the bot
+        Projectile bullet = buildBullet(game, pt(4, 5.5));
+        game.addProjectile(bullet);
+        bullet.setLocation(pt(7.8, 5.5));
+
+        handler.handle();
+
+        assertThat(game.getLostProjectiles(), contains(bullet));
+        assertThat(bot.getHealth(), is(prevHealth));
+        assertThat(bullet.getLocation(), is(pt(7.8, 5.5)));
+    }
+
+
     @Test
     public void handlingBotBotCollisionsMayGenerateNewBotBotCollisions() {
         // The bots are not colliding initially
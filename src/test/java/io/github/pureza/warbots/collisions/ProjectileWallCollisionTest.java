@@ -6,7 +6,9 @@ import io.github.pureza.warbots.geometry.Size;
 import io.github.pureza.warbots.weaponry.Projectile;
 import org.junit.Test;
 
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 public class ProjectileWallCollisionTest {
@@ -21,4 +23,17 @@ public class ProjectileWallCollisionTest {
 
         verify(projectile).hitStaticEntity(wall);
     }
+
+
+    @Test
+    public void projectileHitsWallAtThePointOfImpact() {
+        Projectile projectile = mock(Projectile.class);
+        Wall wall = new Wall(Point.pt(1, 1), new Size(1, 1));
+
+        ProjectileWallCollision collision = new ProjectileWallCollision(projectile, wall, Point.pt(1, 1.5));
+        collision.handle();
+
+        verify(projectile).hitStaticEntity(wall, Point.pt(1, 1.5));
+        verify(projectile, never()).setLocation(any());
+    }
 }
@@ -1,6 +1,11 @@
 package io.github.pureza.warbots.entities;
 
 import io.github.pureza.warbots.Matchers;
+import io.github.pureza.warbots.TestConfig;
+import io.github.pureza.warbots.collection.SpatialHash;
+import io.github.pureza.warbots.config.BotConfig;
+import io.github.pureza.warbots.config.Config;
+import io.github.pureza.warbots.game.BotVisibility;
 import io.github.pureza.warbots.game.Game;
 import io.github.pureza.warbots.geometry.Vector;
 import io.github.pureza.warbots.memory.ItemMemoryRecord;
@@ -47,6 +52,35 @@ public class BotTest {
     }
 
 
+    /**
+     * Makes idle bots update only once every interval ms
+     */
+    private void setIdleUpdateInterval(long interval) {
+        BotConfig botConfig = mock(BotConfig.class);
+        when(botConfig.idleRadius()).thenReturn(10.0);
+        when(botConfig.idleUpdateInterval()).thenReturn(interval);
+
+        Config config = spy(new TestConfig());
+        when(config.botConfig()).thenReturn(botConfig);
+        when(bot.getGame().getConfig()).thenReturn(config);
+        useBotGrid();
+    }
+
+
+    /**
+     * Gives the game a bot grid for a 30x30 map, holding the given bots
+     */
+    private SpatialHash<Bot> useBotGrid(Bot... bots) {
+        SpatialHash<Bot> grid = new SpatialHash<>(30, 30, Bot::getLocation, Bot::getBoundingRadius);
+        for (Bot other : bots) {
+            grid.insert(other);
+        }
+
+        when(bot.getGame().getBotGrid()).thenReturn(grid);
+        return grid;
+    }
+
+
     /*
      * void acquireHealth(int amount)
      */
@@ -194,6 +228,30 @@ public class BotTest {
     }
 
 
+    @Test
+    public void isInFovReadsTheVisibilityComputedForTheBots() {
+        Bot other = mockBot(pt(5, 0));
+        BotVisibility visibility = mock(BotVisibility.class);
+        when(visibility.covers(any())).thenReturn(true);
+        when(bot.getGame().getBotVisibility()).thenReturn(visibility);
+
+        assertThat(bot.isInFov(other), is(false));
+        verify(visibility).isInFov(bot, other);
+    }
+
+
+    /*
+     * boolean isFacing(Entity other)
+     */
+
+    @Test
+    public void isFacingIgnoresWalls() {
+        Bot other = mockBot(pt(5, 0));
+        bot.getGame().getMap().addEntity(new Wall(pt(3, 0), new Size(1, 1)));
+        assertThat(bot.isFacing(other), is(true));
+    }
+
+
     /*
      * List<Bot> getBotsInFov
      */
@@ -493,6 +551,118 @@ public class BotTest {
     }
 
 
+    /*
+     * void think(long dt)
+     */
+
+    @Test
+    public void thinkDoesntMoveTheBot() {
+        bot.seek(pt(5, 5));
+
+        bot.think(1000);
+
+        assertThat(bot.getLocation(), is(pt(0, 0)));
+        assertThat(bot.getVelocity(), Is.is(Vector.vec(0, 0)));
+    }
+
+
+    @Test
+    public void thinkUpdatesIdleBotsOnlyOnceInAWhile() {
+        setIdleUpdateInterval(100);
+        bot.seek(pt(5, 5));
+
+        for (int i = 0; i < 2; i++) {
+            bot.think(40);
+            bot.act(40);
+            assertThat(bot.getLocation(), is(pt(0, 0)));
+        }
+
+        // The third update catches up with the time that has passed
+        bot.think(40);
+        bot.act(40);
+        assertThat(bot.getLocation(), is(closeTo(pt(0.12 * Math.sqrt(2), 0.12 * Math.sqrt(2)))));
+    }
+
+
+    @Test
+    public void thinkUpdatesBotsThatAreNotIdleOnEveryStep() {
+        setIdleUpdateInterval(100);
+        Bot enemy = mockBot(pt(3, 3));
+        when(enemy.getTeam()).thenReturn(mockTeam());
+        useBotGrid(enemy);
+        bot.seek(pt(5, 5));
+
+        bot.think(40);
+        bot.act(40);
+
+        assertThat(bot.getLocation(), is(closeTo(pt(0.04 * Math.sqrt(2), 0.04 * Math.sqrt(2)))));
+    }
+
+
+    /*
+     * boolean isIdle()
+     */
+
+    @Test
+    public void isIdleReturnsTrueIfNoEnemyIsAround() {
+        Bot mate = mockBot(pt(1, 1));
+        when(mate.getTeam()).thenReturn(bot.getTeam());
+        Bot enemy = mockBot(pt(9, 9));
+        when(enemy.getTeam()).thenReturn(mockTeam());
+        useBotGrid(bot, mate, enemy);
+
+        assertThat(bot.isIdle(), is(true));
+    }
+
+
+    @Test
+    public void isIdleNeverLooksAtEnemiesFarAway() {
+        Bot enemy = mockBot(pt(25, 25));
+        when(enemy.getTeam()).thenReturn(mockTeam());
+        useBotGrid(bot, enemy);
+
+        assertThat(bot.isIdle(), is(true));
+        verify(enemy, never()).getTeam();
+        verify(enemy, never()).isDead();
+    }
+
+
+    @Test
+    public void isIdleReturnsFalseIfAnEnemyIsWithinTheIdleRadius() {
+        Bot enemy = mockBot(pt(6, 6));
+        when(enemy.getTeam()).thenReturn(mockTeam());
+        useBotGrid(enemy);
+
+        assertThat(bot.isIdle(), is(false));
+    }
+
+
+    @Test
+    public void isIdleReturnsFalseIfTheBotHasBeenShot() {
+        Projectile projectile = mock(Projectile.class);
+        when(projectile.getHeadingVector()).thenReturn(Vector.vec(1, 0));
+
+        bot.inflictDamage(projectile, 20);
+
+        assertThat(bot.isIdle(), is(false));
+    }
+
+
+    /*
+     * void act(long dt)
+     */
+
+    @Test
+    public void actMovesTheBotWithTheVelocityComputedByThink() {
+        bot.seek(pt(5, 5));
+
+        bot.think(1000);
+        bot.act(1000);
+
+        assertThat(bot.getLocation(), is(closeTo(pt(Math.sqrt(2), Math.sqrt(2)))));
+    }
+
+
     @Test
     public void updateUpdatesMemory() {
         FirstAidItem item = buildFirstAidItem(pt(2.5, 2.5));
@@ -2,6 +2,7 @@ package io.github.pureza.warbots.entities;
 
 import com.golden.gamedev.object.Sprite;
 import io.github.pureza.warbots.game.Game;
+import io.github.pureza.warbots.game.TimingWheel;
 import io.github.pureza.warbots.memory.ItemMemoryRecord;
 import org.junit.Test;
 import io.github.pureza.warbots.TestConfig;
@@ -50,62 +51,50 @@ public class InventoryItemTest {
 
 
     /*
-     * void update(long dt)
+     * void caughtBy(Bot bot)
      */
 
     @Test
-    public void updateIgnoresActiveItems() {
+    public void caughtByDeactivatesItem() {
         InventoryItem item = buildFirstAidItem(pt(5.5, 5.5));
-        item.update(1000);
-
-        assertThat(item.isActive(), is(true));
-    }
-
-
-    @Test
-    public void updateIncreasesTimeSinceDeactivationForInactiveItem() {
-        InventoryItem item = buildFirstAidItem(pt(5.5, 5.5));
-        item.deactivate();
-        item.update(1000);
-        assertThat(item.timeSinceDeactivation, is(1000L));
-    }
 
+        Bot bot = mockBot();
+        bot.getMemory().getItemMemory().getRecords().put(item, new ItemMemoryRecord(item.getActivationInterval(), ItemMemoryRecord.State.ACTIVE));
 
-    @Test
-    public void updateActivatesItemIfEnoughTimeHasPassed() {
-        InventoryItem item = buildFirstAidItem(pt(5.5, 5.5));
-        item.deactivate();
-        item.update(100000);
-        assertThat(item.isActive(), is(true));
+        item.caughtBy(bot);
+        assertThat(item.isActive(), is(false));
     }
 
 
-    /*
-     * void caughtBy(Bot bot)
-     */
-
     @Test
-    public void caughtByDeactivatesItem() {
+    public void caughtByUpdatesBotMemory() {
         InventoryItem item = buildFirstAidItem(pt(5.5, 5.5));
 
         Bot bot = mockBot();
         bot.getMemory().getItemMemory().getRecords().put(item, new ItemMemoryRecord(item.getActivationInterval(), ItemMemoryRecord.State.ACTIVE));
 
         item.caughtBy(bot);
-        assertThat(item.isActive(), is(false));
+
+        assertThat(bot.getMemory().getItemRecord(item).getState(), is(ItemMemoryRecord.State.INACTIVE_CERTAIN));
     }
 
 
     @Test
-    public void caughtByUpdatesBotMemory() {
+    public void caughtByActivatesTheItemAfterTheActivationInterval() {
         InventoryItem item = buildFirstAidItem(pt(5.5, 5.5));
 
         Bot bot = mockBot();
         bot.getMemory().getItemMemory().getRecords().put(item, new ItemMemoryRecord(item.getActivationInterval(), ItemMemoryRecord.State.ACTIVE));
+        bot.getGame().getClock().advance(500);
+        TimingWheel timers = bot.getGame().getTimers();
 
         item.caughtBy(bot);
 
-        assertThat(bot.getMemory().getItemRecord(item).getState(), is(ItemMemoryRecord.State.INACTIVE_CERTAIN));
+        timers.advanceTo(500 + item.getActivationInterval() - 1);
+        assertThat(item.isActive(), is(false));
+
+        timers.advanceTo(500 + item.getActivationInterval());
+        assertThat(item.isActive(), is(true));
     }
 
 
@@ -15,6 +15,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyDouble;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static io.github.pureza.warbots.Matchers.closeTo;
@@ -32,6 +33,11 @@ public class MovingEntityTest {
         Bot bot = mockBot();
         Bullet bullet = buildBullet(bot.getGame(), pt(0, 0), Math.PI);
 
+        // Fast projectiles move in sub-steps, checking for walls
+        Map map = bot.getGame().getMap();
+        when(map.isInside(any())).thenReturn(true);
+        when(map.canStayAt(any(), anyDouble())).thenReturn(true);
+
         assertThat(bullet.getLocation(), is(closeTo(pt(0, 0))));
         bullet.update(1000);
 
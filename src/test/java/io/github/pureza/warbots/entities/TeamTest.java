@@ -30,7 +30,7 @@ public class TeamTest {
         ArgumentCaptor<Bot> spawnedBot = ArgumentCaptor.forClass(Bot.class);
         verify(game).addBot(spawnedBot.capture());
 
-        when(game.getBots()).thenReturn(singletonList(spawnedBot.getValue()));
+        when(game.getBotsInRange(any(), anyDouble())).thenReturn(singletonList(spawnedBot.getValue()));
 
         // The second bot is not spawned
         team.spawnBotIfNecessary(game);
@@ -49,7 +49,7 @@ public class TeamTest {
         verify(game, atLeastOnce()).addBot(firstBot.capture());
         assertThat(firstBot.getValue().getLocation(), org.hamcrest.Matchers.is(Point.pt(1, 1)));
 
-        when(game.getBots()).thenReturn(singletonList(firstBot.getValue()));
+        when(game.getBotsInRange(any(), anyDouble())).thenReturn(singletonList(firstBot.getValue()));
 
         // The second bot is spawned at a different location
         team.spawnBotIfNecessary(game);
@@ -72,4 +72,20 @@ public class TeamTest {
 
         assertThat(spawnedBot.getValue().getLocation(), org.hamcrest.Matchers.is(Point.pt(1, 1)));
     }
+
+
+    /*
+     * boolean hasSpawnedAllBots()
+     */
+
+    @Test
+    public void hasSpawnedAllBotsOnlyAfterTheLastBotIsSpawned() {
+        Game game = Tests.mockGame();
+        Team team = new Team(1, singletonList(Point.pt(1, 1)), "");
+        assertThat(team.hasSpawnedAllBots(), is(false));
+
+        team.spawnBotIfNecessary(game);
+
+        assertThat(team.hasSpawnedAllBots(), is(true));
+    }
 }
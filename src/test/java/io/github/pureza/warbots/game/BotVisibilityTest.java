@@ -0,0 +1,213 @@
+package io.github.pureza.warbots.game;
+
+import io.github.pureza.warbots.TestConfig;
+import io.github.pureza.warbots.Tests;
+import io.github.pureza.warbots.entities.Bot;
+import io.github.pureza.warbots.entities.Team;
+import io.github.pureza.warbots.entities.Wall;
+import io.github.pureza.warbots.geometry.Size;
+import io.github.pureza.warbots.navigation.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static io.github.pureza.warbots.geometry.Point.pt;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+
+public class BotVisibilityTest {
+
+    private Game game;
+
+    private BotVisibility visibility;
+
+    private Team team;
+
+
+    @Before
+    public void setUp() {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(pt(5, 0), new Size(1, 4)));
+
+        game = new Game(new TestConfig(), map, null, null);
+        visibility = game.getBotVisibility();
+        team = Tests.mockTeam();
+    }
+
+
+    /*
+     * void update()
+     */
+
+    @Test
+    public void updateAgreesWithTheBotsOwnChecks() {
+        addRandomBots(new Random(0), 40);
+
+        for (boolean parallel : new boolean[] { false, true }) {
+            visibility.update();
+            (parallel ? game.getBots().parallelStream() : game.getBots().stream())
+                    .forEach(bot -> visibility.getBotsInFov(bot));
+
+            assertAgreesWithTheBotsOwnChecks();
+        }
+    }
+
+
+    @Test
+    public void updateForgetsWhatWasFoundDuringTheLastTick() {
+        Random random = new Random(1);
+        addRandomBots(random, 40);
+
+        for (int tick = 0; tick < 3; tick++) {
+            visibility.update();
+            assertAgreesWithTheBotsOwnChecks();
+            visibility.clear();
+
+            for (Bot bot : game.getBots()) {
+                bot.setLocation(pt(random.nextDouble() * 10, random.nextDouble() * 10));
+                bot.setRotation(random.nextDouble() * 2 * Math.PI);
+            }
+        }
+    }
+
+
+    @Test
+    public void updateLeavesTheRowsOfBotsThatDontAskEmpty() {
+        Bot bot = Tests.buildBot(game, pt(1, 8), team);
+        Bot other = Tests.buildBot(game, pt(8, 8), team);
+        game.addBot(bot);
+        game.addBot(other);
+
+        visibility.update();
+        assertThat(visibility.isFilled(bot), is(false));
+        assertThat(visibility.isFilled(other), is(false));
+
+        visibility.isInFov(bot, other);
+        assertThat(visibility.isFilled(bot), is(true));
+        assertThat(visibility.isFilled(other), is(false));
+
+        visibility.clear();
+        visibility.update();
+        assertThat(visibility.isFilled(bot), is(false));
+    }
+
+
+    /*
+     * void clear()
+     */
+
+    @Test
+    public void clearForgetsEverything() {
+        Bot bot = Tests.buildBot(game, pt(1, 1), team);
+        game.addBot(bot);
+
+        assertThat(visibility.covers(bot), is(false));
+
+        visibility.update();
+        assertThat(visibility.covers(bot), is(true));
+
+        visibility.clear();
+        assertThat(visibility.covers(bot), is(false));
+    }
+
+
+    /*
+     * boolean covers(Bot bot)
+     */
+
+    @Test
+    public void coversIsFalseForBotsThatJoinedAfterwards() {
+        game.addBot(Tests.buildBot(game, pt(1, 1), team));
+        visibility.update();
+
+        Bot late = Tests.buildBot(game, pt(2, 2), team);
+        game.addBot(late);
+
+        assertThat(visibility.covers(late), is(false));
+    }
+
+
+    /*
+     * boolean isInFov(Bot bot, Bot other)
+     */
+
+    @Test
+    public void isInFovSeesBotsInTheSameDirection() {
+        Bot bot = Tests.buildBot(game, pt(1, 8), team);
+        Bot ahead = Tests.buildBot(game, pt(8, 8), team);
+        Bot behindTheWall = Tests.buildBot(game, pt(8, 1), team);
+        game.addBot(bot);
+        game.addBot(ahead);
+        game.addBot(behindTheWall);
+
+        visibility.update();
+
+        assertThat(visibility.isInFov(bot, ahead), is(true));
+        assertThat(visibility.isInFov(bot, behindTheWall), is(false));
+        assertThat(visibility.isInFov(ahead, bot), is(false));
+        assertThat(visibility.isInFov(bot, bot), is(false));
+    }
+
+
+    @Test
+    public void isInFovAppliesTheFieldOfViewOfBotsThatRotatedSinceTheUpdate() {
+        Bot bot = Tests.buildBot(game, pt(1, 8), team);
+        Bot other = Tests.buildBot(game, pt(8, 8), team);
+        game.addBot(bot);
+        game.addBot(other);
+
+        visibility.update();
+        other.setRotation(Math.PI);
+        bot.setRotation(Math.PI);
+
+        assertThat(visibility.isInFov(other, bot), is(true));
+        assertThat(visibility.isInFov(bot, other), is(false));
+    }
+
+
+    /*
+     * List<Bot> getBotsInFov(Bot bot)
+     */
+
+    @Test
+    public void getBotsInFovReturnsTheVisibleBotsInOrder() {
+        Bot first = Tests.buildBot(game, pt(9, 9), team);
+        Bot bot = Tests.buildBot(game, pt(1, 8), team);
+        Bot behind = Tests.buildBot(game, pt(0.5, 8), team);
+        Bot last = Tests.buildBot(game, pt(7, 7), team);
+        game.addBot(first);
+        game.addBot(bot);
+        game.addBot(behind);
+        game.addBot(last);
+
+        visibility.update();
+
+        assertThat(visibility.getBotsInFov(bot), contains(first, last));
+    }
+
+
+    private void addRandomBots(Random random, int count) {
+        for (int i = 0; i < count; i++) {
+            Bot bot = Tests.buildBot(game, pt(random.nextDouble() * 10, 4 + random.nextDouble() * 6), team);
+            bot.setRotation(random.nextDouble() * 2 * Math.PI);
+            game.addBot(bot);
+        }
+
+        for (Bot bot : game.getBots()) {
+            bot.setLocation(pt(bot.getLocation().x(), bot.getLocation().y() - 4 * random.nextDouble()));
+        }
+    }
+
+
+    private void assertAgreesWithTheBotsOwnChecks() {
+        for (Bot bot : game.getBots()) {
+            for (Bot other : game.getBots()) {
+                boolean expected = bot != other && bot.isFacing(other)
+                        && !game.getMap().isPathObstructed(bot.getLocation(), other.getLocation());
+                assertThat(visibility.isInFov(bot, other), is(expected));
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.pureza.warbots.game;
+
+import io.github.pureza.warbots.TestConfig;
+import io.github.pureza.warbots.entities.Bot;
+import io.github.pureza.warbots.entities.InventoryItem;
+import io.github.pureza.warbots.geometry.Point;
+import io.github.pureza.warbots.navigation.Parser;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.collection.IsEmptyCollection.empty;
+import static org.hamcrest.core.Is.is;
+
+public class GameSnapshotTest {
+
+    private Game game;
+
+
+    @Before
+    public void setUp() throws IOException {
+        game = newGame();
+        game.setSeed(3);
+        new SimulationEngine(game).runFor(10000);
+    }
+
+
+    /*
+     * GameSnapshot snapshot()
+     */
+
+    @Test
+    public void snapshotSavesACompactState() {
+        assertThat(game.getBots(), is(not(empty())));
+        assertThat(game.snapshot().size(), is(greaterThan(0)));
+    }
+
+
+    /*
+     * void restore(GameSnapshot snapshot)
+     */
+
+    @Test
+    public void restoreGoesBackInTime() {
+        GameSnapshot snapshot = game.snapshot();
+        long now = game.getClock().now();
+        long ticks = game.getTicks();
+        List<Point> locations = locations(game);
+
+        new SimulationEngine(game).runFor(5000);
+        game.restore(snapshot);
+
+        assertThat(game.getClock().now(), is(now));
+        assertThat(game.getTicks(), is(ticks));
+        assertThat(locations(game), is(locations));
+    }
+
+
+    @Test
+    public void restoreReplaysTheSameContinuation() {
+        GameSnapshot snapshot = game.snapshot();
+        new SimulationEngine(game).runFor(10000);
+        List<Point> locations = locations(game);
+        List<Boolean> items = itemStates(game);
+        int kills = game.getStatistics(game.getTeamA()).getKills();
+
+        game.restore(snapshot);
+        new SimulationEngine(game).runFor(10000);
+
+        assertThat(locations(game), is(locations));
+        assertThat(itemStates(game), is(items));
+        assertThat(game.getStatistics(game.getTeamA()).getKills(), is(kills));
+    }
+
+
+    @Test
+    public void restoreCanBeRepeated() {
+        GameSnapshot snapshot = game.snapshot();
+        game.restore(snapshot);
+        new SimulationEngine(game).runFor(5000);
+        List<Point> locations = locations(game);
+
+        game.restore(snapshot);
+        new SimulationEngine(game).runFor(5000);
+
+        assertThat(locations(game), is(locations));
+    }
+
+
+    @Test(expected=IllegalArgumentException.class)
+    public void restoreFailsOnAGameWithADifferentMap() throws IOException {
+        Game other = new Parser(new TestConfig()).parse("maps/map_vertical.map");
+        other.restore(game.snapshot());
+    }
+
+
+    /*
+     * Game fork(Supplier<? extends Game> newGame)
+     */
+
+    @Test
+    public void forkContinuesTheMatchInAnIndependentGame() {
+        GameSnapshot snapshot = game.snapshot();
+        Game fork = snapshot.fork(GameSnapshotTest::newGame);
+
+        new SimulationEngine(game).runFor(10000);
+        new SimulationEngine(fork).runFor(10000);
+
+        assertThat(fork.getClock().now(), is(game.getClock().now()));
+        assertThat(locations(fork), is(locations(game)));
+        assertThat(itemStates(fork), is(itemStates(game)));
+        for (Bot bot : fork.getBots()) {
+            assertThat(bot.getGame(), is(fork));
+            assertThat(game.getBots().contains(bot), is(false));
+        }
+    }
+
+
+    private static Game newGame() {
+        try {
+            return new Parser(new TestConfig()).parse("maps/default.map");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    private static List<Point> locations(Game game) {
+        return game.getBots().stream().map(Bot::getLocation).collect(Collectors.toList());
+    }
+
+
+    private static List<Boolean> itemStates(Game game) {
+        return game.getMap().getItems().stream().map(InventoryItem::isActive).collect(Collectors.toList());
+    }
+}
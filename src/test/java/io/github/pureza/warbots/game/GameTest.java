@@ -6,6 +6,7 @@ import io.github.pureza.warbots.Tests;
 import io.github.pureza.warbots.config.Config;
 import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.entities.InventoryItem;
+import io.github.pureza.warbots.entities.Team;
 import io.github.pureza.warbots.geometry.*;
 import io.github.pureza.warbots.geometry.Point;
 import io.github.pureza.warbots.navigation.Map;
@@ -13,11 +14,14 @@ import io.github.pureza.warbots.weaponry.Projectile;
 import org.hamcrest.MatcherAssert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.util.List;
 
+import static java.util.Collections.singletonList;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
@@ -100,14 +104,25 @@ public class GameTest {
      */
 
     @Test
-    public void updateUpdatesItems() {
-        InventoryItem item = mock(InventoryItem.class);
-        when(item.getLocation()).thenReturn(Point.pt(5, 5));
-        game.getMap().addItem(item);
+    public void updateRunsTheTimersThatAreDue() {
+        TimingWheel.Task due = mock(TimingWheel.Task.class);
+        TimingWheel.Task later = mock(TimingWheel.Task.class);
+        game.getTimers().schedule(1000, due);
+        game.getTimers().schedule(1001, later);
+
+        game.update(1000);
 
+        verify(due).run();
+        verify(later, never()).run();
+    }
+
+
+    @Test
+    public void updateAdvancesTheClock() {
         game.update(1000);
+        game.update(500);
 
-        verify(item).update(1000);
+        assertThat(game.getClock().now(), is(1500L));
     }
 
 
@@ -118,7 +133,202 @@ public class GameTest {
 
         game.update(1000);
 
-        verify(bot).update(1000);
+        // All the bots think before any of them acts
+        InOrder inOrder = inOrder(bot);
+        inOrder.verify(bot).think(1000);
+        inOrder.verify(bot).act(1000);
+    }
+
+
+    @Test
+    public void updateLetsEveryBotThinkBeforeAnyBotMoves() {
+        Bot first = Tests.mockBot(Point.pt(2, 2));
+        Bot second = Tests.mockBot(Point.pt(7, 7));
+        game.addBot(first);
+        game.addBot(second);
+
+        game.update(1000);
+
+        InOrder inOrder = inOrder(first, second);
+        inOrder.verify(first).think(1000);
+        inOrder.verify(second).think(1000);
+        inOrder.verify(first).act(1000);
+        inOrder.verify(second).act(1000);
+    }
+
+
+    @Test
+    public void updateEndsTheMatchWhenAnEndConditionIsMet() {
+        game.addEndCondition(EndCondition.tickLimit(2));
+
+        game.update(1000);
+        assertThat(game.isOver(), is(false));
+
+        game.update(1000);
+        assertThat(game.isOver(), is(true));
+        assertThat(game.getEndedBy().getType(), is(EndCondition.Type.TICK_LIMIT));
+    }
+
+
+    @Test
+    public void updateReportsTheFirstEndConditionThatIsMet() {
+        game.addEndCondition(EndCondition.timeLimit(1000));
+        game.addEndCondition(EndCondition.tickLimit(1));
+
+        game.update(1000);
+
+        assertThat(game.getEndedBy().getType(), is(EndCondition.Type.TIME_LIMIT));
+    }
+
+
+    @Test
+    public void updateDoesNothingAfterTheMatchIsOver() {
+        game.addEndCondition(EndCondition.tickLimit(1));
+        game.update(1000);
+
+        game.update(1000);
+
+        assertThat(game.getTicks(), is(1L));
+        assertThat(game.getClock().now(), is(1000L));
+    }
+
+
+    @Test
+    public void updateEndsTheMatchWhenATeamIsEliminated() {
+        Team teamA = new Team(1, singletonList(Point.pt(2, 2)), "");
+        Team teamB = new Team(1, singletonList(Point.pt(7, 7)), "");
+        Game game = new Game(new TestConfig(), new Map(10, 10), teamA, teamB);
+        game.addEndCondition(EndCondition.teamEliminated());
+
+        // Both teams spawn their only bot
+        game.update(10);
+        assertThat(game.isOver(), is(false));
+
+        // The bot from the second team dies
+        Bot bot = game.getBots().stream().filter(b -> b.getTeam() == teamB).findFirst().get();
+        bot.inflictDamage(Tests.buildBullet(game, Point.pt(5, 5)), 100);
+        game.removeDeadBots();
+        game.update(10);
+
+        assertThat(game.isOver(), is(true));
+        assertThat(game.getEndedBy().getType(), is(EndCondition.Type.TEAM_ELIMINATED));
+        assertThat(game.getWinner(), is(teamA));
+    }
+
+
+    /*
+     * boolean isEliminated(Team team)
+     */
+
+    @Test
+    public void isEliminatedIsFalseUntilAllBotsHaveBeenSpawned() {
+        Team teamA = new Team(1, singletonList(Point.pt(2, 2)), "");
+        Game game = new Game(new TestConfig(), new Map(10, 10), teamA, Tests.mockTeam());
+
+        assertThat(game.isEliminated(teamA), is(false));
+    }
+
+
+    /*
+     * void reportDamage(Projectile projectile, Bot victim, int damage, boolean killed)
+     */
+
+    @Test
+    public void reportDamageCreditsTheShootersTeam() {
+        Team teamA = new Team(1, singletonList(Point.pt(2, 2)), "");
+        Team teamB = new Team(1, singletonList(Point.pt(7, 7)), "");
+        Game game = new Game(new TestConfig(), new Map(10, 10), teamA, teamB);
+        Bot shooter = Tests.buildBot(game, Point.pt(2, 2), teamA);
+        Bot victim = Tests.buildBot(game, Point.pt(7, 7), teamB);
+        Projectile projectile = mock(Projectile.class);
+        when(projectile.getShooter()).thenReturn(shooter);
+
+        game.reportDamage(projectile, victim, 30, false);
+        game.reportDamage(projectile, victim, 70, true);
+
+        assertThat(game.getStatistics(teamA).getDamageDealt(), is(100L));
+        assertThat(game.getStatistics(teamA).getKills(), is(1));
+        assertThat(game.getStatistics(teamB).getDamageDealt(), is(0L));
+        assertThat(game.getWinner(), is(teamA));
+    }
+
+
+    @Test
+    public void reportDamageIgnoresFriendlyFire() {
+        Team teamA = new Team(2, singletonList(Point.pt(2, 2)), "");
+        Game game = new Game(new TestConfig(), new Map(10, 10), teamA, Tests.mockTeam());
+        Bot shooter = Tests.buildBot(game, Point.pt(2, 2), teamA);
+        Bot victim = Tests.buildBot(game, Point.pt(7, 7), teamA);
+        Projectile projectile = mock(Projectile.class);
+        when(projectile.getShooter()).thenReturn(shooter);
+
+        game.reportDamage(projectile, victim, 100, true);
+
+        assertThat(game.getStatistics(teamA).getDamageDealt(), is(0L));
+        assertThat(game.getStatistics(teamA).getKills(), is(0));
+    }
+
+
+    /*
+     * TeamStatistics getStatistics(Team team)
+     */
+
+    @Test
+    public void getStatisticsAddsUpTheSurvivalTimeOfDeadAndLiveBots() {
+        Team teamA = new Team(2, singletonList(Point.pt(2, 2)), "");
+        Game game = new Game(new TestConfig(), new Map(10, 10), teamA, Tests.mockTeam());
+        Bot first = Tests.buildBot(game, Point.pt(2, 2), teamA);
+        Bot second = Tests.buildBot(game, Point.pt(7, 7), teamA);
+        game.addBot(first);
+        game.getClock().advance(1000);
+        game.addBot(second);
+        game.getClock().advance(500);
+
+        // The first bot dies after 1500ms, the second one is still alive after 500ms
+        game.removeBot(first);
+        game.removeDeadBots();
+
+        assertThat(game.getStatistics(teamA).getDeaths(), is(1));
+        assertThat(game.getStatistics(teamA).getSurvivalTime(), is(2000L));
+    }
+
+
+    @Test(expected=IllegalArgumentException.class)
+    public void getStatisticsFailsForTeamsThatDontPlay() {
+        game.getStatistics(Tests.mockTeam());
+    }
+
+
+    /*
+     * void thinkBots(long dt)
+     */
+
+    @Test
+    public void thinkBotsAddsTheFiredProjectilesInTheOrderOfTheBots() {
+        Bot first = Tests.mockBot();
+        Bot second = Tests.mockBot();
+        game.addBot(first);
+        game.addBot(second);
+        game.setParallelBotUpdates(true);
+
+        Projectile firstProjectile = mock(Projectile.class);
+        when(firstProjectile.getShooter()).thenReturn(first);
+        Projectile secondProjectile = mock(Projectile.class);
+        when(secondProjectile.getShooter()).thenReturn(second);
+
+        // Each bot fires a projectile while thinking, possibly at the same time
+        doAnswer(invocation -> {
+            game.addProjectile(firstProjectile);
+            return null;
+        }).when(first).think(1000);
+        doAnswer(invocation -> {
+            game.addProjectile(secondProjectile);
+            return null;
+        }).when(second).think(1000);
+
+        game.thinkBots(1000);
+
+        assertThat(game.getProjectiles(), contains(firstProjectile, secondProjectile));
     }
 
 
@@ -200,6 +410,26 @@ public class GameTest {
     }
 
 
+    /*
+     * void setSeed(long seed)
+     */
+
+    @Test
+    public void setSeedReseedsTheRandomStreams() {
+        game.setSeed(42);
+
+        assertThat(game.getRandom().getSeed(), is(42L));
+        assertThat(game.getRandom().split().nextLong(), is(new RandomStreams(42).split().nextLong()));
+    }
+
+
+    @Test(expected=IllegalStateException.class)
+    public void setSeedFailsAfterBotsHaveSpawned() {
+        game.addBot(Tests.mockBot());
+        game.setSeed(42);
+    }
+
+
     /*
      * void addBot(Bot bot)
      */
@@ -291,6 +521,48 @@ public class GameTest {
     }
 
 
+    @Test
+    public void getBotsInRangeFollowsTheBotsAsTheyMove() {
+        Bot bot = Tests.buildBot(game, Point.pt(5, 5), Tests.mockTeam());
+        game.addBot(bot);
+
+        bot.setLocation(Point.pt(8.5, 2.5));
+
+        MatcherAssert.assertThat(game.getBotsInRange(Point.pt(5, 5), 1), is(empty()));
+        MatcherAssert.assertThat(game.getBotsInRange(Point.pt(8, 2), 1), contains(bot));
+    }
+
+
+    @Test
+    public void getBotsInRangeExcludesRemovedBots() {
+        Bot bot = Tests.buildBot(game, Point.pt(5, 5), Tests.mockTeam());
+        game.addBot(bot);
+
+        game.removeBot(bot);
+        game.removeDeadBots();
+
+        MatcherAssert.assertThat(game.getBotsInRange(Point.pt(5, 5), 1), is(empty()));
+    }
+
+
+    /*
+     * Set<Bot> getMovedBots()
+     */
+
+    @Test
+    public void getMovedBotsHoldsTheBotsThatJoinedOrMoved() {
+        Bot a = Tests.buildBot(game, Point.pt(5, 5), Tests.mockTeam());
+        Bot b = Tests.buildBot(game, Point.pt(2, 2), Tests.mockTeam());
+        game.addBot(a);
+
+        // Bots that aren't in the game yet don't count
+        b.setLocation(Point.pt(2.5, 2.5));
+        a.setLocation(Point.pt(5.5, 5.5));
+
+        MatcherAssert.assertThat(game.getMovedBots(), contains(a));
+    }
+
+
     /*
      * void addProjectile(Projectile projectile)
      */
@@ -338,6 +610,24 @@ public class GameTest {
         MatcherAssert.assertThat(game.zombies, is(empty()));
     }
 
+
+    @Test
+    public void removeDeadBotsCountsBotsKilledTwiceOnlyOnce() {
+        Team teamA = new Team(2, singletonList(Point.pt(2, 2)), "");
+        Game game = new Game(new TestConfig(), new Map(10, 10), teamA, Tests.mockTeam());
+        Bot a = Tests.buildBot(game, Point.pt(2, 2), teamA);
+        Bot b = Tests.buildBot(game, Point.pt(7, 7), teamA);
+        game.addBot(a);
+        game.addBot(b);
+
+        game.removeBot(a);
+        game.removeBot(a);
+        game.removeDeadBots();
+
+        MatcherAssert.assertThat(game.getBots(), contains(b));
+        MatcherAssert.assertThat(game.getStatistics(teamA).getDeaths(), is(1));
+    }
+
     /*
      * void removeLostProjectiles()
      */
@@ -355,4 +645,19 @@ public class GameTest {
         MatcherAssert.assertThat(game.getProjectiles(), contains(rocket));
         MatcherAssert.assertThat(game.getLostProjectiles(), is(empty()));
     }
+
+
+    @Test
+    public void removeLostProjectilesRemovesProjectilesMarkedTwiceOnlyOnce() {
+        Projectile bullet = Tests.buildBullet(game, Point.pt(0.1, 0.1), Math.PI);
+        Projectile rocket = Tests.buildRocket(game, Point.pt(0.2, 0.2), Math.PI);
+        game.addProjectile(bullet);
+        game.addProjectile(rocket);
+
+        game.removeProjectile(bullet);
+        game.removeProjectile(bullet);
+        game.removeLostProjectiles();
+
+        MatcherAssert.assertThat(game.getProjectiles(), contains(rocket));
+    }
 }
@@ -0,0 +1,77 @@
+package io.github.pureza.warbots.game;
+
+import io.github.pureza.warbots.TestConfig;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+
+public class MatchFarmTest {
+
+    /*
+     * List<MatchResult> run(List<MatchJob> jobs)
+     */
+
+    @Test
+    public void runPlaysAllJobsOnWorkerProcessesAndReturnsResultsInOrder() throws IOException {
+        MatchFarm farm = new MatchFarm(2, null, Collections.emptyList());
+        MatchJob first = new MatchJob("maps/default.map", farm.getConfig(), 1, 1000, 100);
+        MatchJob second = new MatchJob("maps/map_open.map", farm.getConfig(), 2, 500, 100);
+        MatchJob third = new MatchJob("maps/default.map", farm.getConfig(), 3, 200, 100);
+
+        List<MatchResult> results = farm.run(asList(first, second, third));
+
+        assertThat(results, hasSize(3));
+        assertThat(results.get(0).getJob(), is(first));
+        assertThat(results.get(0).getTicks(), is(10L));
+        assertThat(results.get(1).getJob(), is(second));
+        assertThat(results.get(1).getTicks(), is(5L));
+        assertThat(results.get(2).getJob(), is(third));
+        assertThat(results.get(2).getTicks(), is(2L));
+    }
+
+
+    @Test
+    public void runRequeuesTheJobOfAWorkerThatCrashed() throws IOException {
+        AtomicInteger launched = new AtomicInteger();
+        MatchFarm farm = new MatchFarm(1, null, Collections.emptyList()) {
+            @Override
+            List<String> workerCommand() {
+                List<String> command = super.workerCommand();
+                if (launched.getAndIncrement() == 0) {
+                    // The first worker dies right away
+                    command.set(command.size() - 1, "this.class.doesnt.Exist");
+                }
+
+                return command;
+            }
+        };
+
+        MatchJob job = new MatchJob("maps/default.map", farm.getConfig(), 1, 100, 100);
+        List<MatchResult> results = farm.run(asList(job));
+
+        assertThat(results.get(0).getTicks(), is(1L));
+        assertThat(launched.get(), is(2));
+    }
+
+
+    @Test(expected=MatchProtocol.MatchFailedException.class)
+    public void runFailsIfAWorkerFailsToPlayAJob() throws IOException {
+        MatchFarm farm = new MatchFarm(2, null, Collections.emptyList());
+        farm.run(asList(new MatchJob("maps/this-map-doesnt-exist.map", farm.getConfig(), 1, 100)));
+    }
+
+
+    @Test(expected=IllegalArgumentException.class)
+    public void runFailsIfAJobHasAnotherConfig() throws IOException {
+        MatchFarm farm = new MatchFarm(2, null, Collections.emptyList());
+        farm.run(asList(new MatchJob("maps/default.map", new TestConfig(), 1, 100)));
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.pureza.warbots.game;
+
+import io.github.pureza.warbots.TestConfig;
+import io.github.pureza.warbots.config.Config;
+import org.junit.Test;
+
+import java.io.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class MatchProtocolTest {
+
+    private final Config config = new TestConfig();
+
+
+    /*
+     * MatchJob readJob(DataInput in, Config config)
+     */
+
+    @Test
+    public void readJobReadsWhatWriteJobWrote() throws IOException {
+        MatchJob job = new MatchJob("maps/default.map", config, 42, 1000, 20, 5);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MatchProtocol.writeJob(new DataOutputStream(bytes), 7, job);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThat(in.readInt(), is(7));
+        MatchJob read = MatchProtocol.readJob(in, config);
+
+        assertThat(read.getMapFile(), is("maps/default.map"));
+        assertThat(read.getConfig(), is(config));
+        assertThat(read.getSeed(), is(42L));
+        assertThat(read.getDuration(), is(1000L));
+        assertThat(read.getTimeStep(), is(20L));
+        assertThat(read.getKillTarget(), is(5));
+    }
+
+
+    /*
+     * MatchResult readReply(DataInput in, MatchJob job)
+     */
+
+    @Test
+    public void readReplyReadsWhatWriteResultWrote() throws IOException {
+        MatchJob job = new MatchJob("maps/default.map", config, 42, 1000, 20);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MatchProtocol.writeResult(new DataOutputStream(bytes), 3, new MatchResult(job, 50, 1000, 2, 4,
+                EndCondition.Type.KILL_TARGET, MatchResult.Winner.TEAM_B,
+                new TeamStatistics(1, 3, 150, 9000), new TeamStatistics(3, 1, 320, 12000)));
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThat(in.readInt(), is(3));
+        MatchResult read = MatchProtocol.readReply(in, job);
+
+        assertThat(read.getJob(), is(job));
+        assertThat(read.getTicks(), is(50L));
+        assertThat(read.getElapsedTime(), is(1000L));
+        assertThat(read.getSurvivorsA(), is(2));
+        assertThat(read.getSurvivorsB(), is(4));
+        assertThat(read.getEndedBy(), is(EndCondition.Type.KILL_TARGET));
+        assertThat(read.getWinner(), is(MatchResult.Winner.TEAM_B));
+        assertThat(read.getStatisticsA().getKills(), is(1));
+        assertThat(read.getStatisticsA().getDeaths(), is(3));
+        assertThat(read.getStatisticsB().getDamageDealt(), is(320L));
+        assertThat(read.getStatisticsB().getSurvivalTime(), is(12000L));
+    }
+
+
+    @Test(expected=MatchProtocol.MatchFailedException.class)
+    public void readReplyFailsIfTheWorkerFailed() throws IOException {
+        MatchJob job = new MatchJob("maps/default.map", config, 42, 1000, 20);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MatchProtocol.writeFailure(new DataOutputStream(bytes), 3, new IllegalStateException("Boom"));
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        in.readInt();
+        MatchProtocol.readReply(in, job);
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.pureza.warbots.game;
+
+import io.github.pureza.warbots.TestConfig;
+import io.github.pureza.warbots.config.Config;
+import org.junit.Test;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+
+public class MatchRunnerTest {
+
+    private final Config config = new TestConfig();
+
+
+    /*
+     * List<MatchResult> run(List<MatchJob> jobs)
+     */
+
+    @Test
+    public void runPlaysAllJobsAndReturnsResultsInOrder() {
+        MatchJob first = new MatchJob("maps/default.map", config, 1, 1000);
+        MatchJob second = new MatchJob("maps/map_open.map", config, 2, 500);
+        MatchJob third = new MatchJob("maps/default.map", config, 3, 1000, 100);
+
+        List<MatchResult> results = new MatchRunner(2).run(asList(first, second, third));
+
+        assertThat(results, hasSize(3));
+        assertThat(results.get(0).getJob(), is(first));
+        assertThat(results.get(1).getJob(), is(second));
+        assertThat(results.get(2).getJob(), is(third));
+    }
+
+
+    @Test(expected=UncheckedIOException.class)
+    public void runFailsIfAMapFileDoesntExist() {
+        new MatchRunner(2).run(asList(
+                new MatchJob("maps/default.map", config, 1, 100),
+                new MatchJob("maps/this-map-doesnt-exist.map", config, 1, 100)));
+    }
+
+
+    /*
+     * MatchResult play(MatchJob job)
+     */
+
+    @Test
+    public void playSimulatesTheWholeDuration() {
+        MatchResult result = MatchRunner.play(new MatchJob("maps/default.map", config, 1, 1000, 100));
+
+        assertThat(result.getTicks(), is(10L));
+        assertThat(result.getElapsedTime(), is(1000L));
+    }
+
+
+    @Test
+    public void playCountsTheSurvivorsOfEachTeam() {
+        // Each team spawns a single bot on the first update
+        MatchResult result = MatchRunner.play(new MatchJob("maps/default.map", config, 1, 16, 16));
+
+        assertThat(result.getSurvivorsA(), is(1));
+        assertThat(result.getSurvivorsB(), is(1));
+    }
+
+
+    @Test
+    public void playStopsAsSoonAsTheKillTargetIsReached() {
+        MatchResult result = MatchRunner.play(new MatchJob("maps/default.map", config, 1, 600000, 16, 1));
+
+        assertThat(result.getEndedBy(), is(EndCondition.Type.KILL_TARGET));
+        assertThat(result.getElapsedTime(), is(lessThan(600000L)));
+        assertThat(result.getStatisticsA().getKills() + result.getStatisticsB().getKills(), is(1));
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.pureza.warbots.game;
+
+import io.github.pureza.warbots.TestConfig;
+import io.github.pureza.warbots.config.Config;
+import org.junit.Test;
+
+import java.io.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class MatchWorkerTest {
+
+    private final Config config = new TestConfig();
+
+
+    /*
+     * void serve(DataInputStream in, DataOutputStream out, Config config)
+     */
+
+    @Test
+    public void servePlaysEveryJobUntilTheInputEnds() throws IOException {
+        MatchJob first = new MatchJob("maps/default.map", config, 1, 100, 10);
+        MatchJob second = new MatchJob("maps/this-map-doesnt-exist.map", config, 2, 100, 10);
+        ByteArrayOutputStream jobs = new ByteArrayOutputStream();
+        MatchProtocol.writeJob(new DataOutputStream(jobs), 0, first);
+        MatchProtocol.writeJob(new DataOutputStream(jobs), 1, second);
+
+        ByteArrayOutputStream replies = new ByteArrayOutputStream();
+        MatchWorker.serve(new DataInputStream(new ByteArrayInputStream(jobs.toByteArray())),
+                new DataOutputStream(replies), config);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(replies.toByteArray()));
+        assertThat(in.readInt(), is(0));
+        assertThat(MatchProtocol.readReply(in, first).getTicks(), is(10L));
+
+        // The second map doesn't exist, but the worker keeps going
+        assertThat(in.readInt(), is(1));
+        assertThat(in.readByte(), is(MatchProtocol.FAILURE));
+        in.readUTF();
+        assertThat(in.available(), is(0));
+    }
+}
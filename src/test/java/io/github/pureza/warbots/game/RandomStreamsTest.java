@@ -0,0 +1,57 @@
+package io.github.pureza.warbots.game;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.core.Is.is;
+
+public class RandomStreamsTest {
+
+    /*
+     * Random split()
+     */
+
+    @Test
+    public void splitReturnsTheSameStreamsForTheSameSeed() {
+        RandomStreams a = new RandomStreams(42);
+        RandomStreams b = new RandomStreams(42);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(a.split().nextLong(), is(b.split().nextLong()));
+        }
+    }
+
+
+    @Test
+    public void splitReturnsDifferentStreamsForDifferentSeeds() {
+        assertThat(new RandomStreams(1).split().nextLong(), is(not(new RandomStreams(2).split().nextLong())));
+    }
+
+
+    @Test
+    public void splitReturnsIndependentStreams() {
+        RandomStreams random = new RandomStreams(42);
+        Random first = random.split();
+        Random second = random.split();
+
+        assertThat(first.nextLong(), is(not(second.nextLong())));
+    }
+
+
+    @Test
+    public void drawingFromAStreamDoesNotAffectTheOthers() {
+        RandomStreams a = new RandomStreams(42);
+        RandomStreams b = new RandomStreams(42);
+
+        Random used = a.split();
+        for (int i = 0; i < 100; i++) {
+            used.nextLong();
+        }
+        b.split();
+
+        assertThat(a.split().nextLong(), is(b.split().nextLong()));
+    }
+}
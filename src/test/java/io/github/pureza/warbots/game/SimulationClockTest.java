@@ -0,0 +1,44 @@
+package io.github.pureza.warbots.game;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class SimulationClockTest {
+
+    /*
+     * long now()
+     */
+
+    @Test
+    public void nowStartsAtZero() {
+        assertThat(new SimulationClock().now(), is(0L));
+    }
+
+
+    @Test
+    public void nowStartsAtTheGivenTime() {
+        assertThat(new SimulationClock(1234).now(), is(1234L));
+    }
+
+
+    /*
+     * void advance(long dt)
+     */
+
+    @Test
+    public void advanceMovesTheClockForward() {
+        SimulationClock clock = new SimulationClock();
+        clock.advance(16);
+        clock.advance(20);
+
+        assertThat(clock.now(), is(36L));
+    }
+
+
+    @Test(expected=IllegalArgumentException.class)
+    public void advanceFailsOnNegativeTime() {
+        new SimulationClock().advance(-1);
+    }
+}
@@ -0,0 +1,167 @@
+package io.github.pureza.warbots.game;
+
+import io.github.pureza.warbots.TestConfig;
+import io.github.pureza.warbots.navigation.Parser;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.collection.IsEmptyCollection.empty;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.*;
+
+public class SimulationEngineTest {
+
+    /*
+     * SimulationEngine(Game game, long timeStep)
+     */
+
+    @Test(expected=IllegalArgumentException.class)
+    public void constructorFailsOnNonPositiveTimeStep() {
+        new SimulationEngine(mock(Game.class), 0);
+    }
+
+
+    /*
+     * void step()
+     */
+
+    @Test
+    public void stepUpdatesTheGameWithTheTimeStep() {
+        Game game = mock(Game.class);
+        SimulationEngine engine = new SimulationEngine(game, 20);
+
+        engine.step();
+
+        verify(game).update(20);
+        assertThat(engine.getTicks(), is(1L));
+        assertThat(engine.getElapsedTime(), is(20L));
+    }
+
+
+    /*
+     * void run(long steps)
+     */
+
+    @Test
+    public void runUpdatesTheGameOncePerStep() {
+        Game game = mock(Game.class);
+        SimulationEngine engine = new SimulationEngine(game, 20);
+
+        engine.run(5);
+
+        verify(game, times(5)).update(20);
+        assertThat(engine.getTicks(), is(5L));
+        assertThat(engine.getElapsedTime(), is(100L));
+    }
+
+
+    /*
+     * void runFor(long duration)
+     */
+
+    @Test
+    public void runForStopsAsSoonAsTheDurationHasPassed() {
+        Game game = mock(Game.class);
+        SimulationEngine engine = new SimulationEngine(game, 30);
+
+        engine.runFor(100);
+
+        verify(game, times(4)).update(30);
+        assertThat(engine.getElapsedTime(), is(greaterThanOrEqualTo(100L)));
+    }
+
+
+    @Test
+    public void runForStopsWhenTheMatchIsOver() {
+        Game game = mock(Game.class);
+        when(game.isOver()).thenReturn(false, false, true);
+        SimulationEngine engine = new SimulationEngine(game, 30);
+
+        engine.runFor(1000);
+
+        verify(game, times(2)).update(30);
+        assertThat(engine.getTicks(), is(2L));
+    }
+
+
+    @Test
+    public void runForSimulatesAMatchWithoutLoadingAnyResources() throws IOException {
+        // A real game, parsed from a .map file and never rendered
+        Game game = new Parser(new TestConfig()).parse("maps/default.map");
+        SimulationEngine engine = new SimulationEngine(game);
+
+        engine.runFor(5000);
+
+        // Bots have been spawned and are fighting
+        assertThat(game.getBots(), is(not(empty())));
+        assertThat(engine.getElapsedTime(), is(greaterThanOrEqualTo(5000L)));
+    }
+
+
+    @Test
+    public void runForSimulatesAMatchWithParallelBotUpdates() throws IOException {
+        Game game = new Parser(new TestConfig()).parse("maps/default.map");
+        game.setParallelBotUpdates(true);
+        SimulationEngine engine = new SimulationEngine(game);
+
+        engine.runFor(30000);
+
+        assertThat(game.getBots(), is(not(empty())));
+    }
+
+
+    @Test
+    public void runForSimulatesTheSameMatchForTheSameSeed() throws IOException {
+        Game game = new Parser(new TestConfig()).parse("maps/default.map");
+        Game parallel = new Parser(new TestConfig()).parse("maps/default.map");
+        game.setSeed(7);
+        parallel.setSeed(7);
+        parallel.setParallelBotUpdates(true);
+
+        new SimulationEngine(game).runFor(20000);
+        new SimulationEngine(parallel).runFor(20000);
+
+        assertThat(parallel.getBots().size(), is(game.getBots().size()));
+        for (int i = 0; i < game.getBots().size(); i++) {
+            assertThat(parallel.getBots().get(i).getLocation(), is(game.getBots().get(i).getLocation()));
+        }
+    }
+
+
+    @Test
+    public void runForSimulatesTheSameMatchWithParallelStages() throws IOException {
+        Game game = new Parser(new TestConfig()).parse("maps/default.map");
+        Game parallel = new Parser(new TestConfig()).parse("maps/default.map");
+        parallel.setParallelStages(true);
+        parallel.setParallelBotUpdates(true);
+
+        new SimulationEngine(game).runFor(20000);
+        new SimulationEngine(parallel).runFor(20000);
+
+        assertThat(parallel.getBots().size(), is(game.getBots().size()));
+        for (int i = 0; i < game.getBots().size(); i++) {
+            assertThat(parallel.getBots().get(i).getLocation(), is(game.getBots().get(i).getLocation()));
+            assertThat(parallel.getBots().get(i).getHealth(), is(game.getBots().get(i).getHealth()));
+        }
+    }
+
+
+    @Test
+    public void runForSimulatesTheSameMatchWithAProjectileStore() throws IOException {
+        Game game = new Parser(new TestConfig()).parse("maps/default.map");
+        Game withStore = new Parser(new TestConfig()).parse("maps/default.map");
+        withStore.useProjectileStore();
+
+        new SimulationEngine(game).runFor(20000);
+        new SimulationEngine(withStore).runFor(20000);
+
+        assertThat(withStore.getBots().size(), is(game.getBots().size()));
+        for (int i = 0; i < game.getBots().size(); i++) {
+            assertThat(withStore.getBots().get(i).getLocation(), is(game.getBots().get(i).getLocation()));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.pureza.warbots.game;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+
+public class TickPipelineTest {
+
+    /*
+     * Stage add(String name, LongConsumer work, Stage... dependencies)
+     */
+
+    @Test(expected=IllegalArgumentException.class)
+    public void addFailsOnADependencyFromAnotherPipeline() {
+        TickPipeline other = new TickPipeline();
+        TickPipeline.Stage stage = other.add("other", dt -> {});
+
+        new TickPipeline().add("stage", dt -> {}, stage);
+    }
+
+
+    /*
+     * void run(long dt)
+     */
+
+    @Test
+    public void runRunsTheStagesInTheOrderTheyWereAdded() {
+        List<String> log = new ArrayList<>();
+        TickPipeline pipeline = new TickPipeline();
+        TickPipeline.Stage a = pipeline.add("a", dt -> log.add("a" + dt));
+        TickPipeline.Stage b = pipeline.add("b", dt -> log.add("b" + dt));
+        pipeline.add("c", dt -> log.add("c" + dt), a, b);
+
+        pipeline.run(10);
+
+        assertThat(log, is(Arrays.asList("a10", "b10", "c10")));
+    }
+
+
+    @Test
+    public void runMeasuresEachStage() throws InterruptedException {
+        TickPipeline pipeline = new TickPipeline();
+        TickPipeline.Stage stage = pipeline.add("sleep", dt -> sleep(dt));
+
+        pipeline.run(5);
+        pipeline.run(5);
+
+        assertThat(stage.getLastTime(), is(greaterThan(5_000_000L)));
+        assertThat(stage.getTotalTime(), is(greaterThan(10_000_000L)));
+    }
+
+
+    /*
+     * void run(long dt, ForkJoinPool pool)
+     */
+
+    @Test
+    public void runOnAPoolStartsEachStageAfterItsDependencies() {
+        List<String> log = Collections.synchronizedList(new ArrayList<>());
+        TickPipeline pipeline = new TickPipeline();
+        TickPipeline.Stage a = pipeline.add("a", dt -> log.add("a"));
+        TickPipeline.Stage b = pipeline.add("b", dt -> log.add("b"), a);
+        TickPipeline.Stage c = pipeline.add("c", dt -> log.add("c"), a);
+        pipeline.add("d", dt -> log.add("d"), b, c);
+
+        for (int i = 0; i < 100; i++) {
+            log.clear();
+            pipeline.run(10, ForkJoinPool.commonPool());
+
+            assertThat(log.size(), is(4));
+            assertThat(log.get(0), is("a"));
+            assertThat(log.get(3), is("d"));
+        }
+    }
+
+
+    @Test
+    public void runOnAPoolRunsIndependentStagesAtTheSameTime() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        TickPipeline pipeline = new TickPipeline();
+        pipeline.add("a", dt -> sleep(dt));
+        pipeline.add("b", dt -> sleep(dt));
+
+        long start = System.nanoTime();
+        pipeline.run(200, pool);
+
+        assertThat(System.nanoTime() - start, is(lessThan(400_000_000L)));
+        pool.shutdown();
+    }
+
+
+    @Test(expected=IllegalStateException.class)
+    public void runOnAPoolThrowsTheExceptionOfAFailedStage() {
+        TickPipeline pipeline = new TickPipeline();
+        pipeline.add("fail", dt -> {
+            throw new IllegalStateException();
+        });
+
+        pipeline.run(10, ForkJoinPool.commonPool());
+    }
+
+
+    /*
+     * long getCriticalPathTime()
+     */
+
+    @Test
+    public void getCriticalPathTimeIsTheLongestChainOfStages() {
+        TickPipeline pipeline = new TickPipeline();
+        TickPipeline.Stage a = pipeline.add("a", dt -> sleep(10));
+        TickPipeline.Stage b = pipeline.add("b", dt -> sleep(30), a);
+        TickPipeline.Stage c = pipeline.add("c", dt -> sleep(10), a);
+        pipeline.add("d", dt -> sleep(10), b, c);
+
+        pipeline.run(0);
+
+        long total = pipeline.getStages().stream().mapToLong(TickPipeline.Stage::getLastTime).sum();
+        assertThat(pipeline.getCriticalPathTime(), is(greaterThan(50_000_000L)));
+        assertThat(pipeline.getCriticalPathTime(), is(lessThan(total)));
+    }
+
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.pureza.warbots.game;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+
+public class TimingWheelTest {
+
+    /** Deadlines of the tasks that have run, in order */
+    private final List<Long> fired = new ArrayList<>();
+
+
+    /*
+     * Timer schedule(long deadline, Task task)
+     */
+
+    @Test
+    public void scheduleAddsATimer() {
+        TimingWheel wheel = new TimingWheel();
+        wheel.schedule(100, () -> {});
+
+        assertThat(wheel.size(), is(1));
+    }
+
+
+    @Test
+    public void scheduleRunsPastTasksOnTheNextAdvance() {
+        TimingWheel wheel = new TimingWheel(1000);
+        schedule(wheel, 10);
+
+        wheel.advanceTo(1000);
+        assertThat(fired, is(empty()));
+
+        wheel.advanceTo(1001);
+        assertThat(fired, contains(10L));
+    }
+
+
+    /*
+     * void advanceTo(long now)
+     */
+
+    @Test
+    public void advanceToRunsTheTasksThatAreDue() {
+        TimingWheel wheel = new TimingWheel();
+        schedule(wheel, 50);
+        schedule(wheel, 51);
+
+        wheel.advanceTo(50);
+
+        assertThat(fired, contains(50L));
+        assertThat(wheel.size(), is(1));
+        assertThat(wheel.now(), is(50L));
+    }
+
+
+    @Test
+    public void advanceToRunsTheTasksInTheOrderOfTheirDeadlines() {
+        TimingWheel wheel = new TimingWheel();
+        schedule(wheel, 300000);
+        schedule(wheel, 64);
+        schedule(wheel, 4096);
+        schedule(wheel, 63);
+        schedule(wheel, 5000);
+        schedule(wheel, 1);
+
+        wheel.advanceTo(1000000);
+
+        assertThat(fired, contains(1L, 63L, 64L, 4096L, 5000L, 300000L));
+        assertThat(wheel.size(), is(0));
+    }
+
+
+    @Test
+    public void advanceToRunsLongTimersAtTheRightTime() {
+        TimingWheel wheel = new TimingWheel(12345);
+        schedule(wheel, 12345 + 70000);
+
+        for (long now = 12345; now < 12345 + 70000; now += 16) {
+            wheel.advanceTo(now);
+            assertThat(fired, is(empty()));
+        }
+
+        wheel.advanceTo(12345 + 70000);
+        assertThat(fired, contains(12345L + 70000));
+    }
+
+
+    @Test
+    public void advanceToRunsTasksScheduledByOtherTasks() {
+        TimingWheel wheel = new TimingWheel();
+        wheel.schedule(10, () -> schedule(wheel, 20));
+
+        wheel.advanceTo(30);
+
+        assertThat(fired, contains(20L));
+    }
+
+
+    @Test
+    public void advanceToSkipsTheTimeWhenThereAreNoTimers() {
+        TimingWheel wheel = new TimingWheel();
+        wheel.advanceTo(Long.MAX_VALUE / 2);
+
+        assertThat(wheel.now(), is(Long.MAX_VALUE / 2));
+    }
+
+
+    /*
+     * boolean Timer.cancel()
+     */
+
+    @Test
+    public void cancelPreventsTheTaskFromRunning() {
+        TimingWheel wheel = new TimingWheel();
+        TimingWheel.Timer timer = schedule(wheel, 100);
+
+        assertThat(timer.cancel(), is(true));
+        wheel.advanceTo(200);
+
+        assertThat(fired, is(empty()));
+        assertThat(wheel.size(), is(0));
+    }
+
+
+    @Test
+    public void cancelReturnsFalseIfTheTaskHasAlreadyRun() {
+        TimingWheel wheel = new TimingWheel();
+        TimingWheel.Timer timer = schedule(wheel, 100);
+
+        wheel.advanceTo(200);
+
+        assertThat(timer.cancel(), is(false));
+        assertThat(wheel.size(), is(0));
+    }
+
+
+    private TimingWheel.Timer schedule(TimingWheel wheel, long deadline) {
+        return wheel.schedule(deadline, () -> fired.add(deadline));
+    }
+}
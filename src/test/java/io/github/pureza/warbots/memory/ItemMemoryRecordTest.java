@@ -164,6 +164,50 @@ public class ItemMemoryRecordTest {
     }
 
 
+    /*
+     * void updateAt(long now, long dt, boolean visible, boolean isActive)
+     */
+
+    @Test
+    public void updateAtCatchesUpWithTheTimeTheItemWasOutOfSight() {
+        ItemMemoryRecord record = new ItemMemoryRecord(1000, ItemMemoryRecord.State.ACTIVE);
+        record.updateAt(100, 100, true, false);
+
+        record.updateAt(500, 100, true, false);
+
+        assertThat(record.getState(), is(ItemMemoryRecord.State.INACTIVE_CERTAIN));
+        assertThat(record.getTimeUntilNextActivation(), is(500L));
+    }
+
+
+    /*
+     * void catchUp(long now)
+     */
+
+    @Test
+    public void catchUpForgetsItemsThatWentOutOfSight() {
+        ItemMemoryRecord record = new ItemMemoryRecord(1000, ItemMemoryRecord.State.ACTIVE);
+        record.updateAt(100, 100, true, true);
+
+        record.catchUp(300);
+
+        assertThat(record.getState(), is(ItemMemoryRecord.State.UNKNOWN));
+    }
+
+
+    @Test
+    public void catchUpIgnoresTheTimeBeforeTheFirstUpdate() {
+        ItemMemoryRecord record = new ItemMemoryRecord(1000, ItemMemoryRecord.State.ACTIVE);
+        record.caught();
+
+        record.catchUp(300);
+        assertThat(record.getTimeUntilNextActivation(), is(1000L));
+
+        record.catchUp(700);
+        assertThat(record.getTimeUntilNextActivation(), is(600L));
+    }
+
+
     /*
      * void caught()
      */
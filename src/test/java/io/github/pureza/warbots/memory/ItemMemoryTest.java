@@ -10,9 +10,13 @@ import io.github.pureza.warbots.weaponry.Weapon;
 import org.junit.Test;
 import io.github.pureza.warbots.entities.WeaponItem;
 
+import java.util.Collections;
+
 import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static io.github.pureza.warbots.Tests.mockBot;
 
@@ -47,6 +51,7 @@ public class ItemMemoryTest {
         WeaponItem weaponItem = Tests.buildWeaponItem(Point.pt(1.5, 0.5), Weapon.WeaponType.HANDGUN);
 
         Bot bot = Tests.mockBot();
+        when(bot.getGame().getMap().getItems()).thenReturn(asList(firstAidItem, weaponItem));
         ItemMemory itemMemory = new ItemMemory(bot, asList(firstAidItem, weaponItem));
 
         firstAidItem.deactivate();
@@ -59,4 +64,39 @@ public class ItemMemoryTest {
         assertThat(itemMemory.get(firstAidItem).getState(), is(ItemMemoryRecord.State.INACTIVE_UNCERTAIN));
         assertThat(itemMemory.get(weaponItem).getState(), is(ItemMemoryRecord.State.UNKNOWN));
     }
+
+
+    @Test
+    public void updateOnlyLooksAtTheItemsThatMayBeVisible() {
+        FirstAidItem hidden = Tests.buildFirstAidItem(Point.pt(5.5, 1.5));
+
+        Bot bot = Tests.mockBot(Point.pt(1.5, 1.5));
+        when(bot.getGame().getMap().getItemsVisibleFrom(Point.pt(1.5, 1.5))).thenReturn(Collections.emptyList());
+        ItemMemory itemMemory = new ItemMemory(bot, asList(hidden));
+
+        itemMemory.update(100);
+
+        verify(bot, never()).isInFov(hidden);
+        assertThat(itemMemory.get(hidden).getState(), is(ItemMemoryRecord.State.UNKNOWN));
+    }
+
+
+    @Test
+    public void updateLeavesTheRecordsOfItemsOutOfSightUntilTheyAreRead() {
+        FirstAidItem item = Tests.buildFirstAidItem(Point.pt(2.5, 3.5));
+
+        Bot bot = Tests.mockBot();
+        when(bot.getGame().getMap().getItems()).thenReturn(asList(item));
+        ItemMemory itemMemory = new ItemMemory(bot, asList(item));
+
+        when(bot.isInFov(item)).thenReturn(true);
+        itemMemory.update(100);
+        itemMemory.get(item).caught();
+
+        when(bot.isInFov(item)).thenReturn(false);
+        itemMemory.update(100);
+        itemMemory.update(100);
+
+        assertThat(itemMemory.get(item).getTimeUntilNextActivation(), is(item.getActivationInterval() - 200));
+    }
 }
@@ -0,0 +1,54 @@
+package io.github.pureza.warbots.navigation;
+
+import io.github.pureza.warbots.entities.Wall;
+import io.github.pureza.warbots.geometry.Point;
+import io.github.pureza.warbots.geometry.Size;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class ClearanceFieldTest {
+
+    /*
+     * static ClearanceField build(Map map)
+     */
+
+    @Test
+    public void buildCountsTheRingsOfFreeCellsAroundEachCell() {
+        ClearanceField field = ClearanceField.build(new Map(7, 5));
+
+        assertThat(field.at(0, 0), is(0));
+        assertThat(field.at(1, 1), is(1));
+        assertThat(field.at(3, 2), is(2));
+        assertThat(field.at(5, 2), is(1));
+    }
+
+
+    @Test
+    public void buildTakesInnerWallsIntoAccount() {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(new Point(5, 5), new Size(1, 1)));
+
+        ClearanceField field = ClearanceField.build(map);
+
+        assertThat(field.at(5, 5), is(-1));
+        assertThat(field.at(4, 4), is(0));
+        assertThat(field.at(3, 5), is(1));
+        assertThat(field.at(2, 2), is(2));
+    }
+
+
+    /*
+     * int at(int x, int y)
+     */
+
+    @Test
+    public void atIsNegativeForTheWallsAroundTheMapAndBeyond() {
+        ClearanceField field = ClearanceField.build(new Map(5, 5));
+
+        assertThat(field.at(-1, 2), is(-1));
+        assertThat(field.at(5, 5), is(-1));
+        assertThat(field.at(100, 2), is(-1));
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.pureza.warbots.navigation;
+
+import io.github.pureza.warbots.entities.Wall;
+import io.github.pureza.warbots.geometry.Point;
+import io.github.pureza.warbots.geometry.Size;
+import org.junit.Test;
+
+import static io.github.pureza.warbots.Tests.buildFirstAidItem;
+import static io.github.pureza.warbots.geometry.Point.pt;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+
+public class GridTest {
+
+    /** A 3x2 grid starting at (-1, -1) */
+    private final Grid grid = new Grid(-1, -1, 3, 2);
+
+
+    /*
+     * boolean isFree(int x, int y)
+     */
+
+    @Test
+    public void isFreeIsTrueForEmptyCells() {
+        assertThat(grid.isFree(-1, -1), is(true));
+        assertThat(grid.isFree(1, 0), is(true));
+    }
+
+
+    @Test
+    public void isFreeIsFalseOnlyForTheCellsWithAnEntity() {
+        grid.setEntity(0, 0, new Wall(new Point(0, 0), new Size(1, 1)));
+
+        assertThat(grid.isFree(0, 0), is(false));
+        assertThat(grid.isFree(1, 0), is(true));
+        assertThat(grid.isFree(0, -1), is(true));
+    }
+
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void isFreeFailsOutsideTheGrid() {
+        grid.isFree(2, 0);
+    }
+
+
+    /*
+     * StaticEntity getEntity(int x, int y)
+     */
+
+    @Test
+    public void getEntityReturnsTheEntityOfTheCell() {
+        Wall wall = new Wall(new Point(-1, 0), new Size(2, 1));
+        grid.setEntity(-1, 0, wall);
+        grid.setEntity(0, 0, wall);
+
+        assertThat(grid.getEntity(-1, 0), is(wall));
+        assertThat(grid.getEntity(0, 0), is(wall));
+        assertThat(grid.getEntity(1, 0), is(nullValue()));
+    }
+
+
+    @Test
+    public void getEntityKeepsWorkingWithManyEntities() {
+        Grid large = new Grid(0, 0, 300, 300);
+        Wall[] walls = new Wall[70000];
+        for (int i = 0; i < walls.length; i++) {
+            walls[i] = new Wall(new Point(i % 300, i / 300), new Size(1, 1));
+            large.setEntity(i % 300, i / 300, walls[i]);
+        }
+
+        assertThat(large.getEntity(0, 0), is(walls[0]));
+        assertThat(large.getEntity(200, 200), is(walls[200 * 300 + 200]));
+        assertThat(large.getEntity(299, 232), is(walls[69899]));
+        assertThat(large.getEntity(299, 299), is(nullValue()));
+    }
+
+
+    /*
+     * InventoryItem removeItem(int x, int y)
+     */
+
+    @Test
+    public void removeItemRemovesOnlyTheItemOfTheCell() {
+        grid.setItem(0, 0, buildFirstAidItem(pt(0.5, 0.5)));
+        grid.setItem(1, 0, buildFirstAidItem(pt(1.5, 0.5)));
+
+        grid.removeItem(0, 0);
+
+        assertThat(grid.getItem(0, 0), is(nullValue()));
+        assertThat(grid.getItem(1, 0).getLocation(), is(pt(1.5, 0.5)));
+    }
+}
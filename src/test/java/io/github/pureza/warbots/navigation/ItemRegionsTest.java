@@ -0,0 +1,95 @@
+package io.github.pureza.warbots.navigation;
+
+import io.github.pureza.warbots.entities.InventoryItem;
+import io.github.pureza.warbots.entities.Wall;
+import io.github.pureza.warbots.geometry.Point;
+import io.github.pureza.warbots.geometry.Size;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static io.github.pureza.warbots.Tests.buildFirstAidItem;
+import static io.github.pureza.warbots.geometry.Point.pt;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+public class ItemRegionsTest {
+
+    /*
+     * static ItemRegions build(Map map, List<InventoryItem> items)
+     */
+
+    @Test
+    public void buildHidesItemsBehindAWallFromTheRegionsOnTheOtherSide() {
+        Map map = new Map(32, 32);
+        map.addEntity(new Wall(pt(12, 0), new Size(1, 32)));
+        InventoryItem item = buildFirstAidItem(pt(4.5, 4.5));
+        List<InventoryItem> items = new ArrayList<>();
+        items.add(item);
+
+        ItemRegions regions = ItemRegions.build(map, items);
+
+        assertThat(regions.from(1, 30), contains(item));
+        assertThat(regions.from(20, 4), is(empty()));
+        assertThat(regions.from(30, 30), is(empty()));
+    }
+
+
+    @Test
+    public void buildSharesTheListsOfRegionsThatSeeTheSameItems() {
+        Map map = new Map(32, 32);
+        List<InventoryItem> items = new ArrayList<>();
+        items.add(buildFirstAidItem(pt(4.5, 4.5)));
+
+        ItemRegions regions = ItemRegions.build(map, items);
+
+        assertThat(regions.from(1, 1), is(sameInstance(regions.from(30, 30))));
+    }
+
+
+    @Test
+    public void buildNeverHidesAnItemThatCanBeSeen() {
+        Map map = new Map(48, 40);
+        Random random = new Random(0);
+        for (int i = 0; i < 40; i++) {
+            map.addEntity(new Wall(pt(random.nextInt(48), random.nextInt(40)),
+                    new Size(1 + random.nextInt(6), 1 + random.nextInt(6))));
+        }
+
+        List<InventoryItem> items = new ArrayList<>();
+        while (items.size() < 10) {
+            Point location = pt(random.nextInt(48) + 0.5, random.nextInt(40) + 0.5);
+            if (map.cellAt(location).isFree()) {
+                items.add(buildFirstAidItem(location));
+            }
+        }
+
+        ItemRegions regions = ItemRegions.build(map, items);
+
+        int hidden = 0;
+        for (int i = 0; i < 20000; i++) {
+            Point eye = pt(random.nextDouble() * 48, random.nextDouble() * 40);
+            if (!map.cellAt(eye).isFree()) {
+                continue;
+            }
+
+            List<InventoryItem> visible = regions.from((int) eye.x(), (int) eye.y());
+            for (InventoryItem item : items) {
+                if (!map.isPathObstructed(eye, item.getLocation())) {
+                    assertThat(visible, hasItem(item));
+                } else if (!visible.contains(item)) {
+                    hidden++;
+                }
+            }
+        }
+
+        // And it does hide some of them
+        assertThat(hidden > 0, is(true));
+    }
+}
@@ -13,6 +13,9 @@ import org.junit.Test;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 
 public class MapBuilderTest {
 
@@ -77,4 +80,30 @@ public class MapBuilderTest {
 
         assertThat(map.findPath(Point.pt(0.5,0.5), Point.pt(3.5, 2.5)), is(instanceOf(Path.class)));
     }
+
+
+    @Test
+    public void buildSharesTheVisibilityOfMapsWithTheSameWalls() {
+        Map map = new MapBuilder(new TestConfig())
+                .setDimension(20, 20)
+                .addWall(new Wall(Point.pt(10, 0), new Size(1, 10)))
+                .build();
+        Map same = new MapBuilder(new TestConfig())
+                .setDimension(20, 20)
+                .addWall(new Wall(Point.pt(10, 0), new Size(1, 10)))
+                .build();
+
+        assertThat(map.getVisibility(), is(notNullValue()));
+        assertThat(same.getVisibility(), is(sameInstance(map.getVisibility())));
+    }
+
+
+    @Test
+    public void buildDoesntPrecomputeTheVisibilityOfLargerMaps() {
+        Map map = new MapBuilder(new TestConfig())
+                .setDimension(30, 20)
+                .build();
+
+        assertThat(map.getVisibility(), is(nullValue()));
+    }
 }
@@ -13,6 +13,10 @@ import io.github.pureza.warbots.geometry.Point;
 import io.github.pureza.warbots.geometry.Size;
 import io.github.pureza.warbots.weaponry.Weapon;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
@@ -23,6 +27,7 @@ import static org.junit.Assert.assertThat;
 import static io.github.pureza.warbots.Matchers.closeTo;
 import static io.github.pureza.warbots.Tests.*;
 import static io.github.pureza.warbots.geometry.Point.pt;
+import static io.github.pureza.warbots.geometry.Vector.vec;
 
 
 public class MapTest {
@@ -288,6 +293,36 @@ public class MapTest {
     }
     
     
+    @Test
+    public void getFirstAidItemsFollowsTheItemsAsTheyAreActivated() {
+        Map map = new Map(10, 5);
+
+        FirstAidItem firstAidItemA = buildFirstAidItem(pt(2.5, 2.5));
+        map.addItem(firstAidItemA);
+
+        FirstAidItem firstAidItemB = buildFirstAidItem(pt(3.5, 3.5));
+        map.addItem(firstAidItemB);
+
+        List<FirstAidItem> active = map.getFirstAidItems();
+        firstAidItemA.deactivate();
+        assertThat(active, contains(firstAidItemB));
+
+        firstAidItemA.activate();
+        assertThat(active, contains(firstAidItemA, firstAidItemB));
+
+        map.removeItem(firstAidItemA);
+        assertThat(active, contains(firstAidItemB));
+        assertThat(map.getFirstAidItems(), is(sameInstance(active)));
+    }
+
+
+    @Test(expected=UnsupportedOperationException.class)
+    public void getFirstAidItemsIsReadOnly() {
+        Map map = new Map(10, 5);
+        map.getFirstAidItems().add(buildFirstAidItem(pt(2.5, 2.5)));
+    }
+
+
     /*
      * List<WeaponItem> getWeaponItems()
      */
@@ -329,6 +364,25 @@ public class MapTest {
     }
 
 
+    @Test
+    public void getWeaponItemsFollowsTheItemsAsTheyAreRestored() {
+        Map map = new Map(10, 5);
+
+        WeaponItem weaponItemA = buildWeaponItem(pt(2.5, 2.5), Weapon.WeaponType.HANDGUN);
+        map.addItem(weaponItemA);
+
+        WeaponItem weaponItemB = buildWeaponItem(pt(3.5, 3.5), Weapon.WeaponType.LASER_GUN);
+        map.addItem(weaponItemB);
+
+        List<WeaponItem> active = map.getWeaponItems();
+        weaponItemB.restore(false);
+        assertThat(active, contains(weaponItemA));
+
+        weaponItemB.restore(true);
+        assertThat(active, contains(weaponItemA, weaponItemB));
+    }
+
+
     /*
      * InventoryItem getItemAt(Point location)
      */
@@ -549,6 +603,44 @@ public class MapTest {
     }
 
 
+    @Test
+    public void pathTransversedCellsFindsTheCornersOfLongPathsBetweenCellCenters() {
+        Map map = new Map(40, 20);
+        assertThat(map.pathTransversedCells(pt(0.5, 14.5), pt(36.5, 2.5)),
+                not(anyOf(hasItem(map.cellAt(7, 11)), hasItem(map.cellAt(8, 12)),
+                        hasItem(map.cellAt(10, 10)), hasItem(map.cellAt(11, 11)))));
+    }
+
+
+    @Test
+    public void pathTransversedCellsOnlyVisitsCellsThePathGoesThrough() {
+        Map map = new Map(40, 20);
+        Random random = new Random(0);
+        for (int i = 0; i < 10000; i++) {
+            int sourceX = random.nextInt(40);
+            int sourceY = random.nextInt(20);
+            int targetX = random.nextInt(40);
+            int targetY = random.nextInt(20);
+
+            // The path goes through a cell if it leaves some of its corners
+            // on each side, which can be checked exactly at twice the scale
+            for (Map.Cell cell : map.pathTransversedCells(pt(sourceX + 0.5, sourceY + 0.5), pt(targetX + 0.5, targetY + 0.5))) {
+                int left = 0;
+                int right = 0;
+                for (int corner = 0; corner < 4; corner++) {
+                    long cornerX = 2 * ((long) cell.getLocation().x() + corner % 2) - (2 * sourceX + 1);
+                    long cornerY = 2 * ((long) cell.getLocation().y() + corner / 2) - (2 * sourceY + 1);
+                    long side = 2L * (targetX - sourceX) * cornerY - 2L * (targetY - sourceY) * cornerX;
+                    left += side > 0 ? 1 : 0;
+                    right += side < 0 ? 1 : 0;
+                }
+
+                assertThat(sourceX == targetX && sourceY == targetY || left > 0 && right > 0, is(true));
+            }
+        }
+    }
+
+
     @Test
     public void pathTransversedCellsDoesntFallOutsideMap() {
         Map map = new Map(1, 2);
@@ -559,6 +651,21 @@ public class MapTest {
     }
 
 
+    @Test
+    public void pathTransversedCellsDoesntGoPastTheTarget() {
+        Map map = new Map(10, 10);
+        assertThat(map.pathTransversedCells(pt(0.27, 7.47), pt(1.59, 6.97)), contains(map.cellAt(0, 7), map.cellAt(1, 7), map.cellAt(1, 6)));
+    }
+
+
+    @Test
+    public void pathTransversedCellsReturnsCellsOfALongPathInOrder() {
+        Map map = new Map(10, 10);
+        assertThat(map.pathTransversedCells(pt(0.5, 0.5), pt(3.5, 1.9)),
+                contains(map.cellAt(0, 0), map.cellAt(1, 0), map.cellAt(1, 1), map.cellAt(2, 1), map.cellAt(3, 1)));
+    }
+
+
     @Test(expected=IndexOutOfBoundsException.class)
     public void pathTransversedCellsFailsWhenSourceIsOutsideMap() {
         Map map = new Map(10, 10);
@@ -573,10 +680,233 @@ public class MapTest {
     }
 
 
+    /*
+     * boolean traverse(Point source, Point target, CellVisitor visitor)
+     */
+
+    @Test
+    public void traverseStopsWhenTheVisitorReturnsFalse() {
+        Map map = new Map(10, 10);
+        List<Point> visited = new ArrayList<>();
+
+        boolean finished = map.traverse(pt(0.5, 0.5), pt(9.5, 0.5), (x, y) -> {
+            visited.add(pt(x, y));
+            return x < 3;
+        });
+
+        assertThat(finished, is(false));
+        assertThat(visited, contains(pt(0, 0), pt(1, 0), pt(2, 0), pt(3, 0)));
+    }
+
+
+    @Test
+    public void traverseVisitsEveryCellWhenTheVisitorReturnsTrue() {
+        Map map = new Map(10, 10);
+        List<Point> visited = new ArrayList<>();
+
+        boolean finished = map.traverse(pt(2.5, 8.5), pt(2.5, 5.5), (x, y) -> visited.add(pt(x, y)));
+
+        assertThat(finished, is(true));
+        assertThat(visited, contains(pt(2, 8), pt(2, 7), pt(2, 6), pt(2, 5)));
+    }
+
+
+    /*
+     * List<InventoryItem> getItemsVisibleFrom(Point eye)
+     */
+
+    @Test
+    public void getItemsVisibleFromSkipsItemsBehindWalls() {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(pt(5, 0), new Size(1, 10)));
+        InventoryItem near = buildFirstAidItem(pt(2.5, 2.5));
+        InventoryItem far = buildFirstAidItem(pt(8.5, 2.5));
+        map.addItem(near);
+        map.addItem(far);
+        map.buildVisibility();
+
+        assertThat(map.getItemsVisibleFrom(pt(1.5, 7.5)), contains(near));
+        assertThat(map.getItemsVisibleFrom(pt(7.5, 7.5)), contains(far));
+    }
+
+
+    @Test
+    public void getItemsVisibleFromSkipsItemsBehindWallsWithoutPrecomputedVisibility() {
+        Map map = new Map(40, 10);
+        map.addEntity(new Wall(pt(20, 0), new Size(1, 10)));
+        InventoryItem near = buildFirstAidItem(pt(2.5, 2.5));
+        InventoryItem far = buildFirstAidItem(pt(30.5, 2.5));
+        map.addItem(near);
+        map.addItem(far);
+
+        assertThat(map.getItemsVisibleFrom(pt(1.5, 7.5)), contains(near));
+        assertThat(map.getItemsVisibleFrom(pt(35.5, 7.5)), contains(far));
+    }
+
+
+    @Test
+    public void getItemsVisibleFromReturnsAllItemsOutsideTheMap() {
+        Map map = new Map(40, 10);
+        map.addEntity(new Wall(pt(20, 0), new Size(1, 10)));
+        InventoryItem near = buildFirstAidItem(pt(2.5, 2.5));
+        InventoryItem far = buildFirstAidItem(pt(30.5, 2.5));
+        map.addItem(near);
+        map.addItem(far);
+
+        assertThat(map.getItemsVisibleFrom(pt(-1.5, 7.5)), contains(near, far));
+    }
+
+
+    @Test
+    public void getItemsVisibleFromSeesItemsAddedAfterwards() {
+        Map map = new Map(10, 10);
+        map.buildVisibility();
+        assertThat(map.getItemsVisibleFrom(pt(1.5, 7.5)), is(empty()));
+
+        InventoryItem item = buildFirstAidItem(pt(2.5, 2.5));
+        map.addItem(item);
+        assertThat(map.getItemsVisibleFrom(pt(1.5, 7.5)), contains(item));
+    }
+
+
+    /*
+     * RayHit sweep(Point source, Point target)
+     */
+
+    @Test
+    public void sweepReturnsTheFirstWallAndThePointOfImpact() {
+        Map map = new Map(10, 10);
+        Wall near = new Wall(pt(4, 0), new Size(1, 10));
+        Wall far = new Wall(pt(7, 0), new Size(1, 10));
+        map.addEntity(near);
+        map.addEntity(far);
+
+        RayHit hit = map.sweep(pt(1, 2), pt(9, 6));
+
+        assertThat(hit.getEntity(), is(near));
+        assertThat(hit.getPoint(), is(pt(4, 3.5)));
+        assertThat(hit.getDistance(), is(closeTo(Math.sqrt(9 + 2.25))));
+    }
+
+
+    @Test
+    public void sweepReturnsNullIfThePathIsClear() {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(pt(4, 0), new Size(1, 5)));
+        assertThat(map.sweep(pt(1, 8), pt(9, 6)), is(nullValue()));
+    }
+
+
+    @Test
+    public void sweepHitsTheWallsAroundTheMap() {
+        Map map = new Map(10, 10);
+
+        RayHit hit = map.sweep(pt(5, 5), pt(5, -20));
+
+        assertThat(hit.getEntity(), is(map.cellAt(5, -1).getEntity()));
+        assertThat(hit.getPoint(), is(pt(5, 0)));
+    }
+
+
+    /*
+     * RayHit raycast(Point origin, Vector direction, double maxDistance)
+     */
+
+    @Test
+    public void raycastReturnsTheFirstWallAndThePointOfImpact() {
+        Map map = new Map(10, 10);
+        Wall near = new Wall(pt(4, 0), new Size(1, 10));
+        Wall far = new Wall(pt(7, 0), new Size(1, 10));
+        map.addEntity(near);
+        map.addEntity(far);
+
+        RayHit hit = map.raycast(pt(1, 2), vec(8, 4), 100);
+
+        assertThat(hit.getEntity(), is(near));
+        assertThat(hit.getPoint(), is(pt(4, 3.5)));
+        assertThat(hit.getDistance(), is(closeTo(Math.sqrt(9 + 2.25))));
+    }
+
+
+    @Test
+    public void raycastReturnsNullIfNothingIsHitWithinTheDistance() {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(pt(6, 0), new Size(1, 10)));
+        assertThat(map.raycast(pt(1, 5), vec(1, 0), 4), is(nullValue()));
+    }
+
+
+    @Test
+    public void raycastWorksFromOutsideTheMap() {
+        Map map = new Map(10, 10);
+
+        RayHit hit = map.raycast(pt(5, 20), vec(0, -1), 100);
+
+        assertThat(hit.getEntity(), is(map.cellAt(5, 10).getEntity()));
+        assertThat(hit.getPoint(), is(pt(5, 11)));
+    }
+
+
+    @Test
+    public void raycastSeesWallsAddedAfterwards() {
+        Map map = new Map(10, 10);
+        map.raycast(pt(1, 5), vec(1, 0), 100);
+
+        Wall wall = new Wall(pt(6, 0), new Size(1, 10));
+        map.addEntity(wall);
+
+        assertThat(map.raycast(pt(1, 5), vec(1, 0), 100).getEntity(), is(wall));
+    }
+
+
+    @Test(expected=IllegalArgumentException.class)
+    public void raycastFailsWithoutDirection() {
+        new Map(10, 10).raycast(pt(1, 5), vec(0, 0), 100);
+    }
+
+
     /*
      * boolean isPathObstructed(Point source, Point target)
      */
 
+    @Test
+    public void isPathObstructedChecksLongPathsAgainstTheWalls() {
+        Map map = new Map(40, 10);
+        map.addEntity(new Wall(pt(20, 0), new Size(1, 5)));
+
+        assertThat(map.isPathObstructed(pt(1, 1), pt(38, 4)), is(true));
+        assertThat(map.isPathObstructed(pt(1, 8), pt(38, 6)), is(false));
+    }
+
+
+    @Test
+    public void isPathObstructedIgnoresWallsThePathOnlyTouchesAtACorner() {
+        Map map = new Map(20, 10);
+        map.addEntity(new Wall(pt(5, 3), new Size(1, 1)));
+
+        assertThat(map.isPathObstructed(pt(1.5, 3.5), pt(15.5, 1.5)), is(false));
+    }
+
+
+    @Test
+    public void isPathObstructedAgreesWithWalkingTheGridWhateverTheLengthOfThePath() {
+        Map map = new Map(60, 60);
+        Random random = new Random(0);
+        for (int i = 0; i < 60; i++) {
+            map.addEntity(new Wall(pt(random.nextInt(60), random.nextInt(60)),
+                    new Size(1 + random.nextInt(4), 1 + random.nextInt(4))));
+        }
+
+        // Points on the grid, or halfway between its lines, make paths that
+        // go exactly through corners and along borders
+        for (int i = 0; i < 100000; i++) {
+            Point source = pt(random.nextInt(120) / 2.0, random.nextInt(120) / 2.0);
+            Point target = pt(random.nextInt(120) / 2.0, random.nextInt(120) / 2.0);
+            assertThat(map.isPathObstructed(source, target), is(!map.traverse(source, target, map::isFree)));
+        }
+    }
+
+
     @Test
     public void isPathObstructedIsTrueIfSourceIsOutsideMap() {
         Map map = new Map(10, 10);
@@ -606,6 +936,70 @@ public class MapTest {
     }
 
 
+    @Test
+    public void isPathObstructedUsesThePrecomputedVisibility() {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(new Point(5, 1), new Size(1, 8)));
+        map.buildVisibility();
+
+        assertThat(map.isPathObstructed(pt(1, 1), pt(9, 9)), is(true));
+        assertThat(map.isPathObstructed(pt(1, 1), pt(4, 8)), is(false));
+        assertThat(map.isPathObstructed(pt(0.5, 0.5), pt(9.5, 0.5)), is(false));
+    }
+
+
+    @Test
+    public void isPathObstructedAnswersTheSameWithOrWithoutPrecomputedVisibility() {
+        Map map = new Map(20, 20);
+        Random random = new Random(0);
+        for (int i = 0; i < 15; i++) {
+            map.addEntity(new Wall(pt(random.nextInt(20), random.nextInt(20)),
+                    new Size(1 + random.nextInt(4), 1 + random.nextInt(4))));
+        }
+
+        map.buildVisibility();
+
+        // Points on the grid, or halfway between its lines, make paths that
+        // go exactly through corners and along borders
+        for (int i = 0; i < 100000; i++) {
+            Point source = pt(random.nextInt(40) / 2.0, random.nextInt(40) / 2.0);
+            Point target = pt(random.nextInt(40) / 2.0, random.nextInt(40) / 2.0);
+            assertThat(map.isPathObstructed(source, target), is(!map.traverse(source, target, map::isFree)));
+        }
+    }
+
+
+    /*
+     * void buildVisibility()
+     */
+
+    @Test
+    public void buildVisibilityIsDiscardedWhenWallsAreAdded() {
+        Map map = new Map(10, 10);
+        map.buildVisibility();
+
+        map.addEntity(new Wall(new Point(5, 1), new Size(1, 8)));
+
+        assertThat(map.getVisibility(), is(nullValue()));
+        assertThat(map.isPathObstructed(pt(1, 5), pt(9, 5)), is(true));
+    }
+
+
+    /*
+     * void setVisibility(VisibilitySet visibility)
+     */
+
+    @Test(expected=IllegalArgumentException.class)
+    public void setVisibilityFailsForADifferentMap() {
+        Map map = new Map(10, 10);
+        map.buildVisibility();
+        VisibilitySet visibility = map.getVisibility();
+
+        map.addEntity(new Wall(new Point(5, 1), new Size(1, 8)));
+        map.setVisibility(visibility);
+    }
+
+
     /*
      * Path<Point> findPath(Point source, Point target)
      */
@@ -1040,6 +1434,28 @@ public class MapTest {
     }
 
 
+    /*
+     * boolean equals(Object o)
+     */
+
+    @Test
+    public void equalsIsTrueForViewsOfTheSameCell() {
+        Map map = new Map(10, 10);
+        assertThat(map.cellAt(2, 3), is(map.cellAt(pt(2.5, 3.9))));
+        assertThat(map.cellAt(2, 3).equals(map.cellAt(3, 2)), is(false));
+        assertThat(map.cellAt(2, 3).equals(new Map(10, 10).cellAt(2, 3)), is(false));
+    }
+
+
+    @Test
+    public void changesThroughACellAreSeenByTheMap() {
+        Map map = new Map(10, 10);
+        map.cellAt(2, 3).setEntity(new Wall(pt(2, 3), new Size(1, 1)));
+        assertThat(map.isFree(2, 3), is(false));
+        assertThat(map.cellAt(2, 3).isFree(), is(false));
+    }
+
+
     /*
      * Point getCenter()
      */
@@ -1274,6 +1690,16 @@ public class MapTest {
     }
 
 
+    @Test
+    public void canMoveBetweenSeesWallsAddedAfterwards() {
+        Map map = new Map(10, 10);
+        assertThat(map.canMoveBetween(pt(1.5, 4.5), pt(8.5, 4.5), config.botConfig().boundingRadius()), is(true));
+
+        map.addEntity(new Wall(pt(5, 0), new Size(1, 10)));
+        assertThat(map.canMoveBetween(pt(1.5, 4.5), pt(8.5, 4.5), config.botConfig().boundingRadius()), is(false));
+    }
+
+
     @Test
     public void canMoveBetweenReturnsFalseWhenBoundingCirclePenetratesWallAtTheEnd() {
         Map map = new Map(3, 2);
@@ -1309,7 +1735,7 @@ public class MapTest {
 
 
     /*
-     * Point chooseRandomLocation()
+     * Point chooseRandomLocation(Random random)
      */
 
     @Test public void chooseRandomLocationChoosesARandomFreeLocation() {
@@ -1318,7 +1744,7 @@ public class MapTest {
         // Only the last column is free
         map.addEntity(new Wall(pt(0, 0), new Size(4, 5)));
 
-        Point random = map.chooseRandomLocation();
+        Point random = map.chooseRandomLocation(new Random(0));
         assertThat(map.cellAt(random).isFree(), is(true));
         assertThat(random.x(), is(4.5));
         assertThat(random.y() - (int) random.y(), is(0.5));
@@ -0,0 +1,220 @@
+package io.github.pureza.warbots.navigation;
+
+import io.github.pureza.warbots.entities.Wall;
+import io.github.pureza.warbots.geometry.Point;
+import io.github.pureza.warbots.geometry.Size;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static io.github.pureza.warbots.geometry.Point.pt;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+
+public class VisibilitySetTest {
+
+    /*
+     * static VisibilitySet build(Map map)
+     */
+
+    @Test
+    public void buildMarksCellsOfAnOpenMapAsClear() {
+        VisibilitySet visibility = VisibilitySet.build(new Map(10, 10));
+
+        assertThat(visibility.isClear(0, 0, 9, 9), is(true));
+        assertThat(visibility.isClear(9, 9, 0, 0), is(true));
+        assertThat(visibility.isClear(3, 7, 3, 7), is(true));
+        assertThat(visibility.isBlocked(0, 0, 9, 9), is(false));
+    }
+
+
+    @Test
+    public void buildMarksCellsOnOppositeSidesOfAWallAsBlocked() {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(new Point(5, 0), new Size(1, 10)));
+
+        VisibilitySet visibility = VisibilitySet.build(map);
+
+        assertThat(visibility.isBlocked(1, 1, 8, 8), is(true));
+        assertThat(visibility.isBlocked(8, 8, 1, 1), is(true));
+        assertThat(visibility.isClear(1, 1, 8, 8), is(false));
+    }
+
+
+    @Test
+    public void buildLeavesCellsThatSeeEachOtherOnlyInPartUndecided() {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(new Point(5, 5), new Size(1, 1)));
+
+        VisibilitySet visibility = VisibilitySet.build(map);
+
+        // Some segments between these cells go around the wall
+        assertThat(visibility.isClear(4, 4, 6, 6), is(false));
+        assertThat(visibility.isBlocked(4, 4, 6, 6), is(false));
+
+        // But not those far enough from it
+        assertThat(visibility.isClear(4, 1, 6, 1), is(true));
+    }
+
+
+    @Test
+    public void buildDoesntMarkNeighboursOfAWallAsClear() {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(new Point(5, 6), new Size(1, 1)));
+
+        VisibilitySet visibility = VisibilitySet.build(map);
+
+        // The hull of the two cells doesn't touch the wall above them
+        assertThat(visibility.isClear(4, 5, 6, 5), is(true));
+    }
+
+
+    @Test
+    public void buildOnlyDecidesPairsThatAreTheSameForAllPoints() {
+        Map map = new Map(12, 12);
+        map.addEntity(new Wall(new Point(3, 2), new Size(1, 6)));
+        map.addEntity(new Wall(new Point(6, 6), new Size(4, 1)));
+        map.addEntity(new Wall(new Point(8, 1), new Size(2, 2)));
+
+        VisibilitySet visibility = VisibilitySet.build(map);
+
+        Random random = new Random(0);
+        for (int i = 0; i < 10000; i++) {
+            Point source = pt(random.nextDouble() * 12, random.nextDouble() * 12);
+            Point target = pt(random.nextDouble() * 12, random.nextDouble() * 12);
+            if (map.cellAt(source).isFree() && map.cellAt(target).isFree()) {
+                int sx = (int) source.x();
+                int sy = (int) source.y();
+                int tx = (int) target.x();
+                int ty = (int) target.y();
+                if (visibility.isClear(sx, sy, tx, ty)) {
+                    assertThat(crossesAWall(map, source, target), is(false));
+                } else if (visibility.isBlocked(sx, sy, tx, ty)) {
+                    assertThat(crossesAWall(map, source, target), is(true));
+                }
+            }
+        }
+    }
+
+
+    @Test(expected=IllegalArgumentException.class)
+    public void buildFailsOnLargeMaps() {
+        VisibilitySet.build(new Map(100, 100));
+    }
+
+
+    @Test
+    public void buildAgreesWithWalkingTheGrid() {
+        Map map = new Map(20, 20);
+        Random random = new Random(0);
+        for (int i = 0; i < 15; i++) {
+            map.addEntity(new Wall(pt(random.nextInt(20), random.nextInt(20)),
+                    new Size(1 + random.nextInt(4), 1 + random.nextInt(4))));
+        }
+
+        VisibilitySet visibility = VisibilitySet.build(map);
+
+        // Points on the grid, or halfway between its lines, make paths that
+        // go exactly through corners and along borders
+        for (int i = 0; i < 100000; i++) {
+            Point source = pt(random.nextInt(40) / 2.0, random.nextInt(40) / 2.0);
+            Point target = pt(random.nextInt(40) / 2.0, random.nextInt(40) / 2.0);
+            int sx = (int) source.x();
+            int sy = (int) source.y();
+            int tx = (int) target.x();
+            int ty = (int) target.y();
+            if (visibility.isClear(sx, sy, tx, ty)) {
+                assertThat(map.traverse(source, target, map::isFree), is(true));
+            } else if (visibility.isBlocked(sx, sy, tx, ty)) {
+                assertThat(map.traverse(source, target, map::isFree), is(false));
+            }
+        }
+    }
+
+
+    /*
+     * static VisibilitySet shared(Map map)
+     */
+
+    @Test
+    public void sharedBuildsOnlyOnceForMapsWithTheSameWalls() {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(new Point(5, 0), new Size(1, 10)));
+        Map same = new Map(10, 10);
+        same.addEntity(new Wall(new Point(5, 0), new Size(1, 10)));
+        Map other = new Map(10, 10);
+        other.addEntity(new Wall(new Point(4, 0), new Size(1, 10)));
+
+        VisibilitySet visibility = VisibilitySet.shared(map);
+
+        assertThat(VisibilitySet.shared(same), is(sameInstance(visibility)));
+        assertThat(VisibilitySet.shared(other), is(not(sameInstance(visibility))));
+        assertThat(VisibilitySet.shared(other).isValidFor(other), is(true));
+    }
+
+
+    /*
+     * static VisibilitySet read(InputStream in)
+     */
+
+    @Test
+    public void readLoadsWhatWriteSaved() throws IOException {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(new Point(5, 0), new Size(1, 10)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        VisibilitySet.build(map).write(out);
+        VisibilitySet visibility = VisibilitySet.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(visibility.isValidFor(map), is(true));
+        assertThat(visibility.isBlocked(1, 1, 8, 8), is(true));
+        assertThat(visibility.isClear(1, 1, 1, 8), is(true));
+    }
+
+
+    @Test(expected=IOException.class)
+    public void readFailsOnAnythingElse() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new java.io.ObjectOutputStream(out).writeObject("not a visibility set");
+
+        VisibilitySet.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+
+    /*
+     * boolean isValidFor(Map map)
+     */
+
+    @Test
+    public void isValidForIsFalseForMapsWithOtherWalls() {
+        Map map = new Map(10, 10);
+        VisibilitySet visibility = VisibilitySet.build(map);
+
+        map.addEntity(new Wall(new Point(5, 5), new Size(1, 1)));
+
+        assertThat(visibility.isValidFor(map), is(false));
+        assertThat(visibility.isValidFor(new Map(10, 10)), is(true));
+        assertThat(visibility.isValidFor(new Map(10, 9)), is(false));
+    }
+
+
+    /**
+     * Checks if a path crosses a wall, by looking at lots of points along it
+     */
+    private static boolean crossesAWall(Map map, Point source, Point target) {
+        for (int i = 0; i <= 1000; i++) {
+            double t = i / 1000.0;
+            Point point = pt(source.x() + (target.x() - source.x()) * t, source.y() + (target.y() - source.y()) * t);
+            if (!map.cellAt(point).isFree()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.pureza.warbots.navigation;
+
+import io.github.pureza.warbots.entities.Wall;
+import io.github.pureza.warbots.geometry.Point;
+import io.github.pureza.warbots.geometry.Size;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static io.github.pureza.warbots.geometry.Point.pt;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class WallTreeTest {
+
+    /*
+     * static WallTree build(Map map)
+     */
+
+    @Test
+    public void buildMergesEachWallIntoABox() {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(new Point(3, 3), new Size(2, 4)));
+
+        // One for the wall, and four for the walls around the map
+        assertThat(WallTree.build(map).size(), is(5));
+    }
+
+
+    @Test
+    public void buildMergesAdjacentWalls() {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(new Point(3, 3), new Size(2, 1)));
+        map.addEntity(new Wall(new Point(3, 4), new Size(2, 1)));
+
+        assertThat(WallTree.build(map).size(), is(5));
+    }
+
+
+    /*
+     * double raycast(double originX, double originY, double directionX, double directionY, double maxTime, int[] hit)
+     */
+
+    @Test
+    public void raycastReturnsWhenTheRayEntersTheFirstBoxAndTheCellItHits() {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(new Point(6, 2), new Size(1, 6)));
+        map.addEntity(new Wall(new Point(3, 2), new Size(1, 6)));
+
+        int[] hit = new int[2];
+        double time = WallTree.build(map).raycast(9, 4.5, -2, 0, 100, hit);
+
+        assertThat(time, is(1.0));
+        assertThat(hit[0], is(6));
+        assertThat(hit[1], is(4));
+    }
+
+
+    @Test
+    public void raycastMissesBoxesBeyondMaxTime() {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(new Point(6, 2), new Size(1, 6)));
+
+        WallTree tree = WallTree.build(map);
+
+        assertThat(tree.raycast(1, 4.5, 1, 0, 4, null), is(WallTree.MISS));
+        assertThat(tree.raycast(1, 4.5, 1, 0, 5, null), is(5.0));
+    }
+
+
+    @Test
+    public void raycastAgreesWithWalkingTheGrid() {
+        Map map = new Map(40, 30);
+        Random random = new Random(0);
+        for (int i = 0; i < 30; i++) {
+            map.addEntity(new Wall(pt(random.nextInt(40), random.nextInt(30)),
+                    new Size(1 + random.nextInt(4), 1 + random.nextInt(4))));
+        }
+
+        WallTree tree = WallTree.build(map);
+        for (int i = 0; i < 10000; i++) {
+            Point source = pt(random.nextDouble() * 40, random.nextDouble() * 30);
+            Point target = pt(random.nextDouble() * 40, random.nextDouble() * 30);
+            boolean hit = tree.raycast(source.x(), source.y(), target.x() - source.x(), target.y() - source.y(), 1, null) <= 1;
+            assertThat(hit, is(!map.traverse(source, target, map::isFree)));
+        }
+    }
+
+
+    /*
+     * double raycast(double originX, double originY, double directionX, double directionY, double maxTime,
+     *                double margin, int[] hit)
+     */
+
+    @Test
+    public void raycastWithAMarginSettlesOnlyWhatWalkingTheGridAgreesWith() {
+        Map map = randomMap(new Random(1));
+        WallTree tree = WallTree.build(map);
+
+        // Points on the grid, or halfway between its lines, make paths that
+        // go exactly through corners and along borders
+        Random random = new Random(2);
+        int settled = 0;
+        for (int i = 0; i < 100000; i++) {
+            Point source = pt(random.nextInt(80) / 2.0, random.nextInt(60) / 2.0);
+            Point target = pt(random.nextInt(80) / 2.0, random.nextInt(60) / 2.0);
+            double dx = target.x() - source.x();
+            double dy = target.y() - source.y();
+            boolean clear = map.traverse(source, target, map::isFree);
+
+            if (tree.raycast(source.x(), source.y(), dx, dy, 1, -1e-6, null) <= 1) {
+                assertThat(clear, is(false));
+                settled++;
+            } else if (tree.raycast(source.x(), source.y(), dx, dy, 1, 1e-6, null) > 1) {
+                assertThat(clear, is(true));
+                settled++;
+            }
+        }
+
+        // Only the paths that graze a wall are left for the grid
+        assertThat(settled > 90000, is(true));
+    }
+
+
+    private static Map randomMap(Random random) {
+        Map map = new Map(40, 30);
+        for (int i = 0; i < 30; i++) {
+            map.addEntity(new Wall(pt(random.nextInt(40), random.nextInt(30)),
+                    new Size(1 + random.nextInt(4), 1 + random.nextInt(4))));
+        }
+
+        return map;
+    }
+}
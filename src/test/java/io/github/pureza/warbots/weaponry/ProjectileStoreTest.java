@@ -0,0 +1,145 @@
+package io.github.pureza.warbots.weaponry;
+
+import io.github.pureza.warbots.TestConfig;
+import io.github.pureza.warbots.entities.Wall;
+import io.github.pureza.warbots.game.Game;
+import io.github.pureza.warbots.geometry.Point;
+import io.github.pureza.warbots.geometry.Size;
+import io.github.pureza.warbots.geometry.Vector;
+import io.github.pureza.warbots.navigation.Map;
+import org.junit.Test;
+
+import static io.github.pureza.warbots.Matchers.closeTo;
+import static io.github.pureza.warbots.Tests.*;
+import static io.github.pureza.warbots.geometry.Point.pt;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+
+public class ProjectileStoreTest {
+
+    private final Game game = gameWithWallAt(pt(5, 5));
+
+
+    /*
+     * void add(Projectile projectile)
+     */
+
+    @Test
+    public void addKeepsTheStateOfTheProjectile() {
+        ProjectileStore store = new ProjectileStore();
+        Bullet bullet = buildBullet(game, pt(1.5, 2.5));
+        Point location = bullet.getLocation();
+        Vector velocity = bullet.getVelocity();
+
+        store.add(bullet);
+
+        assertThat(store.size(), is(1));
+        assertThat(bullet.getLocation(), is(location));
+        assertThat(bullet.getVelocity(), is(velocity));
+    }
+
+
+    @Test(expected=IllegalArgumentException.class)
+    public void addFailsIfTheProjectileIsAlreadyInAStore() {
+        Bullet bullet = buildBullet(game, pt(1.5, 2.5));
+        new ProjectileStore().add(bullet);
+        new ProjectileStore().add(bullet);
+    }
+
+
+    /*
+     * void update(long dt)
+     */
+
+    @Test
+    public void updateMovesBallisticProjectiles() {
+        ProjectileStore store = new ProjectileStore();
+        Bullet bullet = buildBullet(game, pt(1.5, 2.5));
+        Point start = bullet.getLocation();
+        store.add(bullet);
+
+        // 25 cells per second
+        store.update(10);
+
+        assertThat(bullet.getLocation(), is(closeTo(start.plus(Vector.vec(0.25, 0)))));
+        assertThat(bullet.getPreviousLocation(), is(start));
+    }
+
+
+    @Test
+    public void updateLetsFastProjectilesSubStep() {
+        ProjectileStore store = new ProjectileStore();
+        Bullet bullet = buildBullet(game, pt(1.5, 5.5));
+        Point start = bullet.getLocation();
+        store.add(bullet);
+
+        // Without sub-steps, the bullet would cross the wall
+        store.update(200);
+
+        assertThat(bullet.getLocation().x(), is(lessThan(6.0)));
+        assertThat(bullet.getPreviousLocation(), is(start));
+    }
+
+
+    @Test
+    public void updateLetsExplodingRocketsUpdateTheExplosion() {
+        ProjectileStore store = new ProjectileStore();
+        Rocket rocket = buildRocket(game, pt(1.5, 2.5));
+        store.add(rocket);
+
+        rocket.explode();
+        double radius = rocket.getExplosionRadius();
+        store.update(15);
+
+        assertThat(rocket.getVelocity(), is(Vector.vec(0, 0)));
+        assertThat(rocket.getExplosionRadius(), is(greaterThan(radius)));
+    }
+
+
+    /*
+     * void remove(Projectile projectile)
+     */
+
+    @Test
+    public void removeHandsTheStateBackToTheProjectile() {
+        ProjectileStore store = new ProjectileStore();
+        Bullet bullet = buildBullet(game, pt(1.5, 2.5));
+        Point start = bullet.getLocation();
+        store.add(bullet);
+        store.update(10);
+        Point location = bullet.getLocation();
+
+        store.remove(bullet);
+
+        assertThat(store.size(), is(0));
+        assertThat(bullet.getLocation(), is(location));
+        assertThat(bullet.getPreviousLocation(), is(start));
+    }
+
+
+    @Test
+    public void removeKeepsTheOtherProjectilesInPlace() {
+        ProjectileStore store = new ProjectileStore();
+        Bullet first = buildBullet(game, pt(1.5, 1.5));
+        Bullet second = buildBullet(game, pt(1.5, 2.5));
+        Bullet third = buildBullet(game, pt(1.5, 3.5));
+        Point location = third.getLocation();
+        store.add(first);
+        store.add(second);
+        store.add(third);
+
+        store.remove(first);
+
+        assertThat(store.size(), is(2));
+        assertThat(third.getLocation(), is(location));
+    }
+
+
+    private Game gameWithWallAt(Point location) {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(location, new Size(1, 1)));
+        return new Game(new TestConfig(), map, mockTeam(), mockTeam());
+    }
+}
@@ -1,12 +1,17 @@
 package io.github.pureza.warbots.weaponry;
 
+import io.github.pureza.warbots.TestConfig;
 import io.github.pureza.warbots.game.Game;
+import io.github.pureza.warbots.geometry.Point;
+import io.github.pureza.warbots.geometry.Vector;
+import io.github.pureza.warbots.navigation.Map;
 import org.junit.Test;
 import io.github.pureza.warbots.entities.Bot;
 import io.github.pureza.warbots.entities.Wall;
 import io.github.pureza.warbots.geometry.Size;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.verify;
@@ -64,4 +69,53 @@ public class ProjectileTest {
         bullet.hitStaticEntity(wall);
         verify(bot.getGame()).removeProjectile(bullet);
     }
+
+
+    @Test
+    public void slowProjectilesMoveTheWholeDistanceAtOnce() {
+        Game game = gameWithWallAt(pt(5, 5));
+        Bullet bullet = buildBullet(game, pt(1.5, 5.5));
+        Point start = bullet.getLocation();
+
+        // 25 cells per second
+        bullet.update(10);
+
+        assertThat(bullet.getLocation(), is(closeTo(start.plus(Vector.vec(0.25, 0)))));
+        assertThat(bullet.getPreviousLocation(), is(start));
+    }
+
+
+    @Test
+    public void fastProjectilesStopAtTheFirstWall() {
+        Game game = gameWithWallAt(pt(5, 5));
+        Bullet bullet = buildBullet(game, pt(1.5, 5.5));
+        Point start = bullet.getLocation();
+
+        // Without sub-steps, the bullet would cross the wall and end up at x > 7
+        bullet.update(200);
+
+        assertThat(game.getMap().canStayAt(bullet.getLocation(), bullet.getBoundingRadius()), is(false));
+        assertThat(bullet.getLocation().x(), is(lessThan(6.0)));
+        assertThat(bullet.getPreviousLocation(), is(start));
+    }
+
+
+    @Test
+    public void fastProjectilesMoveTheWholeDistanceIfThereAreNoWalls() {
+        Game game = gameWithWallAt(pt(5, 8));
+        Bullet bullet = buildBullet(game, pt(1.5, 5.5));
+        Point start = bullet.getLocation();
+
+        bullet.update(200);
+
+        assertThat(bullet.getLocation(), is(closeTo(start.plus(Vector.vec(5, 0)))));
+        assertThat(bullet.getPreviousLocation(), is(start));
+    }
+
+
+    private Game gameWithWallAt(Point location) {
+        Map map = new Map(10, 10);
+        map.addEntity(new Wall(location, new Size(1, 1)));
+        return new Game(new TestConfig(), map, mockTeam(), mockTeam());
+    }
 }
@@ -3,6 +3,7 @@ package io.github.pureza.warbots.weaponry;
 import io.github.pureza.warbots.Matchers;
 import io.github.pureza.warbots.Tests;
 import io.github.pureza.warbots.entities.Bot;
+import io.github.pureza.warbots.entities.StaticEntity;
 import org.junit.Test;
 import io.github.pureza.warbots.geometry.Vector;
 
@@ -94,6 +95,29 @@ public class RocketTest {
     }
 
 
+    @Test
+    public void rocketExplodesWhereItHitTheWall() {
+        Bot bot = Tests.mockBot();
+        Bot nearTheWall = Tests.mockBot(io.github.pureza.warbots.geometry.Point.pt(1.2, 0), bot.getHeadingVector(),
+                bot.getBoundingRadius(), bot.getRotation());
+
+        when(bot.getGame().getBotsInRange(anyObject(), anyDouble())).thenReturn(asList(nearTheWall));
+
+        Rocket rocket = Tests.buildRocket(bot.getGame(), io.github.pureza.warbots.geometry.Point.pt(0, 0), Math.PI);
+        rocket.initResources();
+        rocket.hitStaticEntity(mock(StaticEntity.class), io.github.pureza.warbots.geometry.Point.pt(1, 0));
+
+        // The bot is 0.2 away from the point of impact
+        verify(bot.getGame()).getBotsInRange(io.github.pureza.warbots.geometry.Point.pt(1, 0), 1.0);
+        verify(nearTheWall).inflictDamage(rocket, (int) (0.8 * rocket.getDamage()));
+
+        // The rocket only stands there once the projectiles move again
+        assertThat(rocket.getLocation(), is(io.github.pureza.warbots.geometry.Point.pt(0, 0)));
+        rocket.update(15);
+        assertThat(rocket.getLocation(), is(io.github.pureza.warbots.geometry.Point.pt(1, 0)));
+    }
+
+
     @Test
     public void explosionGrowsInitially() {
         Bot bot = Tests.mockBot();
@@ -114,12 +114,27 @@ public class WeaponTest {
         Bot bot = mockBot();
 
         HandGun gun = buildHandGun(bot);
-        long before = System.currentTimeMillis();
+        bot.getGame().getClock().advance(1500);
         gun.fire();
-        long after = System.currentTimeMillis();
 
-        assertThat(gun.getLastShotTime(), is(greaterThanOrEqualTo(before)));
-        assertThat(gun.getLastShotTime(), is(lessThanOrEqualTo(after)));
+        assertThat(gun.getLastShotTime(), is(1500L));
+    }
+
+
+    @Test
+    public void fireSucceedsAgainOnlyAfterEnoughSimulatedTimeHasPassed() {
+        Bot bot = mockBot();
+
+        HandGun gun = buildHandGun(bot);
+        assertThat(gun.fire(), is(not(nullValue())));
+
+        // Wall clock time doesn't matter, only simulated time does
+        long interval = (int) (1000.0 / gun.getFireRate());
+        bot.getGame().getClock().advance(interval);
+        assertThat(gun.fire(), is(nullValue()));
+
+        bot.getGame().getClock().advance(1);
+        assertThat(gun.fire(), is(not(nullValue())));
     }
 
 